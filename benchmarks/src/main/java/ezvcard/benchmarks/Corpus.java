@@ -0,0 +1,238 @@
+package ezvcard.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.parameter.AddressType;
+import ezvcard.parameter.EmailType;
+import ezvcard.parameter.ImageType;
+import ezvcard.parameter.TelephoneType;
+import ezvcard.property.Address;
+import ezvcard.property.Birthday;
+import ezvcard.property.Photo;
+import ezvcard.property.Revision;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Uid;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * Generates the vCards that the benchmarks operate on. The data is generated
+ * from a fixed seed, so every run of a benchmark sees exactly the same input.
+ * @author Michael Angstadt
+ */
+public final class Corpus {
+	/**
+	 * The shapes of data the benchmarks are run against.
+	 */
+	public enum Size {
+		/**
+		 * A single vCard with a name, a phone number, and an email address.
+		 */
+		TINY(1, false),
+
+		/**
+		 * A typical address book: several hundred vCards with the properties
+		 * found in most contact exports (names, phone numbers, emails,
+		 * addresses, dates, notes, etc).
+		 */
+		ADDRESS_BOOK(250, false),
+
+		/**
+		 * Same shape as {@link #ADDRESS_BOOK}, but fewer vCards, each with an
+		 * embedded JPEG photo.
+		 */
+		PHOTO_HEAVY(25, true);
+
+		private final int count;
+		private final boolean photos;
+
+		private Size(int count, boolean photos) {
+			this.count = count;
+			this.photos = photos;
+		}
+	}
+
+	/**
+	 * The size of each generated photo, in bytes.
+	 */
+	private static final int PHOTO_SIZE = 32 * 1024;
+
+	private static final String[] GIVEN_NAMES = { "John", "Jane", "Alice", "Robert", "Maria", "Wei", "Fatima", "Olga", "Pierre", "Kenji" };
+	private static final String[] FAMILY_NAMES = { "Doe", "Smith", "Nguyen", "Garcia", "Müller", "Kowalski", "Tanaka", "O'Brien", "Rossi", "Haddad" };
+	private static final String[] CITIES = { "Springfield", "Riverside", "Franklin", "Greenville", "Bristol", "Clinton", "Fairview", "Salem" };
+	private static final String[] ORGS = { "Acme Corp", "Initech", "Globex", "Umbrella", "Hooli", "Vandelay Industries" };
+
+	private Corpus() {
+		//hide
+	}
+
+	/**
+	 * Generates a list of vCards.
+	 * @param size the shape of the data
+	 * @param version the version to assign to each vCard
+	 * @return the vCards
+	 */
+	public static List<VCard> vcards(Size size, VCardVersion version) {
+		Random random = new Random(42);
+		List<VCard> vcards = new ArrayList<VCard>(size.count);
+		for (int i = 0; i < size.count; i++) {
+			VCard vcard = (size == Size.TINY) ? tiny(version) : typical(i, random, version);
+			if (size.photos) {
+				byte[] data = new byte[PHOTO_SIZE];
+				random.nextBytes(data);
+				vcard.addPhoto(new Photo(data, ImageType.JPEG));
+			}
+			vcards.add(vcard);
+		}
+		return Collections.unmodifiableList(vcards);
+	}
+
+	/**
+	 * Generates a list of vCards and serializes them to a plain-text vCard
+	 * string.
+	 * @param size the shape of the data
+	 * @param version the version to write the vCards as
+	 * @return the serialized vCards
+	 */
+	public static String text(Size size, VCardVersion version) {
+		return Ezvcard.write(vcards(size, version)).version(version).go();
+	}
+
+	/**
+	 * Generates a list of vCards and serializes them to a jCard string.
+	 * @param size the shape of the data
+	 * @return the serialized vCards
+	 */
+	public static String json(Size size) {
+		return Ezvcard.writeJson(vcards(size, VCardVersion.V4_0)).go();
+	}
+
+	/**
+	 * Generates a list of vCards and serializes them to an xCard string.
+	 * @param size the shape of the data
+	 * @return the serialized vCards
+	 */
+	public static String xml(Size size) {
+		return Ezvcard.writeXml(vcards(size, VCardVersion.V4_0)).go();
+	}
+
+	/**
+	 * Generates a list of vCards and serializes them to an HTML page.
+	 * @param size the shape of the data
+	 * @return the serialized vCards
+	 */
+	public static String html(Size size) {
+		return Ezvcard.writeHtml(vcards(size, VCardVersion.V4_0)).go();
+	}
+
+	private static VCard tiny(VCardVersion version) {
+		VCard vcard = new VCard(version);
+
+		StructuredName n = new StructuredName();
+		n.setFamily("Doe");
+		n.setGiven("John");
+		vcard.setStructuredName(n);
+		vcard.setFormattedName("John Doe");
+		vcard.addTelephoneNumber("+1 555 555 0100", TelephoneType.CELL);
+		vcard.addEmail("john.doe@example.com", EmailType.INTERNET);
+
+		return vcard;
+	}
+
+	private static VCard typical(int index, Random random, VCardVersion version) {
+		VCard vcard = new VCard(version);
+
+		String given = pick(GIVEN_NAMES, random);
+		String family = pick(FAMILY_NAMES, random);
+
+		StructuredName n = new StructuredName();
+		n.setFamily(family);
+		n.setGiven(given);
+		n.getPrefixes().add("Dr.");
+		vcard.setStructuredName(n);
+		vcard.setFormattedName(given + " " + family);
+		vcard.setNickname(given.substring(0, 1) + family.substring(0, 1));
+		vcard.setOrganization(pick(ORGS, random), "Engineering");
+		vcard.addTitle("Senior Software Engineer");
+
+		vcard.addTelephoneNumber(phone(random), TelephoneType.WORK, TelephoneType.VOICE);
+		vcard.addTelephoneNumber(phone(random), TelephoneType.HOME);
+		vcard.addTelephoneNumber(phone(random), TelephoneType.CELL).setPref(1);
+
+		String user = given.toLowerCase() + "." + index;
+		vcard.addEmail(user + "@example.com", EmailType.INTERNET, EmailType.WORK).setPref(1);
+		vcard.addEmail(user + "@example.org", EmailType.INTERNET, EmailType.HOME);
+
+		Address adr = new Address();
+		adr.setStreetAddress((random.nextInt(9000) + 100) + " Main St.");
+		adr.setLocality(pick(CITIES, random));
+		adr.setRegion("NY");
+		adr.setPostalCode(String.valueOf(10000 + random.nextInt(90000)));
+		adr.setCountry("USA");
+		adr.getTypes().add(AddressType.WORK);
+		vcard.addAddress(adr);
+
+		vcard.addUrl("http://www.example.com/people/" + index);
+		vcard.addNote("Met at the 2019 conference; follow up about the integration project.\nPrefers email, not phone.");
+		vcard.setCategories("work", "engineering", "conference");
+
+		Calendar c = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		c.clear();
+		c.set(1960 + random.nextInt(40), random.nextInt(12), 1 + random.nextInt(28));
+		vcard.setBirthday(new Birthday(c.getTime()));
+
+		c.clear();
+		c.set(2020, random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60));
+		vcard.setRevision(new Revision(c.getTime()));
+
+		vcard.setUid(new Uid("urn:uuid:" + new UUID(random.nextLong(), random.nextLong())));
+		vcard.addExtendedProperty("X-ABLABEL", "Assistant");
+		vcard.addExtendedProperty("X-SKYPE", user);
+
+		return vcard;
+	}
+
+	private static String phone(Random random) {
+		return "+1 555 " + (100 + random.nextInt(900)) + " " + (1000 + random.nextInt(9000));
+	}
+
+	private static String pick(String[] values, Random random) {
+		return values[random.nextInt(values.length)];
+	}
+}
@@ -0,0 +1,441 @@
+package ezvcard;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Stores the properties of a {@link VCard} object.
+ * </p>
+ * <p>
+ * All properties are stored in a single array. Properties of the same class
+ * are kept next to each other, and the classes are ordered by when their first
+ * property was added (this is the same ordering a {@code LinkedHashMap} of
+ * lists would produce). A small parallel index records each class and the
+ * number of properties it has.
+ * </p>
+ * <p>
+ * The views returned by {@link #values} are snapshots of the array at the time
+ * they were created. Creating one does not copy anything. Instead, the array is
+ * copied the next time the store is modified.
+ * </p>
+ * @author Michael Angstadt
+ */
+class PropertyStore {
+	private static final VCardProperty[] EMPTY_PROPERTIES = new VCardProperty[0];
+	private static final Class<?>[] EMPTY_CLASSES = new Class<?>[0];
+	private static final int[] EMPTY_COUNTS = new int[0];
+
+	private VCardProperty[] properties = EMPTY_PROPERTIES;
+	private int size = 0;
+
+	private Class<?>[] classes = EMPTY_CLASSES;
+	private int[] counts = EMPTY_COUNTS;
+	private int classCount = 0;
+
+	/**
+	 * True if the property array is referenced by a snapshot, which means it
+	 * must be copied before it is modified.
+	 */
+	private boolean shared = false;
+
+	/**
+	 * The number of times properties have been added or removed. Lists that
+	 * are backed by this store use this to detect concurrent modifications.
+	 */
+	private int modCount = 0;
+
+	/**
+	 * Gets the total number of properties.
+	 * @return the number of properties
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of times properties have been added to or removed from
+	 * the store.
+	 * @return the modification count
+	 */
+	public int modCount() {
+		return modCount;
+	}
+
+	/**
+	 * Gets a property.
+	 * @param index the index of the property
+	 * @return the property
+	 * @throws IndexOutOfBoundsException if the index is out of bounds
+	 */
+	public VCardProperty get(int index) {
+		checkIndex(index, size);
+		return properties[index];
+	}
+
+	/**
+	 * Gets the number of distinct property classes.
+	 * @return the number of classes
+	 */
+	public int classCount() {
+		return classCount;
+	}
+
+	/**
+	 * Gets a property class.
+	 * @param index the index of the class (classes are ordered by when their
+	 * first property was added)
+	 * @return the property class
+	 */
+	@SuppressWarnings("unchecked")
+	public Class<? extends VCardProperty> classAt(int index) {
+		return (Class<? extends VCardProperty>) classes[index];
+	}
+
+	/**
+	 * Gets the number of properties of a given class.
+	 * @param clazz the property class
+	 * @return the number of properties
+	 */
+	public int count(Class<?> clazz) {
+		int group = group(clazz);
+		return (group < 0) ? 0 : counts[group];
+	}
+
+	/**
+	 * Gets the first property of a given class.
+	 * @param clazz the property class
+	 * @return the property or null if there are none
+	 */
+	public VCardProperty first(Class<?> clazz) {
+		int group = group(clazz);
+		return (group < 0) ? null : properties[start(group)];
+	}
+
+	/**
+	 * Gets a property of a given class.
+	 * @param clazz the property class
+	 * @param index the index of the property amongst the properties of the
+	 * same class
+	 * @return the property
+	 * @throws IndexOutOfBoundsException if the index is out of bounds
+	 */
+	public VCardProperty get(Class<?> clazz, int index) {
+		int group = group(clazz);
+		checkIndex(index, (group < 0) ? 0 : counts[group]);
+		return properties[start(group) + index];
+	}
+
+	/**
+	 * Replaces a property of a given class.
+	 * @param clazz the property class
+	 * @param index the index of the property amongst the properties of the
+	 * same class
+	 * @param property the new property
+	 * @return the property that was replaced
+	 * @throws IndexOutOfBoundsException if the index is out of bounds
+	 */
+	public VCardProperty set(Class<?> clazz, int index, VCardProperty property) {
+		int group = group(clazz);
+		checkIndex(index, (group < 0) ? 0 : counts[group]);
+
+		unshare();
+		int i = start(group) + index;
+		VCardProperty replaced = properties[i];
+		properties[i] = property;
+		return replaced;
+	}
+
+	/**
+	 * Adds a property to the end of the properties of the given class.
+	 * @param clazz the property class
+	 * @param property the property to add
+	 */
+	public void add(Class<?> clazz, VCardProperty property) {
+		add(clazz, count(clazz), property);
+	}
+
+	/**
+	 * Inserts a property amongst the properties of the given class.
+	 * @param clazz the property class
+	 * @param index the index to insert the property at
+	 * @param property the property to add
+	 * @throws IndexOutOfBoundsException if the index is out of bounds
+	 */
+	public void add(Class<?> clazz, int index, VCardProperty property) {
+		int group = group(clazz);
+		int count = (group < 0) ? 0 : counts[group];
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+
+		if (group < 0) {
+			group = addGroup(clazz);
+		}
+
+		int i = start(group) + index;
+		ensureCapacity(size + 1);
+		System.arraycopy(properties, i, properties, i + 1, size - i);
+		properties[i] = property;
+		size++;
+		counts[group]++;
+		modCount++;
+	}
+
+	/**
+	 * Removes a property of a given class.
+	 * @param clazz the property class
+	 * @param index the index of the property amongst the properties of the
+	 * same class
+	 * @return the property that was removed
+	 * @throws IndexOutOfBoundsException if the index is out of bounds
+	 */
+	public VCardProperty remove(Class<?> clazz, int index) {
+		int group = group(clazz);
+		checkIndex(index, (group < 0) ? 0 : counts[group]);
+
+		unshare();
+		int i = start(group) + index;
+		VCardProperty removed = properties[i];
+		removeRange(i, 1);
+		if (--counts[group] == 0) {
+			removeGroup(group);
+		}
+		modCount++;
+		return removed;
+	}
+
+	/**
+	 * Removes the first property of a given class that is equal to the given
+	 * property.
+	 * @param clazz the property class
+	 * @param property the property to remove
+	 * @return true if a property was removed, false if not
+	 */
+	public boolean remove(Class<?> clazz, VCardProperty property) {
+		int group = group(clazz);
+		if (group < 0) {
+			return false;
+		}
+
+		int start = start(group);
+		int end = start + counts[group];
+		for (int i = start; i < end; i++) {
+			if (property == null ? properties[i] == null : property.equals(properties[i])) {
+				remove(clazz, i - start);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all properties of a given class.
+	 * @param clazz the property class
+	 * @return the removed properties (this list is immutable)
+	 */
+	public List<VCardProperty> removeAll(Class<?> clazz) {
+		int group = group(clazz);
+		if (group < 0) {
+			return Collections.emptyList();
+		}
+
+		/*
+		 * Return a snapshot of the removed properties. Because the array is
+		 * now shared, it will be copied before it is modified.
+		 */
+		int start = start(group);
+		int count = counts[group];
+		List<VCardProperty> removed = values(start, count);
+
+		unshare();
+		removeRange(start, count);
+		removeGroup(group);
+		modCount++;
+		return removed;
+	}
+
+	/**
+	 * Replaces all properties of a given class with a single property.
+	 * @param clazz the property class
+	 * @param property the new property or null to just remove the existing
+	 * properties
+	 * @return the replaced properties (this list is immutable)
+	 */
+	public List<VCardProperty> replace(Class<?> clazz, VCardProperty property) {
+		List<VCardProperty> replaced = removeAll(clazz);
+		if (property != null) {
+			add(clazz, property);
+		}
+		return replaced;
+	}
+
+	/**
+	 * Gets all properties.
+	 * @return a snapshot of the properties (this list is immutable)
+	 */
+	public List<VCardProperty> values() {
+		return values(0, size);
+	}
+
+	/**
+	 * Gets all properties of a given class.
+	 * @param clazz the property class
+	 * @return a snapshot of the properties (this list is immutable)
+	 */
+	public List<VCardProperty> values(Class<?> clazz) {
+		int group = group(clazz);
+		if (group < 0) {
+			return Collections.emptyList();
+		}
+		return values(start(group), counts[group]);
+	}
+
+	private List<VCardProperty> values(int offset, int length) {
+		if (length == 0) {
+			return Collections.emptyList();
+		}
+
+		shared = true;
+		return new Snapshot(properties, offset, length);
+	}
+
+	private int group(Class<?> clazz) {
+		/*
+		 * A vCard rarely has more than a few dozen property classes, so a
+		 * linear scan is cheaper than hashing.
+		 */
+		for (int i = 0; i < classCount; i++) {
+			if (classes[i] == clazz) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int start(int group) {
+		int start = 0;
+		for (int i = 0; i < group; i++) {
+			start += counts[i];
+		}
+		return start;
+	}
+
+	private int addGroup(Class<?> clazz) {
+		if (classCount == classes.length) {
+			int capacity = Math.max(4, classCount * 2);
+			Class<?>[] newClasses = new Class<?>[capacity];
+			System.arraycopy(classes, 0, newClasses, 0, classCount);
+			classes = newClasses;
+
+			int[] newCounts = new int[capacity];
+			System.arraycopy(counts, 0, newCounts, 0, classCount);
+			counts = newCounts;
+		}
+
+		classes[classCount] = clazz;
+		counts[classCount] = 0;
+		return classCount++;
+	}
+
+	private void removeGroup(int group) {
+		int moved = classCount - group - 1;
+		System.arraycopy(classes, group + 1, classes, group, moved);
+		System.arraycopy(counts, group + 1, counts, group, moved);
+		classCount--;
+		classes[classCount] = null;
+	}
+
+	private void removeRange(int start, int length) {
+		System.arraycopy(properties, start + length, properties, start, size - start - length);
+		for (int i = size - length; i < size; i++) {
+			properties[i] = null;
+		}
+		size -= length;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= properties.length && !shared) {
+			return;
+		}
+
+		int newCapacity = properties.length;
+		if (capacity > newCapacity) {
+			newCapacity = Math.max(Math.max(8, capacity), newCapacity + (newCapacity >> 1));
+		}
+		VCardProperty[] newProperties = new VCardProperty[newCapacity];
+		System.arraycopy(properties, 0, newProperties, 0, size);
+		properties = newProperties;
+		shared = false;
+	}
+
+	private void unshare() {
+		if (shared) {
+			ensureCapacity(size);
+		}
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * An immutable view of a range of a property array.
+	 */
+	private static class Snapshot extends AbstractList<VCardProperty> implements RandomAccess {
+		private final VCardProperty[] properties;
+		private final int offset, size;
+
+		public Snapshot(VCardProperty[] properties, int offset, int size) {
+			this.properties = properties;
+			this.offset = offset;
+			this.size = size;
+		}
+
+		@Override
+		public VCardProperty get(int index) {
+			checkIndex(index, size);
+			return properties[offset + index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -10,9 +10,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -20,6 +22,7 @@ import javax.xml.transform.TransformerException;
 
 import ezvcard.io.html.HCardPage;
 import ezvcard.io.json.JCardWriter;
+import ezvcard.io.text.VCardFingerprinter;
 import ezvcard.io.text.VCardWriter;
 import ezvcard.io.xml.XCardWriter;
 import ezvcard.parameter.EmailType;
@@ -115,7 +118,15 @@ import ezvcard.util.StringUtils;
  */
 public class VCard implements Iterable<VCardProperty> {
 	private VCardVersion version;
-	private final ListMultimap<Class<? extends VCardProperty>, VCardProperty> properties = new ListMultimap<Class<? extends VCardProperty>, VCardProperty>();
+	private final PropertyStore properties = new PropertyStore();
+
+	/**
+	 * The extended properties, indexed by name. This is built when an extended
+	 * property is looked up by name, and discarded when the extended
+	 * properties change. It is volatile so that vCards that are only read can
+	 * be safely shared between threads.
+	 */
+	private volatile ExtendedPropertyIndex extendedIndex;
 
 	/**
 	 * Creates a new vCard set to version 3.0.
@@ -4197,7 +4208,8 @@ public class VCard implements Iterable<VCardProperty> {
 
 	/**
 	 * Gets all the properties in this vCard.
-	 * @return the properties (this list is immutable)
+	 * @return the properties (this list is immutable and does not reflect
+	 * changes that are made to the vCard after it is returned)
 	 */
 	public Collection<VCardProperty> getProperties() {
 		return properties.values();
@@ -4208,7 +4220,9 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param property the property to add
 	 */
 	public void addProperty(VCardProperty property) {
-		properties.put(property.getClass(), property);
+		Class<? extends VCardProperty> clazz = property.getClass();
+		properties.add(clazz, property);
+		modified(clazz);
 	}
 
 	/**
@@ -4218,7 +4232,10 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties that were replaced (this list is immutable)
 	 */
 	public List<VCardProperty> setProperty(VCardProperty property) {
-		return properties.replace(property.getClass(), property);
+		Class<? extends VCardProperty> clazz = property.getClass();
+		List<VCardProperty> replaced = properties.replace(clazz, property);
+		modified(clazz);
+		return replaced;
 	}
 
 	/**
@@ -4232,6 +4249,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 */
 	public <T extends VCardProperty> List<T> setProperty(Class<T> clazz, T property) {
 		List<VCardProperty> replaced = properties.replace(clazz, property);
+		modified(clazz);
 		return castList(replaced, clazz);
 	}
 
@@ -4241,7 +4259,12 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return true if it was removed, false if it wasn't found
 	 */
 	public boolean removeProperty(VCardProperty property) {
-		return properties.remove(property.getClass(), property);
+		Class<? extends VCardProperty> clazz = property.getClass();
+		boolean removed = properties.remove(clazz, property);
+		if (removed) {
+			modified(clazz);
+		}
+		return removed;
 	}
 
 	/**
@@ -4252,6 +4275,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 */
 	public <T extends VCardProperty> List<T> removeProperties(Class<T> clazz) {
 		List<VCardProperty> removed = properties.removeAll(clazz);
+		modified(clazz);
 		return castList(removed, clazz);
 	}
 
@@ -4261,12 +4285,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the property or null if none were found
 	 */
 	public RawProperty getExtendedProperty(String name) {
-		for (RawProperty raw : getExtendedProperties()) {
-			if (raw.getPropertyName().equalsIgnoreCase(name)) {
-				return raw;
-			}
-		}
-		return null;
+		List<RawProperty> properties = extendedIndex().get(indexKey(name));
+		return (properties == null) ? null : properties.get(0);
 	}
 
 	/**
@@ -4275,14 +4295,12 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties (this list is immutable)
 	 */
 	public List<RawProperty> getExtendedProperties(String name) {
-		List<RawProperty> properties = new ArrayList<RawProperty>();
-
-		for (RawProperty raw : getExtendedProperties()) {
-			if (raw.getPropertyName().equalsIgnoreCase(name)) {
-				properties.add(raw);
-			}
+		List<RawProperty> properties = extendedIndex().get(indexKey(name));
+		if (properties == null) {
+			return Collections.emptyList();
 		}
 
+		//the index's lists are never modified, so they can be returned as-is
 		return Collections.unmodifiableList(properties);
 	}
 
@@ -4351,16 +4369,64 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the properties that were removed (this list is immutable)
 	 */
 	public List<RawProperty> removeExtendedProperty(String name) {
-		List<RawProperty> all = getExtendedProperties();
-		List<RawProperty> toRemove = new ArrayList<RawProperty>();
-		for (RawProperty property : all) {
-			if (property.getPropertyName().equalsIgnoreCase(name)) {
-				toRemove.add(property);
+		List<RawProperty> toRemove = getExtendedProperties(name);
+		if (toRemove.isEmpty()) {
+			return toRemove;
+		}
+
+		getExtendedProperties().removeAll(toRemove);
+		return toRemove;
+	}
+
+	/**
+	 * Gets the index of extended properties, building it if necessary.
+	 * @return the index
+	 */
+	private Map<String, List<RawProperty>> extendedIndex() {
+		ExtendedPropertyIndex extendedIndex = this.extendedIndex;
+		if (extendedIndex != null && extendedIndex.isCurrent()) {
+			return extendedIndex.properties;
+		}
+
+		Map<String, List<RawProperty>> index = new HashMap<String, List<RawProperty>>();
+		int count = properties.count(RawProperty.class);
+		RawProperty[] indexed = new RawProperty[count];
+		String[] names = new String[count];
+		for (int i = 0; i < count; i++) {
+			RawProperty raw = (RawProperty) properties.get(RawProperty.class, i);
+			String name = raw.getPropertyName();
+			indexed[i] = raw;
+			names[i] = name;
+
+			String key = indexKey(name);
+			if (key == null) {
+				continue;
 			}
+
+			List<RawProperty> list = index.get(key);
+			if (list == null) {
+				list = new ArrayList<RawProperty>(1);
+				index.put(key, list);
+			}
+			list.add(raw);
 		}
 
-		all.removeAll(toRemove);
-		return Collections.unmodifiableList(toRemove);
+		this.extendedIndex = new ExtendedPropertyIndex(index, indexed, names);
+		return index;
+	}
+
+	private static String indexKey(String name) {
+		return (name == null) ? null : StringUtils.caseInsensitiveKey(name);
+	}
+
+	/**
+	 * Called after the properties of the given class have been modified.
+	 * @param clazz the property class
+	 */
+	private void modified(Class<?> clazz) {
+		if (clazz == RawProperty.class) {
+			extendedIndex = null;
+		}
 	}
 
 	/**
@@ -4449,38 +4515,43 @@ public class VCard implements Iterable<VCardProperty> {
 	 * data stream, but may prevent it from being parsed correctly by the
 	 * consuming application. These problems can largely be avoided by reading
 	 * the Javadocs of the property classes, or by being familiar with the vCard
-	 * standard.
+	 * standard. Use the {@link VCardValidator} class to choose which checks
+	 * are performed, or to validate many vCards in parallel.
 	 * @param version the version to check the vCard against (use
 	 * {@link VCardVersion#V4_0} for xCard and jCard)
 	 * @return the validation warnings
 	 */
 	public ValidationWarnings validate(VCardVersion version) {
-		ValidationWarnings warnings = new ValidationWarnings();
-
-		//validate overall vCard object
-		if (getStructuredName() == null && (version == VCardVersion.V2_1 || version == VCardVersion.V3_0)) {
-			warnings.add(null, new ValidationWarning(0));
-		}
-		if (getFormattedName() == null && (version == VCardVersion.V3_0 || version == VCardVersion.V4_0)) {
-			warnings.add(null, new ValidationWarning(1));
-		}
-
-		//validate properties
-		for (VCardProperty property : this) {
-			List<ValidationWarning> propWarnings = property.validate(version, this);
-			if (!propWarnings.isEmpty()) {
-				warnings.add(property, propWarnings);
-			}
-		}
+		return new VCardValidator(version).validate(this);
+	}
 
-		return warnings;
+	/**
+	 * <p>
+	 * Computes a 64-bit fingerprint of this vCard's content. Two vCards with
+	 * the same content have the same fingerprint, regardless of the order in
+	 * which their properties were added. Fingerprints are stable, so they can
+	 * be stored and compared against later to cheaply determine whether a
+	 * vCard has changed.
+	 * </p>
+	 * <p>
+	 * Use the {@link VCardFingerprinter} class for more control, such as
+	 * ignoring properties like PRODID and REV, or computing fingerprints
+	 * directly from a data stream.
+	 * </p>
+	 * @return the fingerprint
+	 * @throws IllegalArgumentException if this vCard contains an instance of
+	 * a custom property class
+	 */
+	public long fingerprint() {
+		return new VCardFingerprinter().fingerprint(this);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("version=").append(version);
-		for (VCardProperty property : properties.values()) {
+		for (int i = 0; i < properties.size(); i++) {
+			VCardProperty property = properties.get(i);
 			sb.append(StringUtils.NEWLINE).append(property);
 		}
 		return sb.toString();
@@ -4494,7 +4565,8 @@ public class VCard implements Iterable<VCardProperty> {
 		result = prime * result + ((version == null) ? 0 : version.hashCode());
 
 		int propertiesHash = 1;
-		for (VCardProperty property : properties.values()) {
+		for (int i = 0; i < properties.size(); i++) {
+			VCardProperty property = properties.get(i);
 			propertiesHash += property.hashCode();
 		}
 		result = prime * result + propertiesHash;
@@ -4510,22 +4582,74 @@ public class VCard implements Iterable<VCardProperty> {
 		VCard other = (VCard) obj;
 		if (version != other.version) return false;
 		if (properties.size() != other.properties.size()) return false;
+		if (properties.classCount() != other.properties.classCount()) return false;
 
-		for (Map.Entry<Class<? extends VCardProperty>, List<VCardProperty>> entry : properties) {
-			Class<? extends VCardProperty> key = entry.getKey();
-			List<VCardProperty> value = entry.getValue();
-			List<VCardProperty> otherValue = other.properties.get(key);
+		for (int i = 0; i < properties.classCount(); i++) {
+			Class<? extends VCardProperty> key = properties.classAt(i);
+			List<VCardProperty> value = properties.values(key);
+			List<VCardProperty> otherValue = other.properties.values(key);
 
-			if (value.size() != otherValue.size()) {
+			if (!equalsIgnoreOrder(value, otherValue)) {
 				return false;
 			}
+		}
 
-			List<VCardProperty> otherValueCopy = new ArrayList<VCardProperty>(otherValue);
-			for (VCardProperty property : value) {
-				if (!otherValueCopy.remove(property)) {
-					return false;
+		return true;
+	}
+
+	/**
+	 * Determines if two lists contain the same properties, ignoring order.
+	 * @param list the first list
+	 * @param otherList the second list
+	 * @return true if they contain the same properties, false if not
+	 */
+	private static boolean equalsIgnoreOrder(List<VCardProperty> list, List<VCardProperty> otherList) {
+		int size = list.size();
+		if (size != otherList.size()) {
+			return false;
+		}
+
+		if (size == 1) {
+			return list.get(0).equals(otherList.get(0));
+		}
+
+		/*
+		 * Sort the other list's properties by hash code so that each property
+		 * in the first list only has to be compared against the properties
+		 * that have the same hash code. Each element holds the hash code in its
+		 * upper 32 bits and the property's index in its lower 32 bits.
+		 */
+		long[] otherHashes = new long[size];
+		for (int i = 0; i < size; i++) {
+			otherHashes[i] = ((long) otherList.get(i).hashCode() << 32) | i;
+		}
+		Arrays.sort(otherHashes);
+
+		boolean[] matched = new boolean[size];
+		for (VCardProperty property : list) {
+			int hash = property.hashCode();
+			int i = Arrays.binarySearch(otherHashes, (long) hash << 32);
+			if (i < 0) {
+				i = -i - 1;
+			}
+
+			boolean found = false;
+			for (; i < size && (int) (otherHashes[i] >> 32) == hash; i++) {
+				if (matched[i]) {
+					continue;
+				}
+
+				VCardProperty otherProperty = otherList.get((int) otherHashes[i]);
+				if (property.equals(otherProperty)) {
+					matched[i] = true;
+					found = true;
+					break;
 				}
 			}
+
+			if (!found) {
+				return false;
+			}
 		}
 
 		return true;
@@ -4567,46 +4691,108 @@ public class VCard implements Iterable<VCardProperty> {
 	 */
 	private class VCardPropertyList<T extends VCardProperty> extends AbstractList<T> {
 		protected final Class<T> propertyClass;
-		protected final List<VCardProperty> properties;
 
 		/**
 		 * @param propertyClass the property class
 		 */
 		public VCardPropertyList(Class<T> propertyClass) {
 			this.propertyClass = propertyClass;
-			properties = VCard.this.properties.get(propertyClass);
 		}
 
 		@Override
 		public void add(int index, T value) {
-			properties.add(index, value);
+			properties.add(propertyClass, index, value);
+			modified(propertyClass);
+			syncModCount();
 		}
 
 		@Override
 		public T remove(int index) {
-			VCardProperty removed = properties.remove(index);
+			VCardProperty removed = properties.remove(propertyClass, index);
+			modified(propertyClass);
+			syncModCount();
 			return cast(removed);
 		}
 
 		@Override
 		public T get(int index) {
-			VCardProperty property = properties.get(index);
+			syncModCount();
+			VCardProperty property = properties.get(propertyClass, index);
 			return cast(property);
 		}
 
 		@Override
 		public T set(int index, T value) {
-			VCardProperty replaced = properties.set(index, value);
+			VCardProperty replaced = properties.set(propertyClass, index, value);
+			modified(propertyClass);
 			return cast(replaced);
 		}
 
 		@Override
 		public int size() {
-			return properties.size();
+			syncModCount();
+			return properties.count(propertyClass);
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			syncModCount();
+			return super.iterator();
+		}
+
+		@Override
+		public ListIterator<T> listIterator(int index) {
+			syncModCount();
+			return super.listIterator(index);
+		}
+
+		/**
+		 * Copies the store's modification count into this list's, so that
+		 * iterators fail fast when the vCard is modified through other means
+		 * (such as {@link VCard#removeProperty}).
+		 */
+		private void syncModCount() {
+			modCount = properties.modCount();
 		}
 
 		private T cast(VCardProperty value) {
 			return propertyClass.cast(value);
 		}
 	}
+
+	/**
+	 * Maps lower-case extended property names to the properties that have
+	 * that name.
+	 */
+	private static class ExtendedPropertyIndex {
+		private final Map<String, List<RawProperty>> properties;
+		private final RawProperty[] indexed;
+		private final String[] names;
+
+		/**
+		 * @param properties the index
+		 * @param indexed the properties that were indexed
+		 * @param names the name each property had when the index was built
+		 */
+		public ExtendedPropertyIndex(Map<String, List<RawProperty>> properties, RawProperty[] indexed, String[] names) {
+			this.properties = properties;
+			this.indexed = indexed;
+			this.names = names;
+		}
+
+		/**
+		 * Determines if none of the indexed properties have been renamed since
+		 * the index was built. Adding or removing properties discards the
+		 * index, so only renames have to be checked for here.
+		 * @return true if the index is up to date, false if not
+		 */
+		public boolean isCurrent() {
+			for (int i = 0; i < indexed.length; i++) {
+				if (indexed[i].getPropertyName() != names[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 }
@@ -9,6 +9,7 @@ import java.lang.reflect.Modifier;
 import java.util.Collection;
 
 import ezvcard.util.CaseClasses;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -54,6 +55,16 @@ public class VCardDataType {
 		protected boolean matches(VCardDataType dataType, String value) {
 			return dataType.name.equalsIgnoreCase(value);
 		}
+
+		@Override
+		protected String valueOf(VCardDataType dataType) {
+			return dataType.name;
+		}
+
+		@Override
+		protected Object indexKey(String value) {
+			return (value == null) ? null : StringUtils.caseInsensitiveKey(value);
+		}
 	};
 
 	/**
@@ -0,0 +1,276 @@
+package ezvcard;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Validates vCards, with control over which checks are performed. Also
+ * validates large batches of vCards in parallel.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * VCardValidator validator = new VCardValidator(VCardVersion.V4_0);
+ * validator.setCheckEnabled(ValidationCheck.CHARACTERS, false);
+ * validator.setStopAtFirstProblem(true);
+ * 
+ * ExecutorService executor = Executors.newFixedThreadPool(4);
+ * List&lt;ValidationWarnings&gt; results = validator.validate(vcards, executor);
+ * executor.shutdown();
+ * </pre>
+ * @author Michael Angstadt
+ * @see VCard#validate
+ */
+public class VCardValidator {
+	private final VCardVersion version;
+	private final Set<ValidationCheck> checks = EnumSet.allOf(ValidationCheck.class);
+	private boolean stopAtFirstProblem = false;
+	private int batchSize = 64;
+
+	/**
+	 * @param version the version to check the vCards against (use
+	 * {@link VCardVersion#V4_0} for xCard and jCard)
+	 */
+	public VCardValidator(VCardVersion version) {
+		this.version = version;
+	}
+
+	/**
+	 * Gets the version the vCards are checked against.
+	 * @return the version
+	 */
+	public VCardVersion getVersion() {
+		return version;
+	}
+
+	/**
+	 * Determines whether a group of checks is performed (all checks are
+	 * enabled by default).
+	 * @param check the group of checks
+	 * @return true if the checks are performed, false if not
+	 */
+	public boolean isCheckEnabled(ValidationCheck check) {
+		return checks.contains(check);
+	}
+
+	/**
+	 * Sets whether a group of checks is performed (all checks are enabled by
+	 * default).
+	 * @param check the group of checks
+	 * @param enabled true to perform the checks, false to skip them
+	 */
+	public void setCheckEnabled(ValidationCheck check, boolean enabled) {
+		if (enabled) {
+			checks.add(check);
+		} else {
+			checks.remove(check);
+		}
+	}
+
+	/**
+	 * Gets whether the validation of a vCard stops as soon as a problem is
+	 * found (disabled by default).
+	 * @return true if validation stops at the first problem, false if not
+	 */
+	public boolean isStopAtFirstProblem() {
+		return stopAtFirstProblem;
+	}
+
+	/**
+	 * Sets whether the validation of a vCard stops as soon as a problem is
+	 * found (disabled by default). If enabled, the returned warnings only
+	 * contain the problems found in the vCard itself (such as a missing FN
+	 * property) or in the first property that has problems. This is useful
+	 * when only a yes/no answer is needed.
+	 * @param stopAtFirstProblem true to stop at the first problem, false to
+	 * find all problems
+	 */
+	public void setStopAtFirstProblem(boolean stopAtFirstProblem) {
+		this.stopAtFirstProblem = stopAtFirstProblem;
+	}
+
+	/**
+	 * Gets the number of vCards that each task validates when validating in
+	 * parallel (defaults to 64).
+	 * @return the batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets the number of vCards that each task validates when validating in
+	 * parallel (defaults to 64). Larger batches reduce the overhead of
+	 * scheduling tasks, while smaller batches spread the work more evenly.
+	 * @param batchSize the batch size (must be greater than zero)
+	 * @throws IllegalArgumentException if the batch size is not positive
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw Messages.INSTANCE.getIllegalArgumentException(46);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Validates a vCard.
+	 * @param vcard the vCard
+	 * @return the validation warnings
+	 */
+	public ValidationWarnings validate(VCard vcard) {
+		return validate(vcard, checks, stopAtFirstProblem);
+	}
+
+	/**
+	 * Validates a batch of vCards in parallel. The calling thread blocks
+	 * until all vCards have been validated. The vCards must not be modified
+	 * while they are being validated.
+	 * @param vcards the vCards
+	 * @param executor the executor service that runs the validation tasks
+	 * (it is not shut down by this method)
+	 * @return the validation warnings of each vCard, in the same order as the
+	 * vCards
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting for the tasks to finish (any remaining tasks are cancelled)
+	 */
+	public List<ValidationWarnings> validate(Iterable<VCard> vcards, ExecutorService executor) throws InterruptedException {
+		//copy the settings so that changing them does not affect running tasks
+		Set<ValidationCheck> checks = EnumSet.copyOf(this.checks);
+		boolean stopAtFirstProblem = this.stopAtFirstProblem;
+
+		List<Future<List<ValidationWarnings>>> futures = new ArrayList<Future<List<ValidationWarnings>>>();
+		List<VCard> batch = new ArrayList<VCard>(batchSize);
+		int count = 0;
+		try {
+			for (VCard vcard : vcards) {
+				batch.add(vcard);
+				if (batch.size() == batchSize) {
+					futures.add(executor.submit(new Task(batch, checks, stopAtFirstProblem)));
+					batch = new ArrayList<VCard>(batchSize);
+				}
+				count++;
+			}
+			if (!batch.isEmpty()) {
+				futures.add(executor.submit(new Task(batch, checks, stopAtFirstProblem)));
+			}
+
+			List<ValidationWarnings> results = new ArrayList<ValidationWarnings>(count);
+			for (Future<List<ValidationWarnings>> future : futures) {
+				results.addAll(get(future));
+			}
+			return results;
+		} finally {
+			for (Future<List<ValidationWarnings>> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private static List<ValidationWarnings> get(Future<List<ValidationWarnings>> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	private ValidationWarnings validate(VCard vcard, Set<ValidationCheck> checks, boolean stopAtFirstProblem) {
+		ValidationWarnings warnings = new ValidationWarnings();
+
+		//validate overall vCard object
+		if (checks.contains(ValidationCheck.REQUIRED_PROPERTIES)) {
+			if (vcard.getStructuredName() == null && (version == VCardVersion.V2_1 || version == VCardVersion.V3_0)) {
+				warnings.add(null, new ValidationWarning(0));
+			}
+			if (vcard.getFormattedName() == null && (version == VCardVersion.V3_0 || version == VCardVersion.V4_0)) {
+				warnings.add(null, new ValidationWarning(1));
+			}
+			if (stopAtFirstProblem && !warnings.isEmpty()) {
+				return warnings;
+			}
+		}
+
+		//validate properties
+		for (VCardProperty property : vcard) {
+			List<ValidationWarning> propWarnings = property.validate(version, vcard, checks);
+			if (!propWarnings.isEmpty()) {
+				warnings.add(property, propWarnings);
+				if (stopAtFirstProblem) {
+					break;
+				}
+			}
+		}
+
+		return warnings;
+	}
+
+	/**
+	 * Validates a batch of vCards.
+	 */
+	private class Task implements Callable<List<ValidationWarnings>> {
+		private final List<VCard> vcards;
+		private final Set<ValidationCheck> checks;
+		private final boolean stopAtFirstProblem;
+
+		public Task(List<VCard> vcards, Set<ValidationCheck> checks, boolean stopAtFirstProblem) {
+			this.vcards = vcards;
+			this.checks = checks;
+			this.stopAtFirstProblem = stopAtFirstProblem;
+		}
+
+		public List<ValidationWarnings> call() {
+			List<ValidationWarnings> results = new ArrayList<ValidationWarnings>(vcards.size());
+			for (VCard vcard : vcards) {
+				results.add(validate(vcard, checks, stopAtFirstProblem));
+			}
+			return results;
+		}
+	}
+}
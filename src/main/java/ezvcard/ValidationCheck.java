@@ -0,0 +1,68 @@
+package ezvcard;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * The groups of checks that are performed when a vCard is validated. Each
+ * group can be enabled or disabled using a {@link VCardValidator}.
+ * @author Michael Angstadt
+ * @see VCardValidator
+ */
+public enum ValidationCheck {
+	/**
+	 * Checks that the vCard has the properties that its version requires (N
+	 * for 2.1 and 3.0, FN for 3.0 and 4.0).
+	 */
+	REQUIRED_PROPERTIES,
+
+	/**
+	 * Checks that each property is supported by the vCard's version.
+	 */
+	SUPPORTED_VERSIONS,
+
+	/**
+	 * Checks that property groups, parameter names, and parameter values only
+	 * contain characters that the vCard's syntax allows.
+	 */
+	CHARACTERS,
+
+	/**
+	 * Checks for parameter values that are non-standard, unsupported by the
+	 * vCard's version, or malformed (e.g. "ENCODING=foo", "PREF=0").
+	 */
+	PARAMETER_VALUES,
+
+	/**
+	 * Runs the checks that are specific to each property class (for example,
+	 * that an ADR property's TYPE parameters are valid, or that an extended
+	 * property's name is well-formed).
+	 */
+	PROPERTY_VALUES
+}
@@ -31,7 +31,8 @@ package ezvcard;
  */
 public class ValidationWarning {
 	private final Integer code;
-	private final String message;
+	private final Object[] args;
+	private String message;
 
 	/**
 	 * Creates a new validation warning.
@@ -39,17 +40,20 @@ public class ValidationWarning {
 	 */
 	public ValidationWarning(String message) {
 		this.code = null;
+		this.args = null;
 		this.message = message;
 	}
 
 	/**
-	 * Creates a new validation warning.
+	 * Creates a new validation warning. The message text is not generated
+	 * until it is requested, so the arguments should not be modified
+	 * afterwards.
 	 * @param code the warning message code
 	 * @param args the warning message arguments
 	 */
 	public ValidationWarning(int code, Object... args) {
 		this.code = code;
-		this.message = Messages.INSTANCE.getValidationWarning(code, args);
+		this.args = args;
 	}
 
 	/**
@@ -65,11 +69,15 @@ public class ValidationWarning {
 	 * @return the warning message
 	 */
 	public String getMessage() {
+		if (message == null && code != null) {
+			message = Messages.INSTANCE.getValidationWarning(code, args);
+		}
 		return message;
 	}
 
 	@Override
 	public String toString() {
+		String message = getMessage();
 		if (code == null) {
 			return message;
 		}
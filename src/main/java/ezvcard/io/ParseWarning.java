@@ -37,12 +37,15 @@ either expressed or implied, of the FreeBSD Project.
  */
 public class ParseWarning {
 	private final Integer code, lineNumber;
-	private final String propertyName, message;
+	private final String propertyName;
+	private final Object[] args;
+	private String message;
 
-	private ParseWarning(Integer lineNumber, String propertyName, Integer code, String message) {
+	private ParseWarning(Integer lineNumber, String propertyName, Integer code, Object[] args, String message) {
 		this.lineNumber = lineNumber;
 		this.propertyName = propertyName;
 		this.code = code;
+		this.args = args;
 		this.message = message;
 	}
 
@@ -63,10 +66,14 @@ public class ParseWarning {
 	}
 
 	/**
-	 * Gets the warning message
+	 * Gets the warning message. If the warning was created from a message
+	 * code, the message is not generated until this method is first called.
 	 * @return the warning message
 	 */
 	public String getMessage() {
+		if (message == null && code != null) {
+			message = Messages.INSTANCE.getParseMessage(code, args);
+		}
 		return message;
 	}
 
@@ -80,7 +87,7 @@ public class ParseWarning {
 
 	@Override
 	public String toString() {
-		String message = this.message;
+		String message = getMessage();
 		if (code != null) {
 			message = "(" + code + ") " + message;
 		}
@@ -108,6 +115,7 @@ public class ParseWarning {
 	public static class Builder {
 		private Integer lineNumber, code;
 		private String propertyName, message;
+		private Object[] args;
 
 		/**
 		 * Creates an empty builder.
@@ -125,6 +133,18 @@ public class ParseWarning {
 			propertyName(context.getPropertyName());
 		}
 
+		/**
+		 * Initializes the builder with the data from an existing warning.
+		 * @param original the warning to copy
+		 */
+		public Builder(ParseWarning original) {
+			lineNumber = original.lineNumber;
+			propertyName = original.propertyName;
+			code = original.code;
+			args = original.args;
+			message = original.message;
+		}
+
 		/**
 		 * Sets the name of the property that the warning occurred on.
 		 * @param propertyName the property name (e.g. "DTSTART") or null if not
@@ -147,14 +167,16 @@ public class ParseWarning {
 		}
 
 		/**
-		 * Sets the warning message.
+		 * Sets the warning message. The message text is not generated until it
+		 * is requested, so the arguments should not be modified afterwards.
 		 * @param code the message code
 		 * @param args the message arguments
 		 * @return this
 		 */
 		public Builder message(int code, Object... args) {
 			this.code = code;
-			message = Messages.INSTANCE.getParseMessage(code, args);
+			this.args = args;
+			message = null;
 			return this;
 		}
 
@@ -165,6 +187,7 @@ public class ParseWarning {
 		 */
 		public Builder message(String message) {
 			code = null;
+			args = null;
 			this.message = message;
 			return this;
 		}
@@ -184,7 +207,7 @@ public class ParseWarning {
 		 * @return the {@link ParseWarning} object
 		 */
 		public ParseWarning build() {
-			return new ParseWarning(lineNumber, propertyName, code, message);
+			return new ParseWarning(lineNumber, propertyName, code, args, message);
 		}
 	}
 }
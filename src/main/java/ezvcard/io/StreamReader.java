@@ -3,9 +3,11 @@ package ezvcard.io;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import ezvcard.VCard;
 import ezvcard.io.scribe.ScribeIndex;
@@ -49,9 +51,12 @@ import ezvcard.property.VCardProperty;
  * @author Michael Angstadt
  */
 public abstract class StreamReader implements Closeable {
-	protected final List<ParseWarning> warnings = new ArrayList<ParseWarning>();
+	protected final List<ParseWarning> warnings = new WarningList();
 	protected ScribeIndex index = new ScribeIndex();
 	protected ParseContext context;
+	private final Set<String> includedNames = new HashSet<String>();
+	private final Set<Class<? extends VCardProperty>> includedClasses = new HashSet<Class<? extends VCardProperty>>();
+	private Set<String> includedPropertyNames;
 
 	/**
 	 * Reads all vCards from the data stream.
@@ -73,9 +78,17 @@ public abstract class StreamReader implements Closeable {
 	 * @throws IOException if there's a problem reading from the stream
 	 */
 	public VCard readNext() throws IOException {
+		prepareNext();
+		return _readNext();
+	}
+
+	/**
+	 * Resets the state of the reader before the next vCard is read.
+	 */
+	protected void prepareNext() {
 		warnings.clear();
 		context = new ParseContext();
-		return _readNext();
+		includedPropertyNames = resolveIncludedProperties();
 	}
 
 	/**
@@ -137,6 +150,90 @@ public abstract class StreamReader implements Closeable {
 		return index;
 	}
 
+	/**
+	 * <p>
+	 * Limits the properties that are parsed to the given property, in addition
+	 * to any others that were previously included. All other properties will
+	 * be skipped without being parsed. By default, all properties are parsed.
+	 * </p>
+	 * <p>
+	 * Note that LABEL properties will not be assigned to their ADR properties
+	 * unless LABEL properties are included as well.
+	 * </p>
+	 * @param propertyName the property name (e.g. "EMAIL", case insensitive)
+	 */
+	public void includeProperty(String propertyName) {
+		includedNames.add(propertyName);
+	}
+
+	/**
+	 * Limits the properties that are parsed to the given property, in addition
+	 * to any others that were previously included. All other properties will
+	 * be skipped without being parsed. By default, all properties are parsed.
+	 * @param clazz the property class (a scribe for this class must be
+	 * registered)
+	 * @see #includeProperty(String)
+	 */
+	public void includeProperty(Class<? extends VCardProperty> clazz) {
+		includedClasses.add(clazz);
+	}
+
+	/**
+	 * Clears the properties that were passed into the "includeProperty"
+	 * methods, so that all properties are parsed.
+	 */
+	public void includeAllProperties() {
+		includedNames.clear();
+		includedClasses.clear();
+	}
+
+	/**
+	 * Determines whether a property should be parsed, according to the
+	 * properties that were passed into the "includeProperty" methods.
+	 * @param propertyName the property name (case insensitive)
+	 * @return true to parse the property, false to skip it
+	 */
+	protected boolean isPropertyIncluded(String propertyName) {
+		return includedPropertyNames == null || includedPropertyNames.contains(propertyName);
+	}
+
+	/**
+	 * Gets the names of the properties that should be parsed, according to the
+	 * properties that were passed into the "includeProperty" methods.
+	 * @return the property names (case insensitive) or null to parse all
+	 * properties
+	 */
+	protected Set<String> getIncludedPropertyNames() {
+		return includedPropertyNames;
+	}
+
+	/**
+	 * Converts the included property names and classes into a set of property
+	 * names. This is done before each vCard is read so that scribes which are
+	 * registered later on are taken into account.
+	 * @return the property names or null if all properties should be parsed
+	 */
+	private Set<String> resolveIncludedProperties() {
+		if (includedNames.isEmpty() && includedClasses.isEmpty()) {
+			return null;
+		}
+
+		Set<String> names = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+		names.addAll(includedNames);
+		for (Class<? extends VCardProperty> clazz : includedClasses) {
+			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(clazz);
+			if (scribe == null) {
+				continue;
+			}
+
+			names.add(scribe.getPropertyName());
+
+			//xCard element names do not always match the property name
+			names.add(scribe.getQName().getLocalPart());
+		}
+		return names;
+	}
+
 	/**
 	 * Sets the scribe index.
 	 * @param index the scribe index
@@ -145,6 +242,28 @@ public abstract class StreamReader implements Closeable {
 		this.index = index;
 	}
 
+	/**
+	 * Gets whether parse warnings are collected (enabled by default).
+	 * @return true if warnings are collected, false if they are discarded
+	 */
+	public boolean isWarningCollectionEnabled() {
+		return ((WarningList) warnings).enabled;
+	}
+
+	/**
+	 * Sets whether parse warnings are collected (enabled by default). If
+	 * disabled, {@link #getWarnings} will always return an empty list.
+	 * Disabling this reduces the overhead of parsing malformed data when the
+	 * warnings are not needed.
+	 * @param enable true to collect warnings, false to discard them
+	 */
+	public void setWarningCollectionEnabled(boolean enable) {
+		((WarningList) warnings).enabled = enable;
+		if (!enable) {
+			warnings.clear();
+		}
+	}
+
 	/**
 	 * Gets the warnings from the last vCard that was unmarshalled. This list is
 	 * reset every time a new vCard is read.
@@ -153,4 +272,35 @@ public abstract class StreamReader implements Closeable {
 	public List<ParseWarning> getWarnings() {
 		return new ArrayList<ParseWarning>(warnings);
 	}
+
+	/**
+	 * Discards the warnings that are added to it if warning collection is
+	 * disabled.
+	 */
+	@SuppressWarnings("serial")
+	private static class WarningList extends ArrayList<ParseWarning> {
+		private boolean enabled = true;
+
+		@Override
+		public boolean add(ParseWarning warning) {
+			return enabled && super.add(warning);
+		}
+
+		@Override
+		public void add(int index, ParseWarning warning) {
+			if (enabled) {
+				super.add(index, warning);
+			}
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends ParseWarning> warnings) {
+			return enabled && super.addAll(warnings);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends ParseWarning> warnings) {
+			return enabled && super.addAll(index, warnings);
+		}
+	}
 }
@@ -11,6 +11,7 @@ import ezvcard.Ezvcard;
 import ezvcard.Messages;
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
+import ezvcard.io.scribe.MostPreferredProperties;
 import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.property.Address;
@@ -56,6 +57,7 @@ public abstract class StreamWriter implements Closeable {
 	protected ScribeIndex index = new ScribeIndex();
 	protected boolean addProdId = true;
 	protected boolean versionStrict = true;
+	protected MostPreferredProperties mostPreferred;
 
 	/**
 	 * Writes a vCard to the stream.
@@ -166,6 +168,7 @@ public abstract class StreamWriter implements Closeable {
 	 */
 	private List<VCardProperty> prepare(VCard vcard) {
 		VCardVersion targetVersion = getTargetVersion();
+		mostPreferred = new MostPreferredProperties(vcard);
 		List<VCardProperty> propertiesToAdd = new ArrayList<VCardProperty>();
 		Set<Class<? extends VCardProperty>> unregistered = new HashSet<Class<? extends VCardProperty>>();
 		VCardProperty prodIdProperty = null;
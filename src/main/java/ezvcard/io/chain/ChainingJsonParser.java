@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 
+import com.fasterxml.jackson.core.JsonFactory;
+
 import ezvcard.Ezvcard;
 import ezvcard.io.StreamReader;
 import ezvcard.io.json.JCardReader;
@@ -42,6 +44,8 @@ import ezvcard.io.json.JCardReader;
  * @author Michael Angstadt
  */
 public class ChainingJsonParser<T extends ChainingJsonParser<?>> extends ChainingParser<T> {
+	private JsonFactory jsonFactory;
+
 	public ChainingJsonParser(String string) {
 		super(string);
 	}
@@ -58,8 +62,28 @@ public class ChainingJsonParser<T extends ChainingJsonParser<?>> extends Chainin
 		super(file);
 	}
 
+	/**
+	 * Sets the factory that is used to create the JSON parser.
+	 * @param jsonFactory the JSON factory or null to use the default, shared
+	 * factory
+	 * @return this
+	 * @see JCardReader#setJsonFactory(JsonFactory)
+	 */
+	public T jsonFactory(JsonFactory jsonFactory) {
+		this.jsonFactory = jsonFactory;
+		return this_;
+	}
+
 	@Override
 	StreamReader constructReader() throws IOException {
+		JCardReader reader = newReader();
+		if (jsonFactory != null) {
+			reader.setJsonFactory(jsonFactory);
+		}
+		return reader;
+	}
+
+	private JCardReader newReader() throws IOException {
 		if (string != null) {
 			return new JCardReader(string);
 		}
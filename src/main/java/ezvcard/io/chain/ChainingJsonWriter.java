@@ -7,6 +7,8 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collection;
 
+import com.fasterxml.jackson.core.JsonFactory;
+
 import ezvcard.Ezvcard;
 import ezvcard.VCard;
 import ezvcard.io.json.JCardWriter;
@@ -46,6 +48,7 @@ import ezvcard.property.VCardProperty;
  */
 public class ChainingJsonWriter extends ChainingWriter<ChainingJsonWriter> {
 	private boolean prettyPrint = false;
+	private JsonFactory jsonFactory;
 
 	/**
 	 * @param vcards the vCards to write
@@ -65,6 +68,18 @@ public class ChainingJsonWriter extends ChainingWriter<ChainingJsonWriter> {
 		return this;
 	}
 
+	/**
+	 * Sets the factory that is used to create the JSON generator.
+	 * @param jsonFactory the JSON factory or null to use the default, shared
+	 * factory
+	 * @return this
+	 * @see JCardWriter#setJsonFactory(JsonFactory)
+	 */
+	public ChainingJsonWriter jsonFactory(JsonFactory jsonFactory) {
+		this.jsonFactory = jsonFactory;
+		return this;
+	}
+
 	@Override
 	public ChainingJsonWriter prodId(boolean include) {
 		return super.prodId(include);
@@ -131,6 +146,9 @@ public class ChainingJsonWriter extends ChainingWriter<ChainingJsonWriter> {
 		writer.setAddProdId(prodId);
 		writer.setPrettyPrint(prettyPrint);
 		writer.setVersionStrict(versionStrict);
+		if (jsonFactory != null) {
+			writer.setJsonFactory(jsonFactory);
+		}
 		if (index != null) {
 			writer.setScribeIndex(index);
 		}
@@ -53,6 +53,8 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 
 	ScribeIndex index;
 	List<List<ParseWarning>> warnings;
+	final List<String> includedNames = new ArrayList<String>();
+	final List<Class<? extends VCardProperty>> includedClasses = new ArrayList<Class<? extends VCardProperty>>();
 
 	@SuppressWarnings("unchecked")
 	final T this_ = (T) this;
@@ -97,13 +99,40 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 		return this_;
 	}
 
+	/**
+	 * Limits the properties that are parsed. All other properties will be
+	 * skipped. This method can be called multiple times to include more
+	 * properties. By default, all properties are parsed.
+	 * @param propertyName the property name (e.g. "EMAIL", case insensitive)
+	 * @return this
+	 * @see StreamReader#includeProperty(String)
+	 */
+	public T include(String propertyName) {
+		includedNames.add(propertyName);
+		return this_;
+	}
+
+	/**
+	 * Limits the properties that are parsed. All other properties will be
+	 * skipped. This method can be called multiple times to include more
+	 * properties. By default, all properties are parsed.
+	 * @param clazz the property class
+	 * @return this
+	 * @see StreamReader#includeProperty(Class)
+	 */
+	public T include(Class<? extends VCardProperty> clazz) {
+		includedClasses.add(clazz);
+		return this_;
+	}
+
 	/**
 	 * Provides a list object that any parser warnings will be put into.
 	 * @param warnings the list object that will be populated with the warnings
 	 * of each parsed vCard. Each element in the list is a list of warnings for
 	 * one parsed vCard. Therefore, the size of this list will be equal to the
 	 * number of parsed vCards. If a vCard does not have any warnings, then its
-	 * warning list will be empty.
+	 * warning list will be empty. If this method is not called, warnings are
+	 * not collected at all.
 	 * @return this
 	 */
 	public T warnings(List<List<ParseWarning>> warnings) {
@@ -118,9 +147,7 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 	 */
 	public VCard first() throws IOException {
 		StreamReader reader = constructReader();
-		if (index != null) {
-			reader.setScribeIndex(index);
-		}
+		configureReader(reader);
 
 		try {
 			VCard vcard = reader.readNext();
@@ -142,9 +169,7 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 	 */
 	public List<VCard> all() throws IOException {
 		StreamReader reader = constructReader();
-		if (index != null) {
-			reader.setScribeIndex(index);
-		}
+		configureReader(reader);
 
 		try {
 			List<VCard> vcards = new ArrayList<VCard>();
@@ -165,6 +190,21 @@ abstract class ChainingParser<T extends ChainingParser<?>> {
 
 	abstract StreamReader constructReader() throws IOException;
 
+	private void configureReader(StreamReader reader) {
+		//nobody will look at the warnings
+		reader.setWarningCollectionEnabled(warnings != null);
+
+		if (index != null) {
+			reader.setScribeIndex(index);
+		}
+		for (String name : includedNames) {
+			reader.includeProperty(name);
+		}
+		for (Class<? extends VCardProperty> clazz : includedClasses) {
+			reader.includeProperty(clazz);
+		}
+	}
+
 	private boolean closeWhenDone() {
 		return in == null && reader == null;
 	}
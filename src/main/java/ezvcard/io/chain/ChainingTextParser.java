@@ -4,9 +4,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.concurrent.ExecutorService;
 
 import ezvcard.Ezvcard;
 import ezvcard.io.StreamReader;
+import ezvcard.io.text.ParallelVCardReader;
 import ezvcard.io.text.VCardReader;
 
 /*
@@ -43,6 +45,7 @@ import ezvcard.io.text.VCardReader;
  */
 public class ChainingTextParser<T extends ChainingTextParser<?>> extends ChainingParser<T> {
 	private boolean caretDecoding = true;
+	private ExecutorService executor;
 
 	public ChainingTextParser(String string) {
 		super(string);
@@ -74,13 +77,46 @@ public class ChainingTextParser<T extends ChainingTextParser<?>> extends Chainin
 		return this_;
 	}
 
+	/**
+	 * Parses the vCards in parallel, using the given executor service. The
+	 * vCards are returned in the order in which they appear in the data stream.
+	 * The executor service is not shut down when parsing completes.
+	 * @param executor the executor service or null to parse the vCards on the
+	 * calling thread (default)
+	 * @return this
+	 * @see ParallelVCardReader
+	 */
+	public T parallel(ExecutorService executor) {
+		this.executor = executor;
+		return this_;
+	}
+
 	@Override
 	StreamReader constructReader() throws IOException {
+		if (executor != null) {
+			ParallelVCardReader reader = newParallelReader();
+			reader.setCaretDecodingEnabled(caretDecoding);
+			return reader;
+		}
+
 		VCardReader reader = newReader();
 		reader.setCaretDecodingEnabled(caretDecoding);
 		return reader;
 	}
 
+	private ParallelVCardReader newParallelReader() throws IOException {
+		if (string != null) {
+			return new ParallelVCardReader(string, executor);
+		}
+		if (in != null) {
+			return new ParallelVCardReader(in, executor);
+		}
+		if (reader != null) {
+			return new ParallelVCardReader(reader, executor);
+		}
+		return new ParallelVCardReader(file, executor);
+	}
+
 	private VCardReader newReader() throws IOException {
 		if (string != null) {
 			return new VCardReader(string);
@@ -3,7 +3,10 @@ package ezvcard.io.html;
 import static ezvcard.util.StringUtils.NEWLINE;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.jsoup.nodes.Element;
@@ -12,6 +15,7 @@ import org.jsoup.nodes.TextNode;
 import org.jsoup.select.Elements;
 
 import ezvcard.util.HtmlUtils;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -49,6 +53,12 @@ import ezvcard.util.HtmlUtils;
 public class HCardElement {
 	private final Element element;
 
+	/**
+	 * The descendant elements of {@link #element} (including itself), indexed
+	 * by lower-case CSS class name. Built the first time it is needed.
+	 */
+	private Map<String, List<Element>> elementsByClass;
+
 	/**
 	 * Creates an hCard element.
 	 * @param element the HTML element to wrap
@@ -121,8 +131,8 @@ public class HCardElement {
 	 * @return the hCard value or null if not found
 	 */
 	public String firstValue(String cssClass) {
-		Elements elements = element.getElementsByClass(cssClass);
-		return elements.isEmpty() ? null : value(elements.first());
+		List<Element> elements = getElementsByClass(cssClass);
+		return elements.isEmpty() ? null : value(elements.get(0));
 	}
 
 	/**
@@ -132,7 +142,7 @@ public class HCardElement {
 	 * @return the hCard values
 	 */
 	public List<String> allValues(String cssClass) {
-		Elements elements = element.getElementsByClass(cssClass);
+		List<Element> elements = getElementsByClass(cssClass);
 		List<String> values = new ArrayList<String>(elements.size());
 		for (Element element : elements) {
 			values.add(value(element));
@@ -193,18 +203,15 @@ public class HCardElement {
 		}
 
 		StringBuilder value = new StringBuilder();
-		Elements valueElements = element.getElementsByClass("value");
+
+		//ignore "value" elements that are descendants of other "value" elements
+		Elements valueElements = HtmlUtils.getOutermostElementsByClass(element, "value");
 		if (valueElements.isEmpty()) {
 			//get the text content of all child nodes except "type" elements
 			visitForValue(element, value);
 		} else {
 			//append together all children whose CSS class is "value"
 			for (Element valueElement : valueElements) {
-				if (HtmlUtils.isChildOf(valueElement, valueElements)) {
-					//ignore "value" elements that are descendants of other "value" elements
-					continue;
-				}
-
 				if ("abbr".equals(valueElement.tagName())) {
 					String title = valueElement.attr("title");
 					if (title.length() > 0) {
@@ -218,6 +225,56 @@ public class HCardElement {
 		return value.toString().trim();
 	}
 
+	/**
+	 * Gets the elements that have the given CSS class. The wrapped element and
+	 * all of its descendants are searched.
+	 * @param cssClass the CSS class (case insensitive)
+	 * @return the elements, in document order
+	 */
+	private List<Element> getElementsByClass(String cssClass) {
+		if (elementsByClass == null) {
+			elementsByClass = indexByClass(element);
+		}
+
+		List<Element> elements = elementsByClass.get(StringUtils.caseInsensitiveKey(cssClass));
+		return (elements == null) ? Collections.<Element> emptyList() : elements;
+	}
+
+	/**
+	 * Indexes an element and all of its descendants by CSS class name in a
+	 * single pass.
+	 * @param root the root element
+	 * @return the index (keys are case-folded CSS class names, values are in
+	 * document order)
+	 */
+	private static Map<String, List<Element>> indexByClass(Element root) {
+		Map<String, List<Element>> index = new HashMap<String, List<Element>>();
+		List<Element> stack = new ArrayList<Element>();
+		stack.add(root);
+		while (!stack.isEmpty()) {
+			Element element = stack.remove(stack.size() - 1);
+
+			for (String className : element.classNames()) {
+				className = StringUtils.caseInsensitiveKey(className);
+				List<Element> elements = index.get(className);
+				if (elements == null) {
+					elements = new ArrayList<Element>(1);
+					index.put(className, elements);
+				} else if (elements.get(elements.size() - 1) == element) {
+					//the element has the same class name more than once
+					continue;
+				}
+				elements.add(element);
+			}
+
+			Elements children = element.children();
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack.add(children.get(i));
+			}
+		}
+		return index;
+	}
+
 	private void visitForValue(Element element, StringBuilder value) {
 		for (Node node : element.childNodes()) {
 			if (node instanceof Element) {
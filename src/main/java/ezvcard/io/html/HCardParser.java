@@ -1,6 +1,6 @@
 package ezvcard.io.html;
 
-import static ezvcard.util.HtmlUtils.isChildOf;
+import static ezvcard.util.HtmlUtils.getOutermostElementsByClass;
 
 import java.io.File;
 import java.io.IOException;
@@ -82,6 +82,7 @@ import ezvcard.util.IOUtils;
  * List&lt;VCard&gt; vcards = parser.parseAll();
  * </pre>
  * @author Michael Angstadt
+ * @see HCardStreamParser
  * @see <a href="http://microformats.org/wiki/hcard">http://microformats.org/
  * wiki/hcard</a>
  */
@@ -92,7 +93,6 @@ public class HCardParser extends StreamReader {
 	private final List<Label> labels = new ArrayList<Label>();
 
 	private VCard vcard;
-	private Elements embeddedVCards = new Elements();
 	private Nickname nickname;
 	private Categories categories;
 
@@ -223,26 +223,19 @@ public class HCardParser extends StreamReader {
 			searchUnder = document;
 		}
 
-		vcardElements = searchUnder.getElementsByClass("vcard");
-
-		//remove nested vcard elements
-		Iterator<Element> it = vcardElements.iterator();
-		while (it.hasNext()) {
-			Element element = it.next();
-			if (isChildOf(element, vcardElements)) {
-				it.remove();
-			}
-		}
+		//nested vcard elements are not included
+		vcardElements = getOutermostElementsByClass(searchUnder, "vcard");
 
 		vcardElementsIt = vcardElements.iterator();
 	}
 
 	/**
-	 * Constructor for reading embedded vCards.
-	 * @param embeddedVCard the HTML element of the embedded vCard
+	 * Constructor for reading a single hCard element (such as an embedded
+	 * vCard).
+	 * @param embeddedVCard the HTML element of the vCard
 	 * @param pageUrl the original URL of the HTML page
 	 */
-	private HCardParser(Element embeddedVCard, String pageUrl) {
+	HCardParser(Element embeddedVCard, String pageUrl) {
 		this.pageUrl = pageUrl;
 		vcardElements = new Elements(embeddedVCard);
 		vcardElementsIt = vcardElements.iterator();
@@ -299,11 +292,11 @@ public class HCardParser extends StreamReader {
 			if (urlPropertyName.equals(className)) {
 				String href = element.attr("href");
 				if (href.length() > 0) {
-					if (!classNames.contains(emailName) && href.matches("(?i)mailto:.*")) {
+					if (!classNames.contains(emailName) && hasScheme(href, "mailto:")) {
 						className = emailName;
-					} else if (!classNames.contains(telName) && href.matches("(?i)tel:.*")) {
+					} else if (!classNames.contains(telName) && hasScheme(href, "tel:")) {
 						className = telName;
-					} else {
+					} else if (isPropertyIncluded(index.getPropertyScribe(Impp.class).getPropertyName())) {
 						//try parsing as IMPP
 						VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(Impp.class);
 
@@ -328,6 +321,10 @@ public class HCardParser extends StreamReader {
 				className = categoriesName;
 			}
 
+			if (!isPropertyIncluded(className)) {
+				continue;
+			}
+
 			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(className);
 			if (scribe == null) {
 				//if no scribe is found, and the class name doesn't start with "x-", then it must be an arbitrary CSS class that has nothing to do with vCard
@@ -392,15 +389,15 @@ public class HCardParser extends StreamReader {
 
 				property = new RawProperty(className, element.outerHtml());
 			} catch (EmbeddedVCardException e) {
-				if (isChildOf(element, embeddedVCards)) {
-					//prevents multiple-nested embedded elements from overwriting each other
-					continue;
-				}
-
+				/*
+				 * The children of an embedded vCard's element are not visited
+				 * (they are parsed by the embedded reader), so multiple-nested
+				 * embedded elements cannot overwrite each other.
+				 */
 				property = e.getProperty();
 
-				embeddedVCards.add(element);
 				HCardParser embeddedReader = new HCardParser(element, pageUrl);
+				embeddedReader.setWarningCollectionEnabled(isWarningCollectionEnabled());
 				try {
 					VCard embeddedVCard = embeddedReader.readNext();
 					e.injectVCard(embeddedVCard);
@@ -421,6 +418,16 @@ public class HCardParser extends StreamReader {
 		}
 	}
 
+	/**
+	 * Determines if a URL starts with the given scheme.
+	 * @param url the URL
+	 * @param scheme the scheme, including the colon (e.g. "mailto:")
+	 * @return true if it does, false if not (case insensitive)
+	 */
+	private static boolean hasScheme(String url, String scheme) {
+		return url.regionMatches(true, 0, scheme, 0, scheme.length());
+	}
+
 	public void close() {
 		//empty
 	}
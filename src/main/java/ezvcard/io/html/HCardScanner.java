@@ -0,0 +1,690 @@
+package ezvcard.io.html;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.Tag;
+import org.jsoup.select.Elements;
+
+import ezvcard.util.HtmlUtils;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Tokenizes an HTML page incrementally and returns each hCard root element
+ * (elements whose CSS class is "vcard") as soon as it is closed. Only the
+ * markup of the hCard currently being read is held in memory. Everything else
+ * is discarded as it is read, except for the names of the currently open
+ * elements.
+ * </p>
+ * <p>
+ * The HTML of each hCard is handed to jsoup's fragment parser, so the returned
+ * elements are the same as those jsoup produces when parsing the whole page,
+ * with the exception of some uncommon error recovery rules (for example,
+ * relocating misnested table content).
+ * </p>
+ * @author Michael Angstadt
+ */
+class HCardScanner implements Closeable {
+	private static final String ROOT_CLASS = "vcard";
+
+	//@formatter:off
+	private static final Set<String> voidElements = set(
+		"area", "base", "basefont", "bgsound", "br", "col", "command", "embed", "frame", "hr", "img", "input",
+		"keygen", "link", "meta", "param", "source", "track", "wbr"
+	);
+	private static final Set<String> rawTextElements = set(
+		"iframe", "noembed", "noframes", "plaintext", "script", "style", "textarea", "title", "xmp"
+	);
+	private static final Set<String> closesParagraph = set(
+		"address", "article", "aside", "blockquote", "center", "details", "dialog", "dir", "div", "dl", "dd", "dt",
+		"fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hgroup",
+		"hr", "li", "listing", "main", "menu", "nav", "ol", "p", "pre", "section", "summary", "table", "ul"
+	);
+	private static final Set<String> paragraphScope = set(
+		"applet", "button", "caption", "html", "marquee", "object", "table", "td", "th"
+	);
+	private static final Set<String> li = set("li");
+	private static final Set<String> liScope = set("ol", "ul");
+	private static final Set<String> ddDt = set("dd", "dt");
+	private static final Set<String> ddDtScope = set("dl");
+	private static final Set<String> tr = set("tr");
+	private static final Set<String> tdTh = set("td", "th");
+	private static final Set<String> tdThScope = set("tr", "table");
+	private static final Set<String> tableSections = set("tbody", "thead", "tfoot");
+	private static final Set<String> tableScope = set("table");
+	private static final Set<String> option = set("option");
+	private static final Set<String> optionScope = set("datalist", "optgroup", "select");
+	private static final Set<String> p = set("p");
+	//@formatter:on
+
+	private final Reader reader;
+	private final char[] buffer = new char[8192];
+	private int bufferPos, bufferLen;
+	private int pushback = -1;
+	private int lastRead = -1;
+
+	private final String pageUrl;
+	private String baseUri;
+	private boolean baseTagFound = false;
+
+	/**
+	 * The names of the currently open elements.
+	 */
+	private final List<String> stack = new ArrayList<String>();
+
+	/**
+	 * The position of the hCard root element in {@link #stack} or -1 if an
+	 * hCard is not currently being read.
+	 */
+	private int rootDepth = -1;
+
+	/**
+	 * The raw HTML of the hCard that is currently being read.
+	 */
+	private final StringBuilder html = new StringBuilder();
+
+	/**
+	 * The raw text of the markup construct currently being read (tag, comment,
+	 * etc).
+	 */
+	private final StringBuilder markup = new StringBuilder();
+
+	/**
+	 * The hCard elements that have been closed, but not yet returned.
+	 */
+	private final LinkedList<Element> ready = new LinkedList<Element>();
+
+	/**
+	 * @param reader the HTML page
+	 * @param pageUrl the original URL of the HTML page (used to resolve
+	 * relative links) or null if unknown
+	 */
+	public HCardScanner(Reader reader, String pageUrl) {
+		this.reader = reader;
+		this.pageUrl = pageUrl;
+		baseUri = (pageUrl == null) ? "" : pageUrl;
+	}
+
+	/**
+	 * Reads the next hCard root element from the HTML page. Nested hCard
+	 * elements are returned as part of their outermost hCard element.
+	 * @return the element or null if the end of the page has been reached
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	public Element next() throws IOException {
+		while (ready.isEmpty()) {
+			int c = read();
+			if (c < 0) {
+				if (rootDepth >= 0) {
+					//the end of the page implicitly closes all open elements
+					finishRoot();
+					stack.clear();
+					continue;
+				}
+				return null;
+			}
+
+			if (c == '<') {
+				readMarkup();
+				continue;
+			}
+
+			if (rootDepth >= 0) {
+				html.append((char) c);
+			}
+		}
+
+		return ready.removeFirst();
+	}
+
+	/**
+	 * Reads the markup that follows a "&lt;" character.
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private void readMarkup() throws IOException {
+		markup.setLength(0);
+		markup.append('<');
+
+		int c = read();
+		if (c == '!') {
+			markup.append('!');
+			if (readIf('-') && readIf('-')) {
+				readComment();
+			} else {
+				//DOCTYPE, CDATA, or a bogus comment
+				readUntil('>');
+			}
+			appendMarkup();
+			return;
+		}
+
+		if (c == '?') {
+			//bogus comment
+			markup.append('?');
+			readUntil('>');
+			appendMarkup();
+			return;
+		}
+
+		if (c == '/') {
+			markup.append('/');
+			c = read();
+			if (!isAsciiLetter(c)) {
+				//bogus comment
+				unread(c);
+				readUntil('>');
+				appendMarkup();
+				return;
+			}
+
+			unread(c);
+			String name = readTagName();
+			readUntil('>');
+			endTag(name);
+			return;
+		}
+
+		if (isAsciiLetter(c)) {
+			unread(c);
+			String name = readTagName();
+			boolean selfClosing = readStartTagRemainder();
+			startTag(name, selfClosing);
+			return;
+		}
+
+		//not markup
+		unread(c);
+		appendMarkup();
+	}
+
+	/**
+	 * Processes a start tag. The raw text of the tag is in {@link #markup}.
+	 * @param name the tag name (lower case)
+	 * @param selfClosing true if the tag ends with "/&gt;", false if not
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private void startTag(String name, boolean selfClosing) throws IOException {
+		closeImpliedElements(name);
+
+		if (rootDepth < 0) {
+			if ("base".equals(name) && !baseTagFound) {
+				String href = getAttribute("href");
+				if (href != null) {
+					baseTagFound = true;
+					baseUri = resolve(href);
+				}
+			}
+
+			String classes = getAttribute("class");
+			if (classes != null && hasRootClass(classes)) {
+				rootDepth = stack.size();
+				html.setLength(0);
+			}
+		}
+
+		appendMarkup();
+
+		boolean empty = voidElements.contains(name) || (selfClosing && !Tag.isKnownTag(name));
+		if (empty) {
+			if (rootDepth == stack.size()) {
+				finishRoot();
+			}
+			return;
+		}
+
+		stack.add(name);
+
+		if (rawTextElements.contains(name)) {
+			readRawText(name);
+		}
+	}
+
+	/**
+	 * Processes an end tag. The raw text of the tag is in {@link #markup}.
+	 * @param name the tag name (lower case)
+	 */
+	private void endTag(String name) {
+		int index = stack.lastIndexOf(name);
+		if (index < 0) {
+			//stray end tag, ignore
+			appendMarkup();
+			return;
+		}
+
+		if (index >= rootDepth) {
+			appendMarkup();
+		}
+		pop(index);
+	}
+
+	/**
+	 * Closes any open elements that are implicitly closed by the given start
+	 * tag (for example, a "li" start tag closes the previous "li" element).
+	 * @param name the name of the start tag
+	 */
+	private void closeImpliedElements(String name) {
+		if (li.contains(name)) {
+			closeImplied(li, liScope);
+		} else if (ddDt.contains(name)) {
+			closeImplied(ddDt, ddDtScope);
+		} else if (tr.contains(name)) {
+			closeImplied(tr, tableScope);
+		} else if (tdTh.contains(name)) {
+			closeImplied(tdTh, tdThScope);
+		} else if (tableSections.contains(name)) {
+			closeImplied(tableSections, tableScope);
+		} else if (option.contains(name)) {
+			closeImplied(option, optionScope);
+		}
+
+		if (closesParagraph.contains(name)) {
+			closeImplied(p, paragraphScope);
+		}
+	}
+
+	/**
+	 * Closes the nearest open element with one of the given names.
+	 * @param targets the names of the elements to close
+	 * @param boundaries the names of the elements that stop the search
+	 */
+	private void closeImplied(Set<String> targets, Set<String> boundaries) {
+		for (int i = stack.size() - 1; i >= 0; i--) {
+			String name = stack.get(i);
+			if (targets.contains(name)) {
+				pop(i);
+				return;
+			}
+			if (boundaries.contains(name)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Closes the open element at the given position, along with all elements
+	 * that are inside of it.
+	 * @param index the position of the element in {@link #stack}
+	 */
+	private void pop(int index) {
+		if (rootDepth >= 0 && index <= rootDepth) {
+			finishRoot();
+		}
+
+		for (int i = stack.size() - 1; i >= index; i--) {
+			stack.remove(i);
+		}
+	}
+
+	/**
+	 * Parses the HTML of the hCard that was just closed and queues it up to be
+	 * returned.
+	 */
+	private void finishRoot() {
+		String parentName = (rootDepth == 0) ? "body" : stack.get(rootDepth - 1);
+		if ("html".equals(parentName) || "head".equals(parentName)) {
+			parentName = "body";
+		}
+		rootDepth = -1;
+
+		Element context = new Element(parentName);
+		List<Node> nodes = Parser.parseFragment(html.toString(), context, baseUri);
+		html.setLength(0);
+
+		for (Node node : nodes) {
+			if (!(node instanceof Element)) {
+				continue;
+			}
+
+			Elements roots = HtmlUtils.getOutermostElementsByClass((Element) node, ROOT_CLASS);
+			ready.addAll(roots);
+			if (!roots.isEmpty()) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Reads the contents of a raw text element (such as "script"), including
+	 * its end tag.
+	 * @param name the element name
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private void readRawText(String name) throws IOException {
+		String endTag = "</" + name;
+		int matched = 0;
+		while (true) {
+			int c = read();
+			if (c < 0) {
+				return;
+			}
+
+			if (rootDepth >= 0) {
+				html.append((char) c);
+			}
+
+			if (matched < endTag.length()) {
+				matched = (Character.toLowerCase((char) c) == endTag.charAt(matched)) ? matched + 1 : ((c == '<') ? 1 : 0);
+				continue;
+			}
+
+			if (c == '>' || c == '/' || Character.isWhitespace(c)) {
+				break;
+			}
+			matched = (c == '<') ? 1 : 0;
+		}
+
+		if (rootDepth >= 0) {
+			//the end tag is appended by endTag()
+			html.setLength(html.length() - endTag.length() - 1);
+		}
+
+		markup.setLength(0);
+		markup.append(endTag);
+		markup.append((char) lastRead);
+		if (lastRead != '>') {
+			readUntil('>');
+		}
+		endTag(name);
+	}
+
+	/**
+	 * Reads the rest of a comment, after the "&lt;!--".
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private void readComment() throws IOException {
+		int dashes = 0;
+		while (true) {
+			int c = read();
+			if (c < 0) {
+				return;
+			}
+
+			markup.append((char) c);
+			if (c == '>' && dashes >= 2) {
+				return;
+			}
+			dashes = (c == '-') ? dashes + 1 : 0;
+		}
+	}
+
+	/**
+	 * Reads a tag name.
+	 * @return the tag name (lower case)
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private String readTagName() throws IOException {
+		int start = markup.length();
+		while (true) {
+			int c = read();
+			if (c < 0 || c == '>' || c == '/' || Character.isWhitespace(c)) {
+				unread(c);
+				break;
+			}
+			markup.append((char) c);
+		}
+		return markup.substring(start).toLowerCase();
+	}
+
+	/**
+	 * Reads the attributes of a start tag, up to and including the closing
+	 * "&gt;" character.
+	 * @return true if the tag is self-closing ("/&gt;"), false if not
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private boolean readStartTagRemainder() throws IOException {
+		char quote = 0;
+		char lastNonSpace = 0;
+		while (true) {
+			int c = read();
+			if (c < 0) {
+				return false;
+			}
+
+			char ch = (char) c;
+			markup.append(ch);
+
+			if (quote != 0) {
+				if (ch == quote) {
+					quote = 0;
+					lastNonSpace = ch;
+				}
+				continue;
+			}
+
+			if (ch == '>') {
+				return lastNonSpace == '/';
+			}
+
+			if ((ch == '"' || ch == '\'') && lastNonSpace == '=') {
+				quote = ch;
+				continue;
+			}
+
+			if (!Character.isWhitespace(ch)) {
+				lastNonSpace = ch;
+			}
+		}
+	}
+
+	/**
+	 * Reads characters into {@link #markup} until the given character is
+	 * reached (inclusive).
+	 * @param end the character to stop at
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private void readUntil(char end) throws IOException {
+		while (true) {
+			int c = read();
+			if (c < 0) {
+				return;
+			}
+
+			markup.append((char) c);
+			if (c == end) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Reads the next character if it matches the given character.
+	 * @param expected the expected character
+	 * @return true if it matched, false if not
+	 * @throws IOException if there's a problem reading from the page
+	 */
+	private boolean readIf(char expected) throws IOException {
+		int c = read();
+		if (c == expected) {
+			markup.append(expected);
+			return true;
+		}
+		unread(c);
+		return false;
+	}
+
+	/**
+	 * Gets the value of an attribute from the start tag in {@link #markup}.
+	 * @param name the attribute name (lower case)
+	 * @return the attribute value (with character references decoded) or null
+	 * if not found
+	 */
+	private String getAttribute(String name) {
+		int length = markup.length();
+		int i = 1;
+
+		//skip the tag name
+		while (i < length && !isAttributeDelimiter(markup.charAt(i))) {
+			i++;
+		}
+
+		while (i < length) {
+			char c = markup.charAt(i);
+			if (Character.isWhitespace(c) || c == '/' || c == '>') {
+				i++;
+				continue;
+			}
+
+			//attribute name
+			int nameStart = i++;
+			while (i < length && !isAttributeDelimiter(markup.charAt(i)) && markup.charAt(i) != '=') {
+				i++;
+			}
+			int nameEnd = i;
+
+			while (i < length && Character.isWhitespace(markup.charAt(i))) {
+				i++;
+			}
+
+			String value = "";
+			if (i < length && markup.charAt(i) == '=') {
+				i++;
+				while (i < length && Character.isWhitespace(markup.charAt(i))) {
+					i++;
+				}
+
+				if (i < length && (markup.charAt(i) == '"' || markup.charAt(i) == '\'')) {
+					char quote = markup.charAt(i++);
+					int valueStart = i;
+					while (i < length && markup.charAt(i) != quote) {
+						i++;
+					}
+					value = markup.substring(valueStart, i);
+					i++;
+				} else {
+					int valueStart = i;
+					while (i < length && !Character.isWhitespace(markup.charAt(i)) && markup.charAt(i) != '>') {
+						i++;
+					}
+					value = markup.substring(valueStart, i);
+				}
+			}
+
+			if (nameEnd - nameStart == name.length() && markup.substring(nameStart, nameEnd).equalsIgnoreCase(name)) {
+				return Parser.unescapeEntities(value, true);
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isAttributeDelimiter(char c) {
+		return Character.isWhitespace(c) || c == '/' || c == '>';
+	}
+
+	/**
+	 * Appends the contents of {@link #markup} to the HTML of the hCard that is
+	 * currently being read, if any.
+	 */
+	private void appendMarkup() {
+		if (rootDepth >= 0) {
+			html.append(markup);
+		}
+	}
+
+	/**
+	 * Determines if a "class" attribute value contains the hCard root class.
+	 * @param classes the attribute value
+	 * @return true if it does, false if not
+	 */
+	private static boolean hasRootClass(String classes) {
+		for (String className : classes.split("\\s+")) {
+			if (ROOT_CLASS.equalsIgnoreCase(className)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Resolves the URL of a "base" tag against the page URL.
+	 * @param href the "base" tag's URL
+	 * @return the resolved URL
+	 */
+	private String resolve(String href) {
+		try {
+			return (pageUrl == null) ? new URL(href).toExternalForm() : new URL(new URL(pageUrl), href).toExternalForm();
+		} catch (MalformedURLException e) {
+			return baseUri;
+		}
+	}
+
+	private static boolean isAsciiLetter(int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private int read() throws IOException {
+		if (pushback >= 0) {
+			lastRead = pushback;
+			pushback = -1;
+			return lastRead;
+		}
+
+		if (bufferPos == bufferLen) {
+			bufferLen = reader.read(buffer);
+			bufferPos = 0;
+			if (bufferLen <= 0) {
+				bufferLen = 0;
+				lastRead = -1;
+				return -1;
+			}
+		}
+
+		lastRead = buffer[bufferPos++];
+		return lastRead;
+	}
+
+	private void unread(int c) {
+		if (c >= 0) {
+			pushback = c;
+		}
+	}
+
+	private static Set<String> set(String... values) {
+		return new HashSet<String>(Arrays.asList(values));
+	}
+
+	public void close() throws IOException {
+		reader.close();
+	}
+}
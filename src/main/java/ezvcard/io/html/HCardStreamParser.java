@@ -0,0 +1,174 @@
+package ezvcard.io.html;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import org.jsoup.nodes.Element;
+
+import ezvcard.VCard;
+import ezvcard.io.StreamReader;
+import ezvcard.util.Utf8Reader;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Parses {@link VCard} objects from an HTML page (hCard format) without
+ * loading the entire page into memory. The page is tokenized as it is read,
+ * and each vCard is returned as soon as the end of its hCard element is
+ * reached. Only the HTML of one hCard is held in memory at a time, making this
+ * class suitable for very large pages.
+ * </p>
+ * <p>
+ * The vCards are parsed in the same way as {@link HCardParser}, with the
+ * following differences:
+ * </p>
+ * <ul>
+ * <li>If the page URL contains an anchor, it is ignored. All of the hCards on
+ * the page are read.</li>
+ * <li>When reading from an {@link InputStream} or {@link File}, the page is
+ * assumed to be UTF-8 encoded (the character encoding is not detected from
+ * the page's "meta" tags).</li>
+ * </ul>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * Reader reader = ...
+ * HCardStreamParser parser = new HCardStreamParser(reader, "http://example.com");
+ * try {
+ *   VCard vcard;
+ *   while ((vcard = parser.readNext()) != null) {
+ *     //...
+ *   }
+ * } finally {
+ *   parser.close();
+ * }
+ * </pre>
+ * @author Michael Angstadt
+ * @see <a href="http://microformats.org/wiki/hcard">http://microformats.org/
+ * wiki/hcard</a>
+ */
+public class HCardStreamParser extends StreamReader {
+	private final HCardScanner scanner;
+	private final String pageUrl;
+
+	/**
+	 * @param in the input stream to the HTML page (UTF-8)
+	 */
+	public HCardStreamParser(InputStream in) {
+		this(in, null);
+	}
+
+	/**
+	 * @param in the input stream to the HTML page (UTF-8)
+	 * @param pageUrl the original URL of the HTML page (used to resolve
+	 * relative links)
+	 */
+	public HCardStreamParser(InputStream in, String pageUrl) {
+		this(new Utf8Reader(in), pageUrl);
+	}
+
+	/**
+	 * @param file the HTML file (UTF-8)
+	 * @throws FileNotFoundException if the file doesn't exist
+	 */
+	public HCardStreamParser(File file) throws FileNotFoundException {
+		this(file, null);
+	}
+
+	/**
+	 * @param file the HTML file (UTF-8)
+	 * @param pageUrl the original URL of the HTML page (used to resolve
+	 * relative links)
+	 * @throws FileNotFoundException if the file doesn't exist
+	 */
+	public HCardStreamParser(File file, String pageUrl) throws FileNotFoundException {
+		this(new Utf8Reader(file), pageUrl);
+	}
+
+	/**
+	 * @param reader the reader to the HTML page
+	 */
+	public HCardStreamParser(Reader reader) {
+		this(reader, null);
+	}
+
+	/**
+	 * @param reader the reader to the HTML page
+	 * @param pageUrl the original URL of the HTML page (used to resolve
+	 * relative links)
+	 */
+	public HCardStreamParser(Reader reader, String pageUrl) {
+		scanner = new HCardScanner(reader, pageUrl);
+		this.pageUrl = pageUrl;
+	}
+
+	@Override
+	protected VCard _readNext() throws IOException {
+		Element vcardElement = scanner.next();
+		if (vcardElement == null) {
+			return null;
+		}
+
+		ElementParser parser = new ElementParser(vcardElement);
+		parser.setScribeIndex(index);
+		parser.setWarningCollectionEnabled(isWarningCollectionEnabled());
+		VCard vcard = parser.readNext();
+		warnings.addAll(parser.getWarnings());
+		return vcard;
+	}
+
+	/**
+	 * Closes the underlying input stream.
+	 */
+	public void close() throws IOException {
+		scanner.close();
+	}
+
+	/**
+	 * Parses a single hCard element, applying the property filter of the
+	 * enclosing stream parser.
+	 */
+	private class ElementParser extends HCardParser {
+		public ElementParser(Element vcardElement) {
+			super(vcardElement, pageUrl);
+		}
+
+		@Override
+		protected boolean isPropertyIncluded(String propertyName) {
+			return HCardStreamParser.this.isPropertyIncluded(propertyName);
+		}
+	}
+}
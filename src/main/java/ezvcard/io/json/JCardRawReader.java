@@ -2,11 +2,13 @@ package ezvcard.io.json;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
@@ -47,17 +49,32 @@ import ezvcard.parameter.VCardParameters;
  * @see <a href="http://tools.ietf.org/html/rfc7095">RFC 7095</a>
  */
 public class JCardRawReader implements Closeable {
+	private static final JsonFactory defaultJsonFactory = new JsonFactory();
+
 	private final Reader reader;
+	private final InputStream in;
+	private JsonFactory jsonFactory;
 	private JsonParser parser;
 	private boolean eof = false;
 	private JCardDataStreamListener listener;
 	private boolean strict = false;
+	private Set<String> includedProperties;
 
 	/**
 	 * @param reader the reader to wrap
 	 */
 	public JCardRawReader(Reader reader) {
 		this.reader = reader;
+		this.in = null;
+	}
+
+	/**
+	 * @param in the input stream to wrap (the raw bytes are passed directly to
+	 * the JSON parser, which detects the character encoding)
+	 */
+	public JCardRawReader(InputStream in) {
+		this.reader = null;
+		this.in = in;
 	}
 
 	/**
@@ -70,10 +87,43 @@ public class JCardRawReader implements Closeable {
 	 */
 	public JCardRawReader(JsonParser parser, boolean strict) {
 		reader = null;
+		in = null;
 		this.parser = parser;
 		this.strict = strict;
 	}
 
+	/**
+	 * Gets the factory that is used to create the JSON parser.
+	 * @return the JSON factory or null if the shared, default factory is
+	 * being used
+	 */
+	public JsonFactory getJsonFactory() {
+		return jsonFactory;
+	}
+
+	/**
+	 * Sets the factory that is used to create the JSON parser. By default, a
+	 * factory that is shared by all instances of this class is used, which
+	 * avoids the cost of creating a new factory for every reader. This has no
+	 * effect if this object was created with a {@link JsonParser} or if reading
+	 * has already begun.
+	 * @param jsonFactory the JSON factory (cannot be null)
+	 */
+	public void setJsonFactory(JsonFactory jsonFactory) {
+		this.jsonFactory = jsonFactory;
+	}
+
+	/**
+	 * Sets the names of the properties to read. Properties that are not in
+	 * this set will be skipped over and not passed to the listener.
+	 * @param propertyNames the property names (the set's
+	 * {@link Set#contains contains} method must be case-insensitive) or null
+	 * to read all properties (default)
+	 */
+	public void setIncludedProperties(Set<String> propertyNames) {
+		this.includedProperties = propertyNames;
+	}
+
 	/**
 	 * Gets the current line number.
 	 * @return the line number
@@ -92,8 +142,8 @@ public class JCardRawReader implements Closeable {
 	 */
 	public void readNext(JCardDataStreamListener listener) throws IOException {
 		if (parser == null) {
-			JsonFactory factory = new JsonFactory();
-			parser = factory.createParser(reader);
+			JsonFactory factory = (jsonFactory == null) ? defaultJsonFactory : jsonFactory;
+			parser = (in == null) ? factory.createParser(reader) : factory.createParser(in);
 		} else if (parser.isClosed()) {
 			return;
 		}
@@ -153,6 +203,10 @@ public class JCardRawReader implements Closeable {
 		//get property name
 		checkCurrent(JsonToken.VALUE_STRING);
 		String propertyName = parser.getValueAsString().toLowerCase();
+		if (includedProperties != null && !includedProperties.contains(propertyName)) {
+			skipProperty();
+			return;
+		}
 
 		//get parameters
 		VCardParameters parameters = parseParameters();
@@ -173,6 +227,20 @@ public class JCardRawReader implements Closeable {
 		listener.readProperty(group, propertyName, parameters, dataType, value);
 	}
 
+	/**
+	 * Advances the parser to the end of the current property array.
+	 * @throws IOException if there's a problem reading from the input stream
+	 */
+	private void skipProperty() throws IOException {
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			if (token == null) {
+				throw new JCardParseException(JsonToken.END_ARRAY, null);
+			}
+			parser.skipChildren();
+		}
+	}
+
 	private VCardParameters parseParameters() throws IOException {
 		checkNext(JsonToken.START_OBJECT);
 
@@ -310,5 +378,8 @@ public class JCardRawReader implements Closeable {
 		if (reader != null) {
 			reader.close();
 		}
+		if (in != null) {
+			in.close();
+		}
 	}
 }
@@ -3,10 +3,12 @@ package ezvcard.io.json;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerator.Feature;
@@ -49,7 +51,11 @@ import ezvcard.parameter.VCardParameters;
  * @see <a href="http://tools.ietf.org/html/rfc7095">RFC 7095</a>
  */
 public class JCardRawWriter implements Closeable, Flushable {
+	private static final JsonFactory defaultJsonFactory = new JsonFactory();
+
 	private final Writer writer;
+	private final OutputStream out;
+	private JsonFactory jsonFactory;
 	private final boolean wrapInArray;
 	private JsonGenerator generator;
 	private boolean prettyPrint = false;
@@ -64,6 +70,19 @@ public class JCardRawWriter implements Closeable, Flushable {
 	 */
 	public JCardRawWriter(Writer writer, boolean wrapInArray) {
 		this.writer = writer;
+		this.out = null;
+		this.wrapInArray = wrapInArray;
+	}
+
+	/**
+	 * @param out the output stream to wrap (the JSON generator encodes the
+	 * characters directly into UTF-8 bytes)
+	 * @param wrapInArray true to wrap everything in an array, false not to
+	 * (useful when writing more than one vCard)
+	 */
+	public JCardRawWriter(OutputStream out, boolean wrapInArray) {
+		this.writer = null;
+		this.out = out;
 		this.wrapInArray = wrapInArray;
 	}
 
@@ -72,11 +91,33 @@ public class JCardRawWriter implements Closeable, Flushable {
 	 */
 	public JCardRawWriter(JsonGenerator generator) {
 		this.writer = null;
+		this.out = null;
 		this.generator = generator;
 		this.closeGenerator = false;
 		this.wrapInArray = false;
 	}
 
+	/**
+	 * Gets the factory that is used to create the JSON generator.
+	 * @return the JSON factory or null if the shared, default factory is
+	 * being used
+	 */
+	public JsonFactory getJsonFactory() {
+		return jsonFactory;
+	}
+
+	/**
+	 * Sets the factory that is used to create the JSON generator. By default,
+	 * a factory that is shared by all instances of this class is used, which
+	 * avoids the cost of creating a new factory for every writer. This has no
+	 * effect if this object was created with a {@link JsonGenerator} or if
+	 * writing has already begun.
+	 * @param jsonFactory the JSON factory (cannot be null)
+	 */
+	public void setJsonFactory(JsonFactory jsonFactory) {
+		this.jsonFactory = jsonFactory;
+	}
+
 	/**
 	 * Gets whether or not the JSON will be pretty-printed.
 	 * @return true if it will be pretty-printed, false if not (defaults to
@@ -325,12 +366,15 @@ public class JCardRawWriter implements Closeable, Flushable {
 		if (writer != null) {
 			writer.close();
 		}
+		if (out != null) {
+			out.close();
+		}
 	}
 
 	private void init() throws IOException {
-		JsonFactory factory = new JsonFactory();
-		factory.configure(Feature.AUTO_CLOSE_TARGET, false);
-		generator = factory.createGenerator(writer);
+		JsonFactory factory = (jsonFactory == null) ? defaultJsonFactory : jsonFactory;
+		generator = (out == null) ? factory.createGenerator(writer) : factory.createGenerator(out, JsonEncoding.UTF8);
+		generator.disable(Feature.AUTO_CLOSE_TARGET);
 
 		if (prettyPrint) {
 			if (prettyPrinter == null) {
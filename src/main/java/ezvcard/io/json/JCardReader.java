@@ -1,13 +1,15 @@
 package ezvcard.io.json;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Set;
+import java.util.TreeSet;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 
 import ezvcard.VCard;
@@ -23,7 +25,7 @@ import ezvcard.io.scribe.RawPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
-import ezvcard.util.Utf8Reader;
+import ezvcard.util.MappedFileInputStream;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -89,18 +91,21 @@ public class JCardReader extends StreamReader {
 	}
 
 	/**
-	 * @param in the input stream to read from
+	 * @param in the input stream to read from (the raw bytes are handed
+	 * directly to the JSON parser)
 	 */
 	public JCardReader(InputStream in) {
-		this(new Utf8Reader(in));
+		this.reader = new JCardRawReader(in);
 	}
 
 	/**
-	 * @param file the file to read from
+	 * @param file the file to read from (it is memory-mapped and the mapped
+	 * bytes are handed directly to the JSON parser)
 	 * @throws FileNotFoundException if the file doesn't exist
+	 * @see MappedFileInputStream
 	 */
 	public JCardReader(File file) throws FileNotFoundException {
-		this(new BufferedReader(new Utf8Reader(file)));
+		this(new MappedFileInputStream(file));
 	}
 
 	/**
@@ -117,6 +122,26 @@ public class JCardReader extends StreamReader {
 		this.reader = new JCardRawReader(parser, true);
 	}
 
+	/**
+	 * Gets the factory that is used to create the JSON parser.
+	 * @return the JSON factory or null if the shared, default factory is
+	 * being used
+	 */
+	public JsonFactory getJsonFactory() {
+		return reader.getJsonFactory();
+	}
+
+	/**
+	 * Sets the factory that is used to create the JSON parser. By default, a
+	 * shared factory is used, which avoids the cost of creating a new factory
+	 * for every reader. This has no effect if this reader was created with a
+	 * {@link JsonParser} or if reading has already begun.
+	 * @param jsonFactory the JSON factory (cannot be null)
+	 */
+	public void setJsonFactory(JsonFactory jsonFactory) {
+		reader.setJsonFactory(jsonFactory);
+	}
+
 	@Override
 	protected VCard _readNext() throws IOException {
 		if (reader.eof()) {
@@ -125,6 +150,16 @@ public class JCardReader extends StreamReader {
 
 		context.setVersion(VCardVersion.V4_0);
 
+		Set<String> includedProperties = getIncludedPropertyNames();
+		if (includedProperties != null) {
+			//the VERSION property is always needed
+			Set<String> copy = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+			copy.addAll(includedProperties);
+			copy.add("version");
+			includedProperties = copy;
+		}
+		reader.setIncludedProperties(includedProperties);
+
 		JCardDataStreamListenerImpl listener = new JCardDataStreamListenerImpl();
 		reader.readNext(listener);
 		VCard vcard = listener.vcard;
@@ -1,12 +1,14 @@
 package ezvcard.io.json;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.PrettyPrinter;
 
@@ -19,7 +21,6 @@ import ezvcard.io.StreamWriter;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
-import ezvcard.util.Utf8Writer;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -84,7 +85,7 @@ public class JCardWriter extends StreamWriter implements Flushable {
 	 * @param out the output stream to write to (UTF-8 encoding will be used)
 	 */
 	public JCardWriter(OutputStream out) {
-		this(new Utf8Writer(out));
+		this(out, false);
 	}
 
 	/**
@@ -93,7 +94,7 @@ public class JCardWriter extends StreamWriter implements Flushable {
 	 * false not to
 	 */
 	public JCardWriter(OutputStream out, boolean wrapInArray) {
-		this(new Utf8Writer(out), wrapInArray);
+		this.writer = new JCardRawWriter(out, wrapInArray);
 	}
 
 	/**
@@ -101,7 +102,7 @@ public class JCardWriter extends StreamWriter implements Flushable {
 	 * @throws IOException if there's a problem opening the file
 	 */
 	public JCardWriter(File file) throws IOException {
-		this(new Utf8Writer(file));
+		this(file, false);
 	}
 
 	/**
@@ -111,7 +112,7 @@ public class JCardWriter extends StreamWriter implements Flushable {
 	 * @throws IOException if there's a problem opening the file
 	 */
 	public JCardWriter(File file, boolean wrapInArray) throws IOException {
-		this(new Utf8Writer(file), wrapInArray);
+		this(new FileOutputStream(file), wrapInArray);
 	}
 
 	/**
@@ -171,7 +172,7 @@ public class JCardWriter extends StreamWriter implements Flushable {
 
 			String group = property.getGroup();
 			String name = scribe.getPropertyName().toLowerCase();
-			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
+			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard, mostPreferred);
 			removeUnsupportedParameters(parameters);
 			VCardDataType dataType = scribe.dataType(property, targetVersion);
 
@@ -212,6 +213,26 @@ public class JCardWriter extends StreamWriter implements Flushable {
 		return targetVersion;
 	}
 
+	/**
+	 * Gets the factory that is used to create the JSON generator.
+	 * @return the JSON factory or null if the shared, default factory is
+	 * being used
+	 */
+	public JsonFactory getJsonFactory() {
+		return writer.getJsonFactory();
+	}
+
+	/**
+	 * Sets the factory that is used to create the JSON generator. By default,
+	 * a shared factory is used, which avoids the cost of creating a new
+	 * factory for every writer. This has no effect if this writer was created
+	 * with a {@link JsonGenerator} or if writing has already begun.
+	 * @param jsonFactory the JSON factory (cannot be null)
+	 */
+	public void setJsonFactory(JsonFactory jsonFactory) {
+		writer.setJsonFactory(jsonFactory);
+	}
+
 	/**
 	 * Gets whether or not the JSON will be pretty-printed.
 	 * @return true if it will be pretty-printed, false if not (defaults to
@@ -60,8 +60,8 @@ public class AddressScribe extends VCardPropertyScribe<Address> {
 	}
 
 	@Override
-	protected void _prepareParameters(Address property, VCardParameters copy, VCardVersion version, VCard vcard) {
-		handlePrefParam(property, copy, version, vcard);
+	protected void _prepareParameters(Address property, VCardParameters copy, VCardVersion version, VCard vcard, MostPreferredProperties mostPreferred) {
+		handlePrefParam(property, copy, version, mostPreferred);
 
 		if (version == VCardVersion.V2_1 || version == VCardVersion.V3_0) {
 			/*
@@ -128,13 +128,13 @@ public class AddressScribe extends VCardPropertyScribe<Address> {
 
 	@Override
 	protected void _writeXml(Address property, XCardElement parent) {
-		parent.append("pobox", property.getPoBoxes()); //Note: The XML element must always be added, even if the value is null
-		parent.append("ext", property.getExtendedAddresses());
-		parent.append("street", property.getStreetAddresses());
-		parent.append("locality", property.getLocalities());
-		parent.append("region", property.getRegions());
-		parent.append("code", property.getPostalCodes());
-		parent.append("country", property.getCountries());
+		parent.add("pobox", property.getPoBoxes()); //Note: The XML element must always be added, even if the value is null
+		parent.add("ext", property.getExtendedAddresses());
+		parent.add("street", property.getStreetAddresses());
+		parent.add("locality", property.getLocalities());
+		parent.add("region", property.getRegions());
+		parent.add("code", property.getPostalCodes());
+		parent.add("country", property.getCountries());
 	}
 
 	@Override
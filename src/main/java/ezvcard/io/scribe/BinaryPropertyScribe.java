@@ -78,7 +78,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			}
 		}
 
-		if (property.getData() != null) {
+		if (hasData(property)) {
 			switch (version) {
 			case V2_1:
 			case V3_0:
@@ -118,7 +118,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			return;
 		}
 
-		if (property.getData() != null) {
+		if (hasData(property)) {
 			copy.setMediaType(null);
 
 			switch (version) {
@@ -153,7 +153,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 
 	@Override
 	protected void _writeXml(T property, XCardElement parent) {
-		parent.append(VCardDataType.URI, write(property, parent.version()));
+		parent.add(VCardDataType.URI, write(property, parent.version()));
 	}
 
 	@Override
@@ -225,7 +225,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			if (value.startsWith("http")) {
 				return _newInstance(value, contentType);
 			}
-			return _newInstance(Base64.decodeBase64(value), contentType);
+			return newBase64Instance(value, contentType);
 		case V4_0:
 			return _newInstance(value, contentType);
 		}
@@ -341,11 +341,16 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			//parse as binary
 			Encoding encodingSubType = parameters.getEncoding();
 			if (encodingSubType == Encoding.BASE64 || encodingSubType == Encoding.B) {
-				return _newInstance(Base64.decodeBase64(value), contentType);
+				return newBase64Instance(value, contentType);
 			}
 
 			break;
 		case V4_0:
+			T property = parseBase64DataUri(value);
+			if (property != null) {
+				return property;
+			}
+
 			try {
 				//parse as data URI
 				DataUri uri = DataUri.parse(value);
@@ -360,22 +365,105 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 		return cannotUnmarshalValue(value, version, contentType);
 	}
 
+	/**
+	 * Creates a new instance of the property object from base64-encoded data.
+	 * The data is not decoded until {@link BinaryProperty#getData} is called.
+	 * @param base64 the base64-encoded data
+	 * @param contentType the content type or null if unknown
+	 * @return the property object
+	 */
+	private T newBase64Instance(String base64, U contentType) {
+		if (containsWhitespace(base64)) {
+			/*
+			 * The encoded data cannot be written out again as-is, so decode it
+			 * now.
+			 */
+			return _newInstance(Base64.decodeBase64(base64), contentType);
+		}
+
+		T property = _newInstance((byte[]) null, contentType);
+		property.setBase64Data(base64, contentType);
+		return property;
+	}
+
+	/**
+	 * Parses a data URI that contains base64-encoded binary data (e.g.
+	 * "data:image/jpeg;base64,..."), without decoding the data.
+	 * @param value the property value
+	 * @return the property object or null if the value is not a data URI of
+	 * this form
+	 */
+	private T parseBase64DataUri(String value) {
+		String scheme = "data:";
+		if (!value.regionMatches(true, 0, scheme, 0, scheme.length())) {
+			return null;
+		}
+
+		int comma = value.indexOf(',', scheme.length());
+		if (comma < 0) {
+			return null;
+		}
+
+		String contentType = null;
+		boolean base64 = false;
+		int tokenStart = scheme.length();
+		while (tokenStart <= comma) {
+			int tokenEnd = value.indexOf(';', tokenStart);
+			if (tokenEnd < 0 || tokenEnd > comma) {
+				tokenEnd = comma;
+			}
+
+			String token = value.substring(tokenStart, tokenEnd);
+			if (contentType == null) {
+				contentType = token.toLowerCase();
+			} else if ("base64".equalsIgnoreCase(token)) {
+				base64 = true;
+			} else if (token.regionMatches(true, 0, "charset=", 0, 8)) {
+				//the data is text, let DataUri handle it
+				return null;
+			}
+
+			tokenStart = tokenEnd + 1;
+		}
+
+		if (!base64) {
+			return null;
+		}
+
+		return newBase64Instance(value.substring(comma + 1), _mediaTypeFromMediaTypeParameter(contentType));
+	}
+
+	private static boolean containsWhitespace(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.isWhitespace(value.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasData(T property) {
+		return property.getBase64Data() != null || property.getData() != null;
+	}
+
 	private String write(T property, VCardVersion version) {
 		String url = property.getUrl();
 		if (url != null) {
 			return url;
 		}
 
-		byte data[] = property.getData();
-		if (data != null) {
+		//if the data was never decoded, write the original encoded data
+		String base64 = property.getBase64Data();
+		byte data[] = (base64 == null) ? property.getData() : null;
+		if (base64 != null || data != null) {
 			switch (version) {
 			case V2_1:
 			case V3_0:
-				return Base64.encodeBase64String(data);
+				return (base64 == null) ? Base64.encodeBase64String(data) : base64;
 			case V4_0:
 				U contentType = property.getContentType();
 				String mediaType = (contentType == null || contentType.getMediaType() == null) ? "application/octet-stream" : contentType.getMediaType();
-				return new DataUri(mediaType, data).toString();
+				return (base64 == null) ? new DataUri(mediaType, data).toString() : "data:" + mediaType.toLowerCase() + ";base64," + base64;
 			}
 		}
 
@@ -76,9 +76,9 @@ public class ClientPidMapScribe extends VCardPropertyScribe<ClientPidMap> {
 	@Override
 	protected void _writeXml(ClientPidMap property, XCardElement parent) {
 		Integer pid = property.getPid();
-		parent.append("sourceid", (pid == null) ? "" : pid.toString());
+		parent.add("sourceid", (pid == null) ? "" : pid.toString());
 
-		parent.append(VCardDataType.URI, property.getUri());
+		parent.add(VCardDataType.URI, property.getUri());
 	}
 
 	@Override
@@ -125,7 +125,7 @@ public abstract class DateOrTimePropertyScribe<T extends DateOrTimeProperty> ext
 
 			VCardDataType dataType = hasTime ? VCardDataType.DATE_TIME : VCardDataType.DATE;
 
-			parent.append(dataType, value);
+			parent.add(dataType, value);
 			return;
 		}
 
@@ -142,17 +142,17 @@ public abstract class DateOrTimePropertyScribe<T extends DateOrTimeProperty> ext
 				dataType = VCardDataType.DATE_AND_OR_TIME;
 			}
 
-			parent.append(dataType, partialDate.toISO8601(false));
+			parent.add(dataType, partialDate.toISO8601(false));
 			return;
 		}
 
 		String text = property.getText();
 		if (text != null) {
-			parent.append(VCardDataType.TEXT, text);
+			parent.add(VCardDataType.TEXT, text);
 			return;
 		}
 
-		parent.append(VCardDataType.DATE_AND_OR_TIME, "");
+		parent.add(VCardDataType.DATE_AND_OR_TIME, "");
 	}
 
 	@Override
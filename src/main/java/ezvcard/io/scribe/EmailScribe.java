@@ -44,8 +44,8 @@ public class EmailScribe extends StringPropertyScribe<Email> {
 	}
 
 	@Override
-	protected void _prepareParameters(Email property, VCardParameters copy, VCardVersion version, VCard vcard) {
-		handlePrefParam(property, copy, version, vcard);
+	protected void _prepareParameters(Email property, VCardParameters copy, VCardVersion version, VCard vcard, MostPreferredProperties mostPreferred) {
+		handlePrefParam(property, copy, version, mostPreferred);
 	}
 
 	@Override
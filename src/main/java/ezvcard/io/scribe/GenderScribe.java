@@ -77,11 +77,11 @@ public class GenderScribe extends VCardPropertyScribe<Gender> {
 
 	@Override
 	protected void _writeXml(Gender property, XCardElement parent) {
-		parent.append("sex", property.getGender());
+		parent.add("sex", property.getGender());
 
 		String text = property.getText();
 		if (text != null) {
-			parent.append("identity", text);
+			parent.add("identity", text);
 		}
 	}
 
@@ -107,7 +107,7 @@ public class GeoScribe extends VCardPropertyScribe<Geo> {
 
 	@Override
 	protected void _writeXml(Geo property, XCardElement parent) {
-		parent.append(VCardDataType.URI, write(property, parent.version()));
+		parent.add(VCardDataType.URI, write(property, parent.version()));
 	}
 
 	@Override
@@ -66,8 +66,8 @@ public class ImppScribe extends VCardPropertyScribe<Impp> {
 	}
 
 	@Override
-	protected void _prepareParameters(Impp property, VCardParameters copy, VCardVersion version, VCard vcard) {
-		handlePrefParam(property, copy, version, vcard);
+	protected void _prepareParameters(Impp property, VCardParameters copy, VCardVersion version, VCard vcard, MostPreferredProperties mostPreferred) {
+		handlePrefParam(property, copy, version, mostPreferred);
 	}
 
 	@Override
@@ -88,7 +88,7 @@ public class ImppScribe extends VCardPropertyScribe<Impp> {
 
 	@Override
 	protected void _writeXml(Impp property, XCardElement parent) {
-		parent.append(VCardDataType.URI, write(property));
+		parent.add(VCardDataType.URI, write(property));
 	}
 
 	@Override
@@ -129,7 +129,7 @@ public class KeyScribe extends BinaryPropertyScribe<Key, KeyType> {
 	protected void _writeXml(Key property, XCardElement parent) {
 		String text = property.getText();
 		if (text != null) {
-			parent.append(VCardDataType.TEXT, text);
+			parent.add(VCardDataType.TEXT, text);
 			return;
 		}
 
@@ -66,7 +66,7 @@ public abstract class ListPropertyScribe<T extends TextListProperty> extends VCa
 
 	@Override
 	protected void _writeXml(T property, XCardElement parent) {
-		parent.append(VCardDataType.TEXT.getName().toLowerCase(), property.getValues());
+		parent.add(VCardDataType.TEXT.getName().toLowerCase(), property.getValues());
 	}
 
 	@Override
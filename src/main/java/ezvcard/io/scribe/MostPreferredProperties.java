@@ -0,0 +1,116 @@
+package ezvcard.io.scribe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import ezvcard.VCard;
+import ezvcard.parameter.VCardParameters;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Determines which property of each property class has the lowest PREF
+ * parameter value in a vCard.
+ * </p>
+ * <p>
+ * The table is built the first time it is queried, using a single pass over
+ * the vCard's properties. This allows the PREF parameter of every property in
+ * the vCard to be converted to a "TYPE=pref" parameter in linear time when
+ * writing 2.1 and 3.0 vCards (see
+ * {@link VCardPropertyScribe#handlePrefParam(VCardProperty, VCardParameters, ezvcard.VCardVersion, MostPreferredProperties)
+ * handlePrefParam}). Because the table is built only once, it should not be
+ * reused after the vCard's properties are modified.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class MostPreferredProperties {
+	private final VCard vcard;
+	private Map<Class<? extends VCardProperty>, VCardProperty> mostPreferred;
+
+	/**
+	 * @param vcard the vCard
+	 */
+	public MostPreferredProperties(VCard vcard) {
+		this.vcard = vcard;
+	}
+
+	/**
+	 * Gets the property with the lowest PREF parameter value out of all the
+	 * properties in the vCard of the given class. If two or more properties
+	 * share the lowest value, the first one is returned.
+	 * @param clazz the property class
+	 * @return the most preferred property or null if none of the properties of
+	 * the given class have a (valid) PREF parameter
+	 */
+	public VCardProperty get(Class<? extends VCardProperty> clazz) {
+		if (mostPreferred == null) {
+			mostPreferred = build();
+		}
+		return mostPreferred.get(clazz);
+	}
+
+	/**
+	 * Determines if a property is the most preferred property of its class.
+	 * @param property the property
+	 * @return true if it is the most preferred, false if not
+	 */
+	public boolean isMostPreferred(VCardProperty property) {
+		return get(property.getClass()) == property;
+	}
+
+	private Map<Class<? extends VCardProperty>, VCardProperty> build() {
+		Map<Class<? extends VCardProperty>, VCardProperty> mostPreferred = new HashMap<Class<? extends VCardProperty>, VCardProperty>();
+		Map<Class<? extends VCardProperty>, Integer> lowestPrefs = new HashMap<Class<? extends VCardProperty>, Integer>();
+
+		for (VCardProperty property : vcard) {
+			Integer pref;
+			try {
+				pref = property.getParameters().getPref();
+			} catch (IllegalStateException e) {
+				continue;
+			}
+
+			if (pref == null) {
+				continue;
+			}
+
+			Class<? extends VCardProperty> clazz = property.getClass();
+			Integer lowestPref = lowestPrefs.get(clazz);
+			if (lowestPref == null || pref < lowestPref) {
+				mostPreferred.put(clazz, property);
+				lowestPrefs.put(clazz, pref);
+			}
+		}
+
+		return mostPreferred;
+	}
+}
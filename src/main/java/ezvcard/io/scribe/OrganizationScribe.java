@@ -72,7 +72,7 @@ public class OrganizationScribe extends VCardPropertyScribe<Organization> {
 
 	@Override
 	protected void _writeXml(Organization property, XCardElement parent) {
-		parent.append(VCardDataType.TEXT.getName().toLowerCase(), property.getValues());
+		parent.add(VCardDataType.TEXT.getName().toLowerCase(), property.getValues());
 	}
 
 	@Override
@@ -112,23 +112,23 @@ public abstract class PlacePropertyScribe<T extends PlaceProperty> extends VCard
 	protected void _writeXml(T property, XCardElement parent) {
 		String text = property.getText();
 		if (text != null) {
-			parent.append(VCardDataType.TEXT, text);
+			parent.add(VCardDataType.TEXT, text);
 			return;
 		}
 
 		String uri = property.getUri();
 		if (uri != null) {
-			parent.append(VCardDataType.URI, uri);
+			parent.add(VCardDataType.URI, uri);
 			return;
 		}
 
 		GeoUri geoUri = property.getGeoUri();
 		if (geoUri != null) {
-			parent.append(VCardDataType.URI, geoUri.toString());
+			parent.add(VCardDataType.URI, geoUri.toString());
 			return;
 		}
 
-		parent.append(VCardDataType.TEXT, "");
+		parent.add(VCardDataType.TEXT, "");
 	}
 
 	@Override
@@ -93,17 +93,17 @@ public class RelatedScribe extends VCardPropertyScribe<Related> {
 	protected void _writeXml(Related property, XCardElement parent) {
 		String uri = property.getUri();
 		if (uri != null) {
-			parent.append(VCardDataType.URI, uri);
+			parent.add(VCardDataType.URI, uri);
 			return;
 		}
 
 		String text = property.getText();
 		if (text != null) {
-			parent.append(VCardDataType.TEXT, text);
+			parent.add(VCardDataType.TEXT, text);
 			return;
 		}
 
-		parent.append(VCardDataType.URI, "");
+		parent.add(VCardDataType.URI, "");
 	}
 
 	@Override
@@ -65,7 +65,7 @@ public class RevisionScribe extends VCardPropertyScribe<Revision> {
 
 	@Override
 	protected void _writeXml(Revision property, XCardElement parent) {
-		parent.append(VCardDataType.TIMESTAMP, write(property, false));
+		parent.add(VCardDataType.TIMESTAMP, write(property, false));
 	}
 
 	@Override
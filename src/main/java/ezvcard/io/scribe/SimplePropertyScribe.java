@@ -70,7 +70,7 @@ public abstract class SimplePropertyScribe<T extends VCardProperty> extends VCar
 
 	@Override
 	protected void _writeXml(T property, XCardElement parent) {
-		parent.append(dataType, _writeValue(property));
+		parent.add(dataType, _writeValue(property));
 	}
 
 	@Override
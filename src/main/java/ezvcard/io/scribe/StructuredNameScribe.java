@@ -130,11 +130,11 @@ public class StructuredNameScribe extends VCardPropertyScribe<StructuredName> {
 
 	@Override
 	protected void _writeXml(StructuredName property, XCardElement parent) {
-		parent.append("surname", property.getFamily()); //the XML element still needs to be printed if value == null
-		parent.append("given", property.getGiven());
-		parent.append("additional", property.getAdditionalNames());
-		parent.append("prefix", property.getPrefixes());
-		parent.append("suffix", property.getSuffixes());
+		parent.add("surname", property.getFamily()); //the XML element still needs to be printed if value == null
+		parent.add("given", property.getGiven());
+		parent.add("additional", property.getAdditionalNames());
+		parent.add("prefix", property.getPrefixes());
+		parent.add("suffix", property.getSuffixes());
 	}
 
 	@Override
@@ -70,8 +70,8 @@ public class TelephoneScribe extends VCardPropertyScribe<Telephone> {
 	}
 
 	@Override
-	protected void _prepareParameters(Telephone property, VCardParameters copy, VCardVersion version, VCard vcard) {
-		handlePrefParam(property, copy, version, vcard);
+	protected void _prepareParameters(Telephone property, VCardParameters copy, VCardVersion version, VCard vcard, MostPreferredProperties mostPreferred) {
+		handlePrefParam(property, copy, version, mostPreferred);
 	}
 
 	@Override
@@ -105,17 +105,17 @@ public class TelephoneScribe extends VCardPropertyScribe<Telephone> {
 	protected void _writeXml(Telephone property, XCardElement parent) {
 		String text = property.getText();
 		if (text != null) {
-			parent.append(VCardDataType.TEXT, text);
+			parent.add(VCardDataType.TEXT, text);
 			return;
 		}
 
 		TelUri uri = property.getUri();
 		if (uri != null) {
-			parent.append(VCardDataType.URI, uri.toString());
+			parent.add(VCardDataType.URI, uri.toString());
 			return;
 		}
 
-		parent.append(VCardDataType.TEXT, "");
+		parent.add(VCardDataType.TEXT, "");
 	}
 
 	@Override
@@ -194,17 +194,17 @@ public class TimezoneScribe extends VCardPropertyScribe<Timezone> {
 	protected void _writeXml(Timezone property, XCardElement parent) {
 		String text = property.getText();
 		if (text != null) {
-			parent.append(VCardDataType.TEXT, text);
+			parent.add(VCardDataType.TEXT, text);
 			return;
 		}
 
 		UtcOffset offset = property.getOffset();
 		if (offset != null) {
-			parent.append(VCardDataType.UTC_OFFSET, offset.toString(false));
+			parent.add(VCardDataType.UTC_OFFSET, offset.toString(false));
 			return;
 		}
 
-		parent.append(VCardDataType.TEXT, "");
+		parent.add(VCardDataType.TEXT, "");
 	}
 
 	@Override
@@ -120,9 +120,29 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * @return the sanitized parameters
 	 */
 	public final VCardParameters prepareParameters(T property, VCardVersion version, VCard vcard) {
-		//make a copy because the property should not get modified when it is marshalled
-		VCardParameters copy = new VCardParameters(property.getParameters());
-		_prepareParameters(property, copy, version, vcard);
+		return prepareParameters(property, version, vcard, new MostPreferredProperties(vcard));
+	}
+
+	/**
+	 * Sanitizes a property's parameters (called before the property is
+	 * written). Note that a copy of the parameters is returned so that the
+	 * property object does not get modified.
+	 * @param property the property
+	 * @param version the version of the vCard that is being generated
+	 * @param vcard the vCard that the property belongs to
+	 * @param mostPreferred the most preferred properties of the vCard. Writers
+	 * should create one instance of this class per vCard so that it can be
+	 * shared by all of the vCard's properties.
+	 * @return the sanitized parameters
+	 */
+	public final VCardParameters prepareParameters(T property, VCardVersion version, VCard vcard, MostPreferredProperties mostPreferred) {
+		/*
+		 * Make a copy because the property should not get modified when it is
+		 * marshalled. The data is only copied if the scribe actually changes
+		 * the parameters, which most scribes do not.
+		 */
+		VCardParameters copy = new VCardParameters(property.getParameters(), true);
+		_prepareParameters(property, copy, version, vcard, mostPreferred);
 		return copy;
 	}
 
@@ -182,6 +202,19 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 		_writeXml(property, xCardElement);
 	}
 
+	/**
+	 * Marshals a property's value to an xCard element. Unlike
+	 * {@link #writeXml(VCardProperty, Element)}, the element does not have to
+	 * be backed by a DOM.
+	 * @param property the property
+	 * @param element the property's xCard element
+	 * @throws SkipMeException if the property should not be written to the data
+	 * stream
+	 */
+	public final void writeXml(T property, XCardElement element) {
+		_writeXml(property, element);
+	}
+
 	/**
 	 * Marshals a property's value to a JSON data stream (jCard).
 	 * @param property the property
@@ -230,7 +263,24 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * {@link VCard} object
 	 */
 	public final T parseXml(Element element, VCardParameters parameters, ParseContext context) {
-		T property = _parseXml(new XCardElement(element), parameters, context);
+		return parseXml(new XCardElement(element), parameters, context);
+	}
+
+	/**
+	 * Unmarshals a property's value from an xCard element. Unlike
+	 * {@link #parseXml(Element, VCardParameters, ParseContext)}, the element
+	 * does not have to be backed by a DOM.
+	 * @param element the property's xCard element
+	 * @param parameters the parsed parameters
+	 * @param context the parse context
+	 * @return the unmarshalled property
+	 * @throws CannotParseException if the marshaller could not parse the
+	 * property's value
+	 * @throws SkipMeException if the property should not be added to the final
+	 * {@link VCard} object
+	 */
+	public final T parseXml(XCardElement element, VCardParameters parameters, ParseContext context) {
+		T property = _parseXml(element, parameters, context);
 		property.setParameters(parameters);
 		return property;
 	}
@@ -287,6 +337,28 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 		//do nothing
 	}
 
+	/**
+	 * <p>
+	 * Sanitizes a property's parameters before the property is written.
+	 * </p>
+	 * <p>
+	 * This method should be overridden by child classes that need to know
+	 * which properties in the vCard are the most preferred (see
+	 * {@link #handlePrefParam(VCardProperty, VCardParameters, VCardVersion, MostPreferredProperties)
+	 * handlePrefParam}). The default implementation of this method calls
+	 * {@link #_prepareParameters(VCardProperty, VCardParameters, VCardVersion, VCard)}.
+	 * </p>
+	 * @param property the property
+	 * @param copy the list of parameters to make modifications to (it is a copy
+	 * of the property's parameters)
+	 * @param version the version of the vCard that is being generated
+	 * @param vcard the vCard that the property belongs to
+	 * @param mostPreferred the most preferred properties of the vCard
+	 */
+	protected void _prepareParameters(T property, VCardParameters copy, VCardVersion version, VCard vcard, MostPreferredProperties mostPreferred) {
+		_prepareParameters(property, copy, version, vcard);
+	}
+
 	/**
 	 * <p>
 	 * Determines the property's default data type.
@@ -355,7 +427,7 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	protected void _writeXml(T property, XCardElement element) {
 		String value = writeText(property, new WriteContext(VCardVersion.V4_0, null, false));
 		VCardDataType dataType = dataType(property, VCardVersion.V4_0);
-		element.append(dataType, value);
+		element.add(dataType, value);
 	}
 
 	/**
@@ -704,33 +776,30 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * @param vcard the vCard that's being marshalled
 	 */
 	protected static void handlePrefParam(VCardProperty property, VCardParameters parameters, VCardVersion version, VCard vcard) {
+		handlePrefParam(property, parameters, version, new MostPreferredProperties(vcard));
+	}
+
+	/**
+	 * A utility method for switching between the "PREF" and "TYPE=PREF"
+	 * parameters when marshalling a property (version 4.0 vCards use "PREF=1",
+	 * while version 3.0 vCards use "TYPE=PREF"). This method is meant to be
+	 * called from a scribe's {@link #_prepareParameters} method.
+	 * @param property the property that is being marshalled
+	 * @param parameters the parameters that are being marshalled (this should
+	 * be a copy of the property's parameters so that changes can be made to
+	 * them without affecting the original object)
+	 * @param version the vCard version that the vCard is being marshalled to
+	 * @param mostPreferred the most preferred properties of the vCard that's
+	 * being marshalled
+	 */
+	protected static void handlePrefParam(VCardProperty property, VCardParameters parameters, VCardVersion version, MostPreferredProperties mostPreferred) {
 		switch (version) {
 		case V2_1:
 		case V3_0:
 			parameters.setPref(null);
 
-			//find the property with the lowest PREF value in the vCard
-			VCardProperty mostPreferred = null;
-			Integer lowestPref = null;
-			for (VCardProperty p : vcard.getProperties(property.getClass())) {
-				Integer pref;
-				try {
-					pref = p.getParameters().getPref();
-				} catch (IllegalStateException e) {
-					continue;
-				}
-
-				if (pref == null) {
-					continue;
-				}
-
-				if (lowestPref == null || pref < lowestPref) {
-					mostPreferred = p;
-					lowestPref = pref;
-				}
-			}
-
-			if (property == mostPreferred) {
+			//the property with the lowest PREF value in the vCard gets "TYPE=pref"
+			if (mostPreferred.isMostPreferred(property)) {
 				parameters.put(VCardParameters.TYPE, "pref");
 			}
 
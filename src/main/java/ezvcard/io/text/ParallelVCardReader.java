@@ -0,0 +1,365 @@
+package ezvcard.io.text;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import ezvcard.Messages;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.ParseWarning;
+import ezvcard.io.StreamReader;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.util.MappedFileReader;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Parses {@link VCard} objects from a plain-text vCard data stream, using
+ * multiple threads. The data stream is split into the text of each vCard,
+ * which is then handed off to a {@link VCardReader} running in the given
+ * {@link ExecutorService}. The vCards are returned in the order in which they
+ * appear in the data stream, and {@link #getWarnings()} returns the warnings
+ * of the vCard that was just read, just like {@link VCardReader}.
+ * </p>
+ * <p>
+ * All of the {@link VCardReader} instances share the same
+ * {@link ScribeIndex}, so scribes must not be registered while vCards are
+ * being read. The executor service is not shut down when this reader is
+ * closed.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * ExecutorService executor = Executors.newFixedThreadPool(4);
+ * File file = new File("vcards.vcf");
+ * ParallelVCardReader reader = null;
+ * try {
+ *   reader = new ParallelVCardReader(file, executor);
+ *   List&lt;VCard&gt; vcards = reader.readAll();
+ * } finally {
+ *   if (reader != null) reader.close();
+ *   executor.shutdown();
+ * }
+ * </pre>
+ * @author Michael Angstadt
+ */
+public class ParallelVCardReader extends StreamReader {
+	private final VCardSplitter splitter;
+	private final ExecutorService executor;
+	private final VCardVersion defaultVersion;
+	private final LinkedList<Future<Result>> pending = new LinkedList<Future<Result>>();
+	private int maxPending = 256;
+	private boolean caretDecodingEnabled = true;
+	private Charset defaultQuotedPrintableCharset;
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param str the string to read from
+	 * @param executor the executor service to parse the vCards with
+	 */
+	public ParallelVCardReader(String str, ExecutorService executor) {
+		this(str, VCardVersion.V2_1, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param str the string to read from
+	 * @param defaultVersion the version to assume each vCard is in until a
+	 * VERSION property is encountered (defaults to 2.1)
+	 * @param executor the executor service to parse the vCards with
+	 */
+	public ParallelVCardReader(String str, VCardVersion defaultVersion, ExecutorService executor) {
+		this(new StringReader(str), defaultVersion, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param in the input stream to read from
+	 * @param executor the executor service to parse the vCards with
+	 */
+	public ParallelVCardReader(InputStream in, ExecutorService executor) {
+		this(in, VCardVersion.V2_1, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param in the input stream to read from
+	 * @param defaultVersion the version to assume each vCard is in until a
+	 * VERSION property is encountered (defaults to 2.1)
+	 * @param executor the executor service to parse the vCards with
+	 */
+	public ParallelVCardReader(InputStream in, VCardVersion defaultVersion, ExecutorService executor) {
+		this(new InputStreamReader(in), defaultVersion, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param file the file to read from
+	 * @param executor the executor service to parse the vCards with
+	 * @throws FileNotFoundException if the file doesn't exist
+	 */
+	public ParallelVCardReader(File file, ExecutorService executor) throws FileNotFoundException {
+		this(file, VCardVersion.V2_1, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param file the file to read from
+	 * @param defaultVersion the version to assume each vCard is in until a
+	 * VERSION property is encountered (defaults to 2.1)
+	 * @param executor the executor service to parse the vCards with
+	 * @throws FileNotFoundException if the file doesn't exist
+	 */
+	public ParallelVCardReader(File file, VCardVersion defaultVersion, ExecutorService executor) throws FileNotFoundException {
+		this(new MappedFileReader(file, Charset.defaultCharset()), defaultVersion, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param reader the reader to read from
+	 * @param executor the executor service to parse the vCards with
+	 */
+	public ParallelVCardReader(Reader reader, ExecutorService executor) {
+		this(reader, VCardVersion.V2_1, executor);
+	}
+
+	/**
+	 * Creates a new parallel vCard reader.
+	 * @param reader the reader to read from
+	 * @param defaultVersion the version to assume each vCard is in until a
+	 * VERSION property is encountered (defaults to 2.1)
+	 * @param executor the executor service to parse the vCards with
+	 */
+	public ParallelVCardReader(Reader reader, VCardVersion defaultVersion, ExecutorService executor) {
+		this.splitter = new VCardSplitter(reader);
+		this.defaultVersion = defaultVersion;
+		this.executor = executor;
+	}
+
+	/**
+	 * Gets whether the reader will decode parameter values that use circumflex
+	 * accent encoding (enabled by default).
+	 * @return true if circumflex accent decoding is enabled, false if not
+	 * @see VCardReader#isCaretDecodingEnabled()
+	 */
+	public boolean isCaretDecodingEnabled() {
+		return caretDecodingEnabled;
+	}
+
+	/**
+	 * Sets whether the reader will decode parameter values that use circumflex
+	 * accent encoding (enabled by default).
+	 * @param enable true to use circumflex accent decoding, false not to
+	 * @see VCardReader#setCaretDecodingEnabled(boolean)
+	 */
+	public void setCaretDecodingEnabled(boolean enable) {
+		caretDecodingEnabled = enable;
+	}
+
+	/**
+	 * Gets the character set to use when the parser cannot determine what
+	 * character set to use to decode a quoted-printable property value.
+	 * @return the character set or null to use the {@link VCardReader} default
+	 * @see VCardReader#getDefaultQuotedPrintableCharset()
+	 */
+	public Charset getDefaultQuotedPrintableCharset() {
+		return defaultQuotedPrintableCharset;
+	}
+
+	/**
+	 * Sets the character set to use when the parser cannot determine what
+	 * character set to use to decode a quoted-printable property value.
+	 * @param charset the character set (cannot be null)
+	 * @see VCardReader#setDefaultQuotedPrintableCharset(Charset)
+	 */
+	public void setDefaultQuotedPrintableCharset(Charset charset) {
+		defaultQuotedPrintableCharset = charset;
+	}
+
+	/**
+	 * Gets the maximum number of vCards that are read ahead of the vCard that
+	 * is returned by {@link #readNext()} (defaults to 256). This limits how
+	 * many vCards are held in memory at once.
+	 * @return the maximum number of vCards to read ahead
+	 */
+	public int getMaxPending() {
+		return maxPending;
+	}
+
+	/**
+	 * Sets the maximum number of vCards that are read ahead of the vCard that
+	 * is returned by {@link #readNext()} (defaults to 256). This limits how
+	 * many vCards are held in memory at once.
+	 * @param maxPending the maximum number of vCards to read ahead (must be
+	 * greater than zero)
+	 * @throws IllegalArgumentException if the number is not greater than zero
+	 */
+	public void setMaxPending(int maxPending) {
+		if (maxPending <= 0) {
+			throw Messages.INSTANCE.getIllegalArgumentException(45);
+		}
+		this.maxPending = maxPending;
+	}
+
+	@Override
+	protected VCard _readNext() throws IOException {
+		Set<String> includedPropertyNames = getIncludedPropertyNames();
+		while (pending.size() < maxPending) {
+			String text = splitter.next();
+			if (text == null) {
+				break;
+			}
+			pending.add(executor.submit(new Task(text, splitter.getLineNumber(), includedPropertyNames, isWarningCollectionEnabled())));
+		}
+
+		while (!pending.isEmpty()) {
+			Result result = get(pending.removeFirst());
+			if (result.vcard != null) {
+				warnings.addAll(result.warnings);
+				return result.vcard;
+			}
+		}
+
+		return null;
+	}
+
+	private static Result get(Future<Result> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ioe = new InterruptedIOException();
+			ioe.initCause(e);
+			throw ioe;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Cancels any vCards that are still being parsed and closes the underlying
+	 * input stream. The executor service is not shut down.
+	 */
+	public void close() throws IOException {
+		for (Future<Result> future : pending) {
+			future.cancel(false);
+		}
+		pending.clear();
+		splitter.close();
+	}
+
+	/**
+	 * Parses the text of a single vCard.
+	 */
+	private class Task implements Callable<Result> {
+		private final String text;
+		private final int lineNumber;
+		private final Set<String> includedPropertyNames;
+		private final boolean collectWarnings;
+
+		public Task(String text, int lineNumber, Set<String> includedPropertyNames, boolean collectWarnings) {
+			this.text = text;
+			this.lineNumber = lineNumber;
+			this.includedPropertyNames = includedPropertyNames;
+			this.collectWarnings = collectWarnings;
+		}
+
+		public Result call() throws IOException {
+			VCardReader reader = new VCardReader(text, defaultVersion);
+			reader.setScribeIndex(index);
+			reader.setCaretDecodingEnabled(caretDecodingEnabled);
+			reader.setWarningCollectionEnabled(collectWarnings);
+			if (defaultQuotedPrintableCharset != null) {
+				reader.setDefaultQuotedPrintableCharset(defaultQuotedPrintableCharset);
+			}
+			if (includedPropertyNames != null) {
+				for (String name : includedPropertyNames) {
+					reader.includeProperty(name);
+				}
+			}
+
+			VCard vcard = reader.readNext();
+
+			/*
+			 * Convert the line numbers so they are relative to the entire
+			 * data stream instead of to the vCard's text.
+			 */
+			List<ParseWarning> warnings = reader.getWarnings();
+			List<ParseWarning> adjusted = new ArrayList<ParseWarning>(warnings.size());
+			for (ParseWarning warning : warnings) {
+				Integer warningLine = warning.getLineNumber();
+				if (warningLine != null) {
+					warning = new ParseWarning.Builder(warning).lineNumber(warningLine + lineNumber - 1).build();
+				}
+				adjusted.add(warning);
+			}
+
+			return new Result(vcard, adjusted);
+		}
+	}
+
+	private static class Result {
+		private final VCard vcard;
+		private final List<ParseWarning> warnings;
+
+		public Result(VCard vcard, List<ParseWarning> warnings) {
+			this.vcard = vcard;
+			this.warnings = warnings;
+		}
+	}
+}
@@ -0,0 +1,489 @@
+package ezvcard.io.text;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ezvcard.Messages;
+import ezvcard.VCard;
+import ezvcard.VCardDataType;
+import ezvcard.VCardVersion;
+import ezvcard.io.EmbeddedVCardException;
+import ezvcard.io.SkipMeException;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.parameter.AddressType;
+import ezvcard.parameter.VCardParameters;
+import ezvcard.property.Address;
+import ezvcard.property.Label;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Computes 64-bit fingerprints of vCards, which can be used to cheaply
+ * determine whether a vCard has changed. Two vCards with the same content
+ * have the same fingerprint, regardless of the order their properties are in.
+ * </p>
+ * <p>
+ * Fingerprints are stable: they do not depend on the JVM, the platform, or the
+ * time at which they were computed, so they can be stored alongside the vCards
+ * they were computed from. As with any hash, two different vCards can have the
+ * same fingerprint, but this is very unlikely.
+ * </p>
+ * <p>
+ * A fingerprint can be computed from a {@link VCard} object
+ * ({@link #fingerprint(VCard)}) or directly from the vCards in a data stream
+ * ({@link #next(VCardReader)}). The latter does not build {@link VCard}
+ * objects, but each property is still parsed by its scribe and written back
+ * out, so both methods produce the same fingerprint for the same vCard. For
+ * example, a fingerprint that was stored when a vCard was saved can be
+ * compared against the fingerprints of the vCards in an incoming data stream.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * VCardFingerprinter fingerprinter = new VCardFingerprinter();
+ * fingerprinter.setIgnoredProperties("PRODID", "REV");
+ * 
+ * VCard vcard = ...
+ * long fingerprint = fingerprinter.fingerprint(vcard);
+ * 
+ * VCardReader reader = new VCardReader(file);
+ * Long next;
+ * while ((next = fingerprinter.next(reader)) != null) {
+ *   //...
+ * }
+ * reader.close();
+ * </pre>
+ * @author Michael Angstadt
+ */
+public class VCardFingerprinter {
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private ScribeIndex index = new ScribeIndex();
+	private List<String> ignoredProperties = Collections.emptyList();
+
+	/**
+	 * Gets the names of the properties that are excluded from the fingerprint.
+	 * @return the property names (this list is immutable)
+	 */
+	public List<String> getIgnoredProperties() {
+		return ignoredProperties;
+	}
+
+	/**
+	 * Sets the names of the properties to exclude from the fingerprint (none
+	 * by default). For example, PRODID and REV typically change whenever a
+	 * vCard is written, even if its content did not change.
+	 * @param propertyNames the property names (case insensitive, e.g.
+	 * "PRODID")
+	 */
+	public void setIgnoredProperties(String... propertyNames) {
+		ignoredProperties = Collections.unmodifiableList(Arrays.asList(propertyNames.clone()));
+	}
+
+	/**
+	 * Gets the object that manages the component/property scribes.
+	 * @return the scribe index
+	 */
+	public ScribeIndex getScribeIndex() {
+		return index;
+	}
+
+	/**
+	 * Sets the object that manages the component/property scribes.
+	 * @param index the scribe index
+	 */
+	public void setScribeIndex(ScribeIndex index) {
+		this.index = index;
+	}
+
+	/**
+	 * <p>
+	 * Computes the fingerprint of a vCard.
+	 * </p>
+	 * <p>
+	 * Each property is hashed from its group, name, parameters, data type, and
+	 * the value that its scribe writes for the vCard's version.
+	 * </p>
+	 * @param vcard the vCard
+	 * @return the fingerprint
+	 * @throws IllegalArgumentException if a scribe hasn't been registered for
+	 * a custom property class (see: {@link #setScribeIndex setScribeIndex})
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public long fingerprint(VCard vcard) {
+		VCardVersion version = vcard.getVersion();
+		if (version == null) {
+			version = VCardVersion.V4_0;
+		}
+		WriteContext context = new WriteContext(version, null, false);
+
+		Accumulator accumulator = new Accumulator();
+		for (VCardProperty property : vcard) {
+			Long hash = hashProperty(property, context, null);
+			if (hash != null) {
+				accumulator.add(hash);
+			}
+		}
+
+		return accumulator.fingerprint();
+	}
+
+	/**
+	 * Computes the fingerprint of the next vCard in a data stream. No
+	 * {@link VCard} object is created, but the fingerprint is the same as the
+	 * one {@link #fingerprint(VCard)} returns for the vCard that the reader
+	 * would have parsed.
+	 * @param reader the reader
+	 * @return the fingerprint or null if there are no more vCards in the
+	 * stream
+	 * @throws IOException if there's a problem reading from the stream
+	 * @throws IllegalArgumentException if the reader parses a property into a
+	 * custom property class that this object doesn't have a scribe for (see:
+	 * {@link #setScribeIndex setScribeIndex})
+	 */
+	public Long next(VCardReader reader) throws IOException {
+		FingerprintVisitor visitor = new FingerprintVisitor();
+		return reader.readNext(visitor) ? visitor.fingerprint : null;
+	}
+
+	/**
+	 * Hashes a property in its canonical form (the value that its scribe
+	 * writes).
+	 * @param property the property
+	 * @param context the write context
+	 * @param embeddedFingerprint the fingerprint of the property's 2.1-style
+	 * nested vCard or null to get the embedded vCard from the property itself
+	 * @return the property's hash or null if the property is excluded from the
+	 * fingerprint
+	 * @throws IllegalArgumentException if a scribe hasn't been registered for
+	 * the property's class
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Long hashProperty(VCardProperty property, WriteContext context, Long embeddedFingerprint) {
+		VCardPropertyScribe scribe = index.getPropertyScribe(property);
+		if (scribe == null) {
+			throw Messages.INSTANCE.getIllegalArgumentException(14, Arrays.asList(property.getClass().getName()));
+		}
+
+		String name = scribe.getPropertyName();
+		if (isIgnored(name)) {
+			return null;
+		}
+
+		String value = null;
+		long hash = FNV_OFFSET_BASIS;
+		if (embeddedFingerprint == null) {
+			try {
+				value = scribe.writeText(property, context);
+			} catch (SkipMeException e) {
+				return null;
+			} catch (EmbeddedVCardException e) {
+				VCard embedded = e.getVCard();
+				if (embedded != null) {
+					hash = hash(hash, fingerprint(embedded));
+				}
+			}
+		} else {
+			hash = hash(hash, embeddedFingerprint);
+		}
+
+		VCardDataType dataType = scribe.dataType(property, context.getVersion());
+		hash = hash(hash, (dataType == null) ? null : dataType.getName(), true);
+		return hashProperty(hash, property.getGroup(), name, property.getParameters(), value);
+	}
+
+	private boolean isIgnored(String propertyName) {
+		for (String ignored : ignoredProperties) {
+			if (ignored.equalsIgnoreCase(propertyName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Hashes the identifying parts of a property.
+	 * @param hash the hash to add to
+	 * @param group the property group
+	 * @param name the property name
+	 * @param parameters the parameters
+	 * @param value the property value
+	 * @return the property's hash
+	 */
+	private static long hashProperty(long hash, String group, String name, VCardParameters parameters, String value) {
+		hash = hash(hash, group, true);
+		hash = hash(hash, name, true);
+
+		/*
+		 * Parameter names, parameter values, and the order of both are
+		 * insignificant, so combine their hashes by adding them together.
+		 */
+		long parametersHash = 0;
+		for (Map.Entry<String, List<String>> entry : parameters.getMap().entrySet()) {
+			long valuesHash = 0;
+			for (String parameterValue : entry.getValue()) {
+				valuesHash += mix(hash(FNV_OFFSET_BASIS, parameterValue, true));
+			}
+
+			long parameterHash = hash(FNV_OFFSET_BASIS, entry.getKey(), true);
+			parametersHash += mix(hash(parameterHash, valuesHash));
+		}
+		hash = hash(hash, parametersHash);
+
+		hash = hash(hash, value, false);
+		return mix(hash);
+	}
+
+	/**
+	 * Adds a string to an FNV-1a hash.
+	 * @param hash the hash
+	 * @param string the string to add (can be null)
+	 * @param ignoreCase true to ignore the case of the string's characters
+	 * @return the new hash
+	 */
+	private static long hash(long hash, String string, boolean ignoreCase) {
+		if (string != null) {
+			for (int i = 0; i < string.length(); i++) {
+				char c = string.charAt(i);
+				if (ignoreCase) {
+					c = Character.toLowerCase(Character.toUpperCase(c));
+				}
+				hash = (hash ^ c) * FNV_PRIME;
+			}
+		}
+
+		//terminate the string so that, for example, ("ab", "c") and ("a", "bc") hash differently
+		return (hash ^ ((string == null) ? 0x10000 : 0x10001)) * FNV_PRIME;
+	}
+
+	/**
+	 * Adds a number to an FNV-1a hash.
+	 * @param hash the hash
+	 * @param value the number to add
+	 * @return the new hash
+	 */
+	private static long hash(long hash, long value) {
+		for (int i = 0; i < 64; i += 16) {
+			hash = (hash ^ ((value >>> i) & 0xffff)) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+	/**
+	 * Scrambles the bits of a hash (this is the "fmix64" function from
+	 * MurmurHash3). Property hashes are scrambled before they are added
+	 * together so that similar properties do not cancel each other out.
+	 * @param hash the hash
+	 * @return the scrambled hash
+	 */
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb93e53fca34fL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	/**
+	 * Combines property hashes in a way that does not depend on their order.
+	 */
+	private static class Accumulator {
+		private long sum = 0;
+		private int count = 0;
+
+		public void add(long propertyHash) {
+			sum += propertyHash;
+			count++;
+		}
+
+		public long fingerprint() {
+			return mix(hash(hash(FNV_OFFSET_BASIS, sum), count));
+		}
+	}
+
+	/**
+	 * Computes a fingerprint from the properties that a {@link VCardReader}
+	 * parses, without building a {@link VCard} object.
+	 */
+	private class FingerprintVisitor implements VCardVisitor {
+		private final List<Frame> stack = new ArrayList<Frame>();
+		private boolean blankValue;
+		private Long fingerprint;
+
+		public void onVCardBegin() {
+			Frame frame = new Frame();
+			if (!stack.isEmpty()) {
+				//2.1-style nested vCard
+				Frame parent = stack.get(stack.size() - 1);
+				frame.owner = parent.pendingOwner;
+				parent.pendingOwner = null;
+			}
+			stack.add(frame);
+		}
+
+		public boolean onProperty(String group, String name, VCardParameters parameters, String value, VCardVersion version) {
+			Frame frame = stack.get(stack.size() - 1);
+			frame.version = version;
+			frame.pendingOwner = null;
+
+			if (isIgnored(name)) {
+				return false;
+			}
+
+			blankValue = value.trim().isEmpty();
+			return true;
+		}
+
+		public void onParsedProperty(VCardProperty property) {
+			Frame frame = stack.get(stack.size() - 1);
+
+			//LABELs must be matched up with their ADRs, as VCardReader does
+			if (property instanceof Label) {
+				frame.labels.add((Label) property);
+				return;
+			}
+			if (property instanceof Address) {
+				frame.addresses.add((Address) property);
+				return;
+			}
+
+			Long hash = hashProperty(property, frame.context(), null);
+			if (hash != null) {
+				frame.accumulator.add(hash);
+			} else if (blankValue) {
+				//the property may be followed by a 2.1-style nested vCard
+				frame.pendingOwner = property;
+			}
+		}
+
+		public void onVCardEnd() {
+			Frame frame = stack.remove(stack.size() - 1);
+			frame.assignLabels();
+			long nested = frame.accumulator.fingerprint();
+
+			if (stack.isEmpty()) {
+				fingerprint = nested;
+				return;
+			}
+
+			/*
+			 * Nested vCards that do not belong to a property are discarded
+			 * by VCardReader, so they are not included in the fingerprint.
+			 */
+			if (frame.owner != null) {
+				Frame parent = stack.get(stack.size() - 1);
+				Long hash = hashProperty(frame.owner, parent.context(), nested);
+				if (hash != null) {
+					parent.accumulator.add(hash);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Holds the state of a vCard that is being fingerprinted from a data
+	 * stream.
+	 */
+	private class Frame {
+		private final Accumulator accumulator = new Accumulator();
+		private final List<Address> addresses = new ArrayList<Address>();
+		private final List<Label> labels = new ArrayList<Label>();
+		private VCardVersion version = VCardVersion.V2_1;
+
+		/**
+		 * The property that owns this 2.1-style nested vCard or null if this
+		 * is not a nested vCard.
+		 */
+		private VCardProperty owner;
+
+		/**
+		 * The last property that was read if it has no value and could
+		 * therefore own a nested vCard.
+		 */
+		private VCardProperty pendingOwner;
+
+		public WriteContext context() {
+			return new WriteContext(version, null, false);
+		}
+
+		/**
+		 * Assigns the LABEL properties to their ADR properties in the same way
+		 * as {@link VCardReader}, and then hashes the ADR properties and any
+		 * orphaned LABEL properties.
+		 */
+		public void assignLabels() {
+			WriteContext context = context();
+			for (Label label : labels) {
+				boolean orphaned = true;
+				Set<AddressType> labelTypes = new HashSet<AddressType>(label.getTypes());
+				for (Address adr : addresses) {
+					if (adr.getLabel() != null) {
+						//a label has already been assigned to it
+						continue;
+					}
+
+					Set<AddressType> adrTypes = new HashSet<AddressType>(adr.getTypes());
+					if (adrTypes.equals(labelTypes)) {
+						adr.setLabel(label.getValue());
+						orphaned = false;
+						break;
+					}
+				}
+				if (orphaned) {
+					add(label, context);
+				}
+			}
+
+			for (Address adr : addresses) {
+				add(adr, context);
+			}
+		}
+
+		private void add(VCardProperty property, WriteContext context) {
+			Long hash = hashProperty(property, context, null);
+			if (hash != null) {
+				accumulator.add(hash);
+			}
+		}
+	}
+}
@@ -1,9 +1,7 @@
 package ezvcard.io.text;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -12,6 +10,7 @@ import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import com.github.mangstadt.vinnie.VObjectProperty;
 import com.github.mangstadt.vinnie.io.Context;
@@ -37,6 +36,7 @@ import ezvcard.property.Address;
 import ezvcard.property.Label;
 import ezvcard.property.VCardProperty;
 import ezvcard.util.IOUtils;
+import ezvcard.util.MappedFileReader;
 import ezvcard.util.StringUtils;
 
 /*
@@ -95,8 +95,22 @@ import ezvcard.util.StringUtils;
  * @see <a href="http://tools.ietf.org/html/rfc6350">RFC 6350 (4.0)</a>
  */
 public class VCardReader extends StreamReader {
-	private final VObjectReader reader;
+	private final SyntaxRules rules;
 	private final VCardVersion defaultVersion;
+	private VObjectReader reader;
+
+	/**
+	 * True if the current data stream was created by this object (by one of
+	 * the {@link File} constructors), and must therefore be closed by this
+	 * object when the reader is reset.
+	 */
+	private boolean closeSourceOnReset = false;
+
+	/**
+	 * Parses 3.0-style embedded vCards. It is created the first time one is
+	 * encountered, and then reused.
+	 */
+	private VCardReader agentReader;
 
 	/**
 	 * Creates a new vCard reader.
@@ -151,7 +165,34 @@ public class VCardReader extends StreamReader {
 	 * @throws FileNotFoundException if the file doesn't exist
 	 */
 	public VCardReader(File file, VCardVersion defaultVersion) throws FileNotFoundException {
-		this(new BufferedReader(new FileReader(file)), defaultVersion);
+		this(file, Charset.defaultCharset(), defaultVersion);
+	}
+
+	/**
+	 * Creates a new vCard reader. The file is memory-mapped and decoded
+	 * directly from the mapped bytes.
+	 * @param file the file to read from
+	 * @param charset the character set the file is encoded in
+	 * @throws FileNotFoundException if the file doesn't exist
+	 * @see MappedFileReader
+	 */
+	public VCardReader(File file, Charset charset) throws FileNotFoundException {
+		this(file, charset, VCardVersion.V2_1);
+	}
+
+	/**
+	 * Creates a new vCard reader. The file is memory-mapped and decoded
+	 * directly from the mapped bytes.
+	 * @param file the file to read from
+	 * @param charset the character set the file is encoded in
+	 * @param defaultVersion the version to assume the vCard is in until a
+	 * VERSION property is encountered (defaults to 2.1)
+	 * @throws FileNotFoundException if the file doesn't exist
+	 * @see MappedFileReader
+	 */
+	public VCardReader(File file, Charset charset, VCardVersion defaultVersion) throws FileNotFoundException {
+		this(new MappedFileReader(file, charset), defaultVersion);
+		closeSourceOnReset = true;
 	}
 
 	/**
@@ -169,12 +210,53 @@ public class VCardReader extends StreamReader {
 	 * VERSION property is encountered (defaults to 2.1)
 	 */
 	public VCardReader(Reader reader, VCardVersion defaultVersion) {
-		SyntaxRules rules = SyntaxRules.vcard();
+		rules = SyntaxRules.vcard();
 		rules.setDefaultSyntaxStyle(defaultVersion.getSyntaxStyle());
 		this.reader = new VObjectReader(reader, rules);
 		this.defaultVersion = defaultVersion;
 	}
 
+	/**
+	 * <p>
+	 * Points this reader at a new data stream. This allows a single reader
+	 * object to be reused (for example, from an object pool) instead of
+	 * creating a new one for every data stream.
+	 * </p>
+	 * <p>
+	 * The reader's settings are kept, including the scribe index, the
+	 * properties to include, and the caret decoding, quoted-printable, and
+	 * warning collection settings. The warnings of the last vCard that was
+	 * read are cleared.
+	 * </p>
+	 * <p>
+	 * If this reader was created with a {@link File}, the file is closed,
+	 * since the caller has no other way to close it. Otherwise, the previous
+	 * data stream is NOT closed.
+	 * </p>
+	 * @param reader the reader to read from
+	 */
+	public void reset(Reader reader) {
+		if (closeSourceOnReset) {
+			IOUtils.closeQuietly(this.reader);
+			closeSourceOnReset = false;
+		}
+
+		VObjectReader newReader = new VObjectReader(reader, rules);
+		newReader.setCaretDecodingEnabled(this.reader.isCaretDecodingEnabled());
+		newReader.setDefaultQuotedPrintableCharset(this.reader.getDefaultQuotedPrintableCharset());
+		this.reader = newReader;
+		warnings.clear();
+	}
+
+	/**
+	 * Points this reader at a new string.
+	 * @param str the string to read from
+	 * @see #reset(Reader)
+	 */
+	public void reset(String str) {
+		reset(new StringReader(str));
+	}
+
 	/**
 	 * Gets whether the reader will decode parameter values that use circumflex
 	 * accent encoding (enabled by default). This escaping mechanism allows
@@ -224,10 +306,62 @@ public class VCardReader extends StreamReader {
 		return listener.root;
 	}
 
+	/**
+	 * <p>
+	 * Reads the next vCard from the data stream, passing its contents to the
+	 * given visitor instead of building a {@link VCard} object. Only the
+	 * properties that the visitor asks for are parsed by their scribes. This
+	 * is useful when only a handful of properties are needed from each vCard.
+	 * </p>
+	 * <p>
+	 * Parse warnings are collected as they are when calling
+	 * {@link #readNext()}.
+	 * </p>
+	 * <p>
+	 * <b>Example:</b>
+	 * </p>
+	 * 
+	 * <pre class="brush:java">
+	 * VCardReader reader = new VCardReader(file);
+	 * VCardVisitor visitor = new VCardVisitor() {
+	 *   public void onVCardBegin() {
+	 *     //...
+	 *   }
+	 *
+	 *   public boolean onProperty(String group, String name, VCardParameters parameters, String value, VCardVersion version) {
+	 *     return "UID".equalsIgnoreCase(name);
+	 *   }
+	 *
+	 *   public void onParsedProperty(VCardProperty property) {
+	 *     Uid uid = (Uid) property;
+	 *     //...
+	 *   }
+	 *
+	 *   public void onVCardEnd() {
+	 *     //...
+	 *   }
+	 * };
+	 * while (reader.readNext(visitor)) {
+	 *   //...
+	 * }
+	 * reader.close();
+	 * </pre>
+	 * @param visitor the visitor
+	 * @return true if a vCard was read, false if there are no more vCards
+	 * @throws IOException if there's a problem reading from the stream
+	 */
+	public boolean readNext(VCardVisitor visitor) throws IOException {
+		prepareNext();
+
+		VisitorListener listener = new VisitorListener(visitor);
+		reader.parse(listener);
+		return listener.found;
+	}
+
 	private class VObjectDataListenerImpl implements VObjectDataListener {
 		private VCard root;
 		private final VCardStack stack = new VCardStack();
-		private EmbeddedVCardException embeddedVCardException;
+		protected EmbeddedVCardException embeddedVCardException;
 
 		public void onComponentBegin(String name, Context context) {
 			if (!isVCardComponent(name)) {
@@ -273,21 +407,41 @@ public class VCardReader extends StreamReader {
 				embeddedVCardException = null;
 			}
 
-			VCard curVCard = stack.peek().vcard;
-			VCardVersion version = curVCard.getVersion();
-
-			VCardProperty property = parseProperty(vobjectProperty, version, vobjectContext.getLineNumber());
-			if (property != null) {
-				curVCard.addProperty(property);
+			if (!isPropertyIncluded(vobjectProperty.getName())) {
+				return;
 			}
-		}
 
-		private VCardProperty parseProperty(VObjectProperty vobjectProperty, VCardVersion version, int lineNumber) {
+			VCardStack.Item item = stack.peek();
+			VCard curVCard = item.vcard;
+			VCardVersion version = curVCard.getVersion();
+
 			String group = vobjectProperty.getGroup();
 			String name = vobjectProperty.getName();
 			VCardParameters parameters = new VCardParameters(vobjectProperty.getParameters().getMap());
 			String value = vobjectProperty.getValue();
 
+			VCardProperty property = parseProperty(group, name, parameters, value, version, vobjectContext.getLineNumber());
+			if (property == null) {
+				return;
+			}
+
+			/*
+			 * LABEL properties must be treated specially so they can be matched
+			 * up with the ADR properties that they belong to. LABELs are not
+			 * added to the vCard as properties, they are added to the ADR
+			 * properties they belong to (unless they cannot be matched up with
+			 * an ADR).
+			 */
+			if (property instanceof Label) {
+				Label label = (Label) property;
+				item.labels.add(label);
+				return;
+			}
+
+			curVCard.addProperty(property);
+		}
+
+		protected VCardProperty parseProperty(String group, String name, VCardParameters parameters, String value, VCardVersion version, int lineNumber) {
 			context.getWarnings().clear();
 			context.setVersion(version);
 			context.setLineNumber(lineNumber);
@@ -326,20 +480,6 @@ public class VCardReader extends StreamReader {
 			}
 
 			property.setGroup(group);
-
-			/*
-			 * LABEL properties must be treated specially so they can be matched
-			 * up with the ADR properties that they belong to. LABELs are not
-			 * added to the vCard as properties, they are added to the ADR
-			 * properties they belong to (unless they cannot be matched up with
-			 * an ADR).
-			 */
-			if (property instanceof Label) {
-				Label label = (Label) property;
-				stack.peek().labels.add(label);
-				return null;
-			}
-
 			handleLabelParameter(property);
 
 			return property;
@@ -382,10 +522,24 @@ public class VCardReader extends StreamReader {
 			 */
 			value = VObjectPropertyValues.unescape(value);
 
-			VCardReader agentReader = new VCardReader(value);
+			if (agentReader == null) {
+				agentReader = new VCardReader(value);
+			} else {
+				agentReader.reset(value);
+			}
 			agentReader.setCaretDecodingEnabled(isCaretDecodingEnabled());
 			agentReader.setDefaultQuotedPrintableCharset(getDefaultQuotedPrintableCharset());
 			agentReader.setScribeIndex(index);
+			agentReader.setWarningCollectionEnabled(isWarningCollectionEnabled());
+
+			//nested vCards are subject to the same property filter
+			agentReader.includeAllProperties();
+			Set<String> includedNames = getIncludedPropertyNames();
+			if (includedNames != null) {
+				for (String includedName : includedNames) {
+					agentReader.includeProperty(includedName);
+				}
+			}
 
 			try {
 				VCard nestedVCard = agentReader.readNext();
@@ -396,7 +550,6 @@ public class VCardReader extends StreamReader {
 				//shouldn't be thrown because we're reading from a string
 			} finally {
 				warnings.addAll(agentReader.getWarnings());
-				IOUtils.closeQuietly(agentReader);
 			}
 		}
 
@@ -448,7 +601,7 @@ public class VCardReader extends StreamReader {
 			//@formatter:on
 		}
 
-		private boolean inVCardComponent(List<String> parentComponents) {
+		protected boolean inVCardComponent(List<String> parentComponents) {
 			if (parentComponents.isEmpty()) {
 				return false;
 			}
@@ -456,7 +609,7 @@ public class VCardReader extends StreamReader {
 			return isVCardComponent(last);
 		}
 
-		private boolean isVCardComponent(String componentName) {
+		protected boolean isVCardComponent(String componentName) {
 			return "VCARD".equals(componentName);
 		}
 
@@ -537,6 +690,88 @@ public class VCardReader extends StreamReader {
 		}
 	}
 
+	/**
+	 * Passes the contents of a vCard to a {@link VCardVisitor} instead of
+	 * building a {@link VCard} object.
+	 */
+	private class VisitorListener extends VObjectDataListenerImpl {
+		private final VCardVisitor visitor;
+		private final List<VCardVersion> versions = new ArrayList<VCardVersion>();
+		private boolean found = false;
+
+		public VisitorListener(VCardVisitor visitor) {
+			this.visitor = visitor;
+		}
+
+		@Override
+		public void onComponentBegin(String name, Context context) {
+			if (!isVCardComponent(name)) {
+				//ignore non-VCARD components
+				return;
+			}
+
+			found = true;
+			versions.add(defaultVersion);
+			visitor.onVCardBegin();
+		}
+
+		@Override
+		public void onComponentEnd(String name, Context context) {
+			if (!isVCardComponent(name)) {
+				//ignore non-VCARD components
+				return;
+			}
+
+			versions.remove(versions.size() - 1);
+			visitor.onVCardEnd();
+
+			if (versions.isEmpty()) {
+				context.stop();
+			}
+		}
+
+		@Override
+		public void onProperty(VObjectProperty vobjectProperty, Context vobjectContext) {
+			if (!inVCardComponent(vobjectContext.getParentComponents())) {
+				//ignore properties that are not directly inside a VCARD component
+				return;
+			}
+
+			String name = vobjectProperty.getName();
+			if (!isPropertyIncluded(name)) {
+				return;
+			}
+
+			VCardVersion version = versions.get(versions.size() - 1);
+			String group = vobjectProperty.getGroup();
+			VCardParameters parameters = new VCardParameters(vobjectProperty.getParameters().getMap());
+			String value = vobjectProperty.getValue();
+
+			if (!visitor.onProperty(group, name, parameters, value, version)) {
+				return;
+			}
+
+			VCardProperty property = parseProperty(group, name, parameters, value, version, vobjectContext.getLineNumber());
+
+			/*
+			 * 2.1-style nested vCards are passed to the visitor like any other
+			 * vCard, so they are not injected into the property.
+			 */
+			embeddedVCardException = null;
+
+			if (property != null) {
+				visitor.onParsedProperty(property);
+			}
+		}
+
+		@Override
+		public void onVersion(String value, Context vobjectContext) {
+			VCardVersion version = VCardVersion.valueOfByStr(value);
+			context.setVersion(version);
+			versions.set(versions.size() - 1, version);
+		}
+	}
+
 	/**
 	 * Keeps track of the hierarchy of nested vCards.
 	 */
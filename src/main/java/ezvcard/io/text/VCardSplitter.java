@@ -0,0 +1,241 @@
+package ezvcard.io.text;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * Splits a plain-text vCard data stream into the raw text of each of its
+ * top-level vCards, without parsing them. Folded lines, quoted-printable soft
+ * line breaks, and nested vCards (such as those found in vCard 2.1 AGENT
+ * properties) are taken into account when looking for the BEGIN and END
+ * properties. Any content that does not belong to a vCard is discarded.
+ * @author Michael Angstadt
+ */
+class VCardSplitter implements Closeable {
+	private final BufferedReader reader;
+
+	/**
+	 * The raw lines of the logical line that is currently being read.
+	 */
+	private final StringBuilder pending = new StringBuilder();
+
+	/**
+	 * The unfolded contents of the logical line that is currently being read.
+	 */
+	private final StringBuilder unfolded = new StringBuilder();
+
+	private StringBuilder chunk;
+	private int depth = 0;
+	private int lineNumber = 0;
+	private int pendingLineNumber;
+	private int chunkLineNumber;
+	private boolean eof = false;
+
+	/**
+	 * @param reader the reader to read from
+	 */
+	public VCardSplitter(Reader reader) {
+		this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+	}
+
+	/**
+	 * Reads the raw text of the next vCard.
+	 * @return the vCard text or null if there are no more vCards
+	 * @throws IOException if there's a problem reading from the stream
+	 */
+	public String next() throws IOException {
+		while (!eof) {
+			String line = reader.readLine();
+			if (line == null) {
+				eof = true;
+				String text = completeLogicalLine();
+				if (text != null) {
+					return text;
+				}
+				break;
+			}
+
+			lineNumber++;
+			if (pending.length() > 0 && isContinuation(line)) {
+				pending.append(line).append("\r\n");
+				unfolded.append(line.isEmpty() ? line : line.substring(isWhitespace(line.charAt(0)) ? 1 : 0));
+				continue;
+			}
+
+			String text = completeLogicalLine();
+			pending.append(line).append("\r\n");
+			unfolded.append(line);
+			pendingLineNumber = lineNumber;
+			if (text != null) {
+				return text;
+			}
+		}
+
+		if (chunk == null) {
+			return null;
+		}
+
+		//the last vCard is missing its END property
+		String text = chunk.toString();
+		chunk = null;
+		depth = 0;
+		return text;
+	}
+
+	/**
+	 * Gets the line number that the vCard most recently returned by
+	 * {@link #next} starts on.
+	 * @return the line number (1-based)
+	 */
+	public int getLineNumber() {
+		return chunkLineNumber;
+	}
+
+	/**
+	 * Determines if a physical line belongs to the logical line that is
+	 * currently being read.
+	 * @param line the physical line
+	 * @return true if it belongs to the current logical line, false if it
+	 * starts a new one
+	 */
+	private boolean isContinuation(String line) {
+		if (!line.isEmpty() && isWhitespace(line.charAt(0))) {
+			return true;
+		}
+
+		//quoted-printable soft line break
+		int length = unfolded.length();
+		return length > 0 && unfolded.charAt(length - 1) == '=' && isQuotedPrintable(unfolded);
+	}
+
+	/**
+	 * Processes the logical line that was just read.
+	 * @return the text of the vCard that this line completes or null if it
+	 * doesn't complete a vCard
+	 */
+	private String completeLogicalLine() {
+		if (pending.length() == 0) {
+			return null;
+		}
+
+		String text = null;
+		String componentName = getComponentName(unfolded);
+		if (depth == 0) {
+			if ("BEGIN".equals(componentName)) {
+				chunk = new StringBuilder(pending);
+				chunkLineNumber = pendingLineNumber;
+				depth = 1;
+			}
+		} else {
+			chunk.append(pending);
+			if ("BEGIN".equals(componentName)) {
+				depth++;
+			} else if ("END".equals(componentName)) {
+				depth--;
+				if (depth == 0) {
+					text = chunk.toString();
+					chunk = null;
+				}
+			}
+		}
+
+		pending.setLength(0);
+		unfolded.setLength(0);
+		return text;
+	}
+
+	/**
+	 * Determines if a line is a BEGIN:VCARD or END:VCARD property.
+	 * @param line the unfolded line
+	 * @return "BEGIN", "END", or null if it's neither
+	 */
+	private static String getComponentName(CharSequence line) {
+		int colon = indexOf(line, ':');
+		if (colon < 0 || !"VCARD".equalsIgnoreCase(line.subSequence(colon + 1, line.length()).toString().trim())) {
+			return null;
+		}
+
+		int nameStart = 0;
+		int nameEnd = colon;
+		for (int i = 0; i < colon; i++) {
+			char c = line.charAt(i);
+			if (c == ';') {
+				nameEnd = i;
+				break;
+			}
+			if (c == '.') {
+				nameStart = i + 1;
+			}
+		}
+
+		String name = line.subSequence(nameStart, nameEnd).toString().trim();
+		if ("BEGIN".equalsIgnoreCase(name)) {
+			return "BEGIN";
+		}
+		if ("END".equalsIgnoreCase(name)) {
+			return "END";
+		}
+		return null;
+	}
+
+	/**
+	 * Determines if a property's value is encoded in quoted-printable.
+	 * @param line the unfolded line
+	 * @return true if it's quoted-printable, false if not
+	 */
+	private static boolean isQuotedPrintable(CharSequence line) {
+		int colon = indexOf(line, ':');
+		if (colon < 0) {
+			return false;
+		}
+		return line.subSequence(0, colon).toString().toUpperCase().contains("QUOTED-PRINTABLE");
+	}
+
+	private static int indexOf(CharSequence line, char c) {
+		for (int i = 0; i < line.length(); i++) {
+			if (line.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t';
+	}
+
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,84 @@
+package ezvcard.io.text;
+
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.parameter.VCardParameters;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Receives the contents of a vCard as it is being parsed by a
+ * {@link VCardReader}. This allows the caller to examine the raw properties of
+ * a vCard without having to build a {@link VCard} object, and to choose which
+ * properties get parsed into property objects.
+ * </p>
+ * <p>
+ * Nested vCards (such as those found in 2.1-style AGENT properties) are
+ * passed to the visitor like any other vCard. That is, an additional
+ * {@link #onVCardBegin} / {@link #onVCardEnd} pair is invoked for each nested
+ * vCard.
+ * </p>
+ * @author Michael Angstadt
+ * @see VCardReader#readNext(VCardVisitor)
+ */
+public interface VCardVisitor {
+	/**
+	 * Called when a vCard begins (when a "BEGIN:VCARD" line is read).
+	 */
+	void onVCardBegin();
+
+	/**
+	 * Called when a property is read.
+	 * @param group the property's group or null if it doesn't have one
+	 * @param name the property name (e.g. "EMAIL")
+	 * @param parameters the property's parameters, as they appear in the
+	 * vCard
+	 * @param value the raw property value
+	 * @param version the version of the vCard that the property belongs to
+	 * @return true to have the property parsed into a property object (it will
+	 * be passed to {@link #onParsedProperty}), false to skip it
+	 */
+	boolean onProperty(String group, String name, VCardParameters parameters, String value, VCardVersion version);
+
+	/**
+	 * Called when a property has been parsed into a property object. LABEL
+	 * properties are passed to this method as-is (they are not assigned to
+	 * their corresponding ADR properties).
+	 * @param property the property object
+	 */
+	void onParsedProperty(VCardProperty property);
+
+	/**
+	 * Called when a vCard ends (when an "END:VCARD" line is read).
+	 */
+	void onVCardEnd();
+}
@@ -8,7 +8,6 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +22,7 @@ import ezvcard.VCardVersion;
 import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamWriter;
+import ezvcard.io.scribe.MostPreferredProperties;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.VCardParameters;
@@ -30,7 +30,6 @@ import ezvcard.property.Address;
 import ezvcard.property.BinaryProperty;
 import ezvcard.property.StructuredName;
 import ezvcard.property.VCardProperty;
-import ezvcard.util.IOUtils;
 import ezvcard.util.Utf8Writer;
 
 /*
@@ -101,17 +100,41 @@ import ezvcard.util.Utf8Writer;
  * writer.getVObjectWriter().getFoldedLineWriter().setIndent("\t");
  * 
  * </pre>
+ * 
+ * <p>
+ * <b>Reusing a writer:</b>
+ * </p>
+ * <p>
+ * A writer (along with its internal buffers and settings) can be pointed at a
+ * new output stream using one of the {@code reset} methods, or it can write a
+ * single vCard to a {@link StringBuilder}. This avoids the cost of creating a
+ * new writer for every vCard when many small vCards are serialized.
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * VCardWriter writer = new VCardWriter(out, VCardVersion.V3_0);
+ * StringBuilder sb = new StringBuilder();
+ * for (VCard vcard : vcards) {
+ *   sb.setLength(0);
+ *   writer.write(vcard, sb);
+ *   ...
+ * }
+ * </pre>
  * @author Michael Angstadt
  * @see <a href="http://www.imc.org/pdi/vcard-21.rtf">vCard 2.1</a>
  * @see <a href="http://tools.ietf.org/html/rfc2426">RFC 2426 (3.0)</a>
  * @see <a href="http://tools.ietf.org/html/rfc6350">RFC 6350 (4.0)</a>
  */
 public class VCardWriter extends StreamWriter implements Flushable {
+	private final TargetWriter target;
 	private final VObjectWriter writer;
 	private final List<Boolean> prodIdStack = new ArrayList<Boolean>();
 	private VCardVersion targetVersion;
 	private TargetApplication targetApplication;
 	private Boolean includeTrailingSemicolons;
+	private WriteContext context;
+	private VCardWriter agentWriter;
+	private StringBuilder agentBuffer;
 
 	/**
 	 * @param out the output stream to write to
@@ -149,10 +172,45 @@ public class VCardWriter extends StreamWriter implements Flushable {
 	 * @param targetVersion the version that the vCards should conform to
 	 */
 	public VCardWriter(Writer writer, VCardVersion targetVersion) {
-		this.writer = new VObjectWriter(writer, targetVersion.getSyntaxStyle());
+		this.target = new TargetWriter(writer);
+		this.writer = new VObjectWriter(target, targetVersion.getSyntaxStyle());
 		this.targetVersion = targetVersion;
 	}
 
+	/**
+	 * <p>
+	 * Points this writer at a new output stream. The writer's settings and
+	 * internal buffers are retained.
+	 * </p>
+	 * <p>
+	 * The current output stream is flushed, but not closed.
+	 * </p>
+	 * @param out the output stream to write to (if the target version is
+	 * "4.0", vCards will be written in UTF-8 encoding)
+	 * @throws IOException if there's a problem flushing the current output
+	 * stream
+	 */
+	public void reset(OutputStream out) throws IOException {
+		reset((targetVersion == VCardVersion.V4_0) ? new Utf8Writer(out) : new OutputStreamWriter(out));
+	}
+
+	/**
+	 * <p>
+	 * Points this writer at a new output stream. The writer's settings and
+	 * internal buffers are retained.
+	 * </p>
+	 * <p>
+	 * The current output stream is flushed, but not closed.
+	 * </p>
+	 * @param writer the writer to write to
+	 * @throws IOException if there's a problem flushing the current output
+	 * stream
+	 */
+	public void reset(Writer writer) throws IOException {
+		flush();
+		target.out = writer;
+	}
+
 	/**
 	 * Gets the writer that this object uses to write data to the output stream.
 	 * @return the writer
@@ -302,7 +360,10 @@ public class VCardWriter extends StreamWriter implements Flushable {
 			includeTrailingSemicolons = (targetVersion == VCardVersion.V4_0);
 		}
 
-		WriteContext context = new WriteContext(targetVersion, targetApplication, includeTrailingSemicolons);
+		WriteContext context = this.context;
+		if (context == null || context.getVersion() != targetVersion || context.getTargetApplication() != targetApplication || context.isIncludeTrailingSemicolons() != includeTrailingSemicolons) {
+			context = this.context = new WriteContext(targetVersion, targetApplication, includeTrailingSemicolons);
+		}
 
 		writer.writeBeginComponent("VCARD");
 		writer.writeVersion(targetVersion.getVersion());
@@ -320,7 +381,7 @@ public class VCardWriter extends StreamWriter implements Flushable {
 				nestedVCard = e.getVCard();
 			}
 
-			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
+			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard, mostPreferred);
 
 			if (nestedVCard != null) {
 				writeNestedVCard(nestedVCard, property, scribe, parameters, value);
@@ -346,29 +407,31 @@ public class VCardWriter extends StreamWriter implements Flushable {
 			writer.writeProperty(property.getGroup(), scribe.getPropertyName(), new VObjectParameters(parameters.getMap()), value);
 			prodIdStack.add(addProdId);
 			addProdId = false;
+
+			//writing the nested vCard replaces the outer vCard's PREF table
+			MostPreferredProperties outerMostPreferred = mostPreferred;
 			write(nestedVCard);
+			mostPreferred = outerMostPreferred;
 			addProdId = prodIdStack.remove(prodIdStack.size() - 1);
 		} else {
 			//write an embedded vCard (3.0 style)
-			StringWriter sw = new StringWriter();
-			VCardWriter agentWriter = new VCardWriter(sw, targetVersion);
-			agentWriter.getVObjectWriter().getFoldedLineWriter().setLineLength(null);
-			agentWriter.setAddProdId(false);
+			if (agentWriter == null) {
+				agentWriter = new VCardWriter((Writer) null, targetVersion);
+				agentWriter.getVObjectWriter().getFoldedLineWriter().setLineLength(null);
+				agentWriter.setAddProdId(false);
+				agentBuffer = new StringBuilder();
+			} else {
+				agentWriter.setTargetVersion(targetVersion);
+				agentBuffer.setLength(0);
+			}
 			agentWriter.setCaretEncodingEnabled(isCaretEncodingEnabled());
 			agentWriter.setIncludeTrailingSemicolons(this.includeTrailingSemicolons);
 			agentWriter.setScribeIndex(index);
 			agentWriter.setTargetApplication(targetApplication);
 			agentWriter.setVersionStrict(versionStrict);
-			try {
-				agentWriter.write(nestedVCard);
-			} catch (IOException e) {
-				//should never be thrown because we're writing to a string
-			} finally {
-				IOUtils.closeQuietly(agentWriter);
-			}
+			agentWriter.write(nestedVCard, agentBuffer);
 
-			String vcardStr = sw.toString();
-			vcardStr = VObjectPropertyValues.escape(vcardStr);
+			String vcardStr = VObjectPropertyValues.escape(agentBuffer.toString());
 			writer.writeProperty(property.getGroup(), scribe.getPropertyName(), new VObjectParameters(parameters.getMap()), vcardStr);
 		}
 	}
@@ -469,7 +532,7 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		}
 
 		BinaryProperty<?> binaryProperty = (BinaryProperty<?>) property;
-		if (binaryProperty.getData() == null) {
+		if (!binaryProperty.hasData()) {
 			//property value is not base64-encoded
 			return;
 		}
@@ -498,6 +561,27 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		//@formatter:on
 	}
 
+	/**
+	 * Writes a vCard to a string builder instead of this writer's output
+	 * stream. The output stream is not written to or flushed.
+	 * @param vcard the vCard to write
+	 * @param sb the string builder to append the vCard to
+	 * @throws IllegalArgumentException if a scribe hasn't been registered for a
+	 * custom property class (see: {@link #registerScribe registerScribe})
+	 */
+	public void write(VCard vcard, StringBuilder sb) {
+		StringBuilder prev = target.sb;
+		target.sb = sb;
+		try {
+			write(vcard);
+		} catch (IOException e) {
+			//should never be thrown because we're writing to a string
+			throw new RuntimeException(e);
+		} finally {
+			target.sb = prev;
+		}
+	}
+
 	/**
 	 * Flushes the output stream.
 	 * @throws IOException if there's a problem flushing the output stream
@@ -513,4 +597,59 @@ public class VCardWriter extends StreamWriter implements Flushable {
 	public void close() throws IOException {
 		writer.close();
 	}
+
+	/**
+	 * Sits between the {@link VObjectWriter} and the actual output stream so
+	 * that the output stream can be swapped out without having to re-create
+	 * the {@link VObjectWriter}.
+	 */
+	private static class TargetWriter extends Writer {
+		private Writer out;
+		private StringBuilder sb;
+
+		public TargetWriter(Writer out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(int c) throws IOException {
+			if (sb == null) {
+				out.write(c);
+			} else {
+				sb.append((char) c);
+			}
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			if (sb == null) {
+				out.write(cbuf, off, len);
+			} else {
+				sb.append(cbuf, off, len);
+			}
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			if (sb == null) {
+				out.write(str, off, len);
+			} else {
+				sb.append(str, off, off + len);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (out != null) {
+				out.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (out != null) {
+				out.close();
+			}
+		}
+	}
 }
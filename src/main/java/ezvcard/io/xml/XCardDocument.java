@@ -20,16 +20,12 @@ import java.util.Map;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -203,7 +199,7 @@ public class XCardDocument {
 		this.document = document;
 
 		XCardNamespaceContext nsContext = new XCardNamespaceContext(version4, "v");
-		XPath xpath = XPathFactory.newInstance().newXPath();
+		XPath xpath = XmlUtils.createXPath();
 		xpath.setNamespaceContext(nsContext);
 
 		try {
@@ -466,16 +462,7 @@ public class XCardDocument {
 	 * @throws TransformerException if there's a problem writing to the writer
 	 */
 	public void write(Writer writer, Map<String, String> outputProperties) throws TransformerException {
-		Transformer transformer;
-		try {
-			transformer = TransformerFactory.newInstance().newTransformer();
-		} catch (TransformerConfigurationException e) {
-			//should never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
-		} catch (TransformerFactoryConfigurationError e) {
-			//should never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
-		}
+		Transformer transformer = XmlUtils.getTransformer();
 
 		/*
 		 * Using Transformer#setOutputProperties(Properties) doesn't work for
@@ -722,7 +709,7 @@ public class XCardDocument {
 			}
 
 			//marshal the parameters
-			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
+			VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard, mostPreferred);
 			removeUnsupportedParameters(parameters);
 			if (!parameters.isEmpty()) {
 				Element parametersElement = marshalParameters(parameters);
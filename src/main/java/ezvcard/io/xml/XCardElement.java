@@ -43,14 +43,24 @@ import ezvcard.util.XmlUtils;
  */
 
 /**
+ * <p>
  * Wraps xCard functionality around an XML {@link Element} object.
+ * </p>
+ * <p>
+ * When used by {@link XCardReader} and {@link XCardWriter}, the property's XML
+ * is held in a lightweight event buffer instead of a DOM. The {@code first},
+ * {@code all}, {@code firstValue}, and {@code add} methods work directly off of
+ * this buffer. A DOM element is only created if {@link #element()} or one of
+ * the {@code append} methods is called.
+ * </p>
  * @author Michael Angstadt
  */
 public class XCardElement {
 	private final Document document;
-	private final Element element;
+	private final XmlEventBuffer buffer;
 	private final VCardVersion version;
 	private final String namespace;
+	private Element element;
 
 	/**
 	 * Wraps an existing XML element.
@@ -68,6 +78,21 @@ public class XCardElement {
 	public XCardElement(Element element, VCardVersion version) {
 		this.document = element.getOwnerDocument();
 		this.element = element;
+		this.buffer = null;
+		this.version = version;
+		namespace = version.getXmlNamespace();
+	}
+
+	/**
+	 * Wraps the XML events of a property element.
+	 * @param buffer the buffer containing the property element's events
+	 * @param document the document to use if a DOM element must be created
+	 * @param version the vCard version
+	 */
+	XCardElement(XmlEventBuffer buffer, Document document, VCardVersion version) {
+		this.document = document;
+		this.element = null;
+		this.buffer = buffer;
 		this.version = version;
 		namespace = version.getXmlNamespace();
 	}
@@ -94,6 +119,22 @@ public class XCardElement {
 	 */
 	public String first(String... names) {
 		List<String> localNamesList = Arrays.asList(names);
+		if (element == null) {
+			int end = buffer.endOf(0);
+			for (int i = 1; i < end; i++) {
+				if (buffer.type(i) != XmlEventBuffer.START) {
+					continue;
+				}
+
+				int childEnd = buffer.endOf(i);
+				if (localNamesList.contains(buffer.value(i)) && namespace.equals(buffer.namespace(i))) {
+					return buffer.textContent(i + 1, childEnd);
+				}
+				i = childEnd;
+			}
+			return null;
+		}
+
 		for (Element child : children()) {
 			if (localNamesList.contains(child.getLocalName()) && namespace.equals(child.getNamespaceURI())) {
 				return child.getTextContent();
@@ -119,6 +160,25 @@ public class XCardElement {
 	 */
 	public List<String> all(String localName) {
 		List<String> childrenText = new ArrayList<String>();
+		if (element == null) {
+			int end = buffer.endOf(0);
+			for (int i = 1; i < end; i++) {
+				if (buffer.type(i) != XmlEventBuffer.START) {
+					continue;
+				}
+
+				int childEnd = buffer.endOf(i);
+				if (localName.equals(buffer.value(i)) && namespace.equals(buffer.namespace(i))) {
+					String text = buffer.textContent(i + 1, childEnd);
+					if (text.length() > 0) {
+						childrenText.add(text);
+					}
+				}
+				i = childEnd;
+			}
+			return childrenText;
+		}
+
 		for (Element child : children()) {
 			if (localName.equals(child.getLocalName()) && namespace.equals(child.getNamespaceURI())) {
 				String text = child.getTextContent();
@@ -130,6 +190,54 @@ public class XCardElement {
 		return childrenText;
 	}
 
+	/**
+	 * Adds a value. Unlike {@link #append(VCardDataType, String)}, this method
+	 * does not require a DOM element to be created.
+	 * @param dataType the data type or null for the "unknown" data type
+	 * @param value the value
+	 */
+	public void add(VCardDataType dataType, String value) {
+		String dataTypeStr = toLocalName(dataType);
+		add(dataTypeStr, value);
+	}
+
+	/**
+	 * Adds a child element. Unlike {@link #append(String, String)}, this method
+	 * does not require a DOM element to be created.
+	 * @param name the name of the child element
+	 * @param value the value of the child element
+	 */
+	public void add(String name, String value) {
+		if (element != null) {
+			append(name, value);
+			return;
+		}
+
+		buffer.start(namespace, name, null);
+		if (value != null && value.length() > 0) {
+			buffer.text(value);
+		}
+		buffer.end();
+	}
+
+	/**
+	 * Adds multiple child elements, each with the same name. Unlike
+	 * {@link #append(String, Collection)}, this method does not require a DOM
+	 * element to be created.
+	 * @param name the name for all the child elements
+	 * @param values the values of each child element
+	 */
+	public void add(String name, Collection<String> values) {
+		if (values.isEmpty()) {
+			add(name, (String) null);
+			return;
+		}
+
+		for (String value : values) {
+			add(name, value);
+		}
+	}
+
 	/**
 	 * Adds a value.
 	 * @param dataType the data type or null for the "unknown" data type
@@ -150,7 +258,7 @@ public class XCardElement {
 	public Element append(String name, String value) {
 		Element child = document.createElementNS(namespace, name);
 		child.setTextContent(value);
-		element.appendChild(child);
+		element().appendChild(child);
 		return child;
 	}
 
@@ -182,13 +290,27 @@ public class XCardElement {
 	}
 
 	/**
-	 * Gets the wrapped XML element.
+	 * Gets the wrapped XML element. If this object is backed by an event
+	 * buffer, the element is created from the buffer the first time this
+	 * method is called.
 	 * @return the wrapped XML element
 	 */
 	public Element element() {
+		if (element == null) {
+			element = buffer.toElement(document);
+		}
 		return element;
 	}
 
+	/**
+	 * Determines if this object is still backed by its event buffer (in other
+	 * words, no DOM element has been created).
+	 * @return true if it is backed by an event buffer, false if not
+	 */
+	boolean isBuffered() {
+		return element == null;
+	}
+
 	/**
 	 * Gets the vCard version.
 	 * @return the vCard version
@@ -214,6 +336,25 @@ public class XCardElement {
 	 */
 	public XCardValue firstValue() {
 		String elementNamespace = version.getXmlNamespace();
+		if (element == null) {
+			int end = buffer.endOf(0);
+			for (int i = 1; i < end; i++) {
+				if (buffer.type(i) != XmlEventBuffer.START) {
+					continue;
+				}
+
+				int childEnd = buffer.endOf(i);
+				if (elementNamespace.equals(buffer.namespace(i))) {
+					VCardDataType dataType = toDataType(buffer.value(i));
+					String value = buffer.textContent(i + 1, childEnd);
+					return new XCardValue(dataType, value);
+				}
+				i = childEnd;
+			}
+
+			return new XCardValue(null, buffer.textContent(1, end));
+		}
+
 		for (Element child : children()) {
 			String childNamespace = child.getNamespaceURI();
 			if (elementNamespace.equals(childNamespace)) {
@@ -5,10 +5,8 @@ import static ezvcard.io.xml.XCardQNames.PARAMETERS;
 import static ezvcard.io.xml.XCardQNames.VCARD;
 import static ezvcard.io.xml.XCardQNames.VCARDS;
 
-import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -16,26 +14,18 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 
+import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
-import javax.xml.transform.ErrorListener;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.sax.SAXResult;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
+import org.w3c.dom.Attr;
+import org.w3c.dom.CharacterData;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
 
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
@@ -49,6 +39,7 @@ import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.Xml;
 import ezvcard.util.ClearableStringBuilder;
+import ezvcard.util.MappedFileInputStream;
 import ezvcard.util.XmlUtils;
 
 /*
@@ -109,16 +100,14 @@ public class XCardReader extends StreamReader {
 	private final VCardVersion version = VCardVersion.V4_0;
 	private final String NS = version.getXmlNamespace();
 
-	private final Source source;
+	private final InputStream in;
+	private final Reader reader;
+	private final Node node;
 	private final Closeable stream;
 
-	private volatile VCard readVCard;
-	private volatile TransformerException thrown;
-
-	private final ReadThread thread = new ReadThread();
-	private final Object lock = new Object();
-	private final BlockingQueue<Object> readerBlock = new ArrayBlockingQueue<Object>(1);
-	private final BlockingQueue<Object> threadBlock = new ArrayBlockingQueue<Object>(1);
+	private XmlCursor cursor;
+	private boolean finished = false;
+	private final XCardHandler handler = new XCardHandler();
 
 	/**
 	 * @param xml the XML to read from
@@ -131,23 +120,28 @@ public class XCardReader extends StreamReader {
 	 * @param in the input stream to read from
 	 */
 	public XCardReader(InputStream in) {
-		source = new StreamSource(in);
+		this.in = in;
+		this.reader = null;
+		this.node = null;
 		stream = in;
 	}
 
 	/**
-	 * @param file the file to read from
+	 * @param file the file to read from (it is memory-mapped)
 	 * @throws FileNotFoundException if the file doesn't exist
+	 * @see MappedFileInputStream
 	 */
 	public XCardReader(File file) throws FileNotFoundException {
-		this(new BufferedInputStream(new FileInputStream(file)));
+		this(new MappedFileInputStream(file));
 	}
 
 	/**
 	 * @param reader the reader to read from
 	 */
 	public XCardReader(Reader reader) {
-		source = new StreamSource(reader);
+		this.in = null;
+		this.reader = reader;
+		this.node = null;
 		stream = reader;
 	}
 
@@ -155,119 +149,111 @@ public class XCardReader extends StreamReader {
 	 * @param node the DOM node to read from
 	 */
 	public XCardReader(Node node) {
-		source = new DOMSource(node);
+		this.in = null;
+		this.reader = null;
+		this.node = node;
 		stream = null;
 	}
 
 	@Override
 	protected VCard _readNext() throws IOException {
-		readVCard = null;
-		thrown = null;
 		context.setVersion(version);
 
-		if (!thread.started) {
-			thread.start();
-		} else {
-			if (thread.finished || thread.closed) {
-				return null;
-			}
-
-			try {
-				threadBlock.put(lock);
-			} catch (InterruptedException e) {
-				return null;
-			}
-		}
-
-		//wait until thread reads xCard
-		try {
-			readerBlock.take();
-		} catch (InterruptedException e) {
+		if (finished) {
 			return null;
 		}
 
-		if (thrown != null) {
-			throw new IOException(thrown);
-		}
-
-		return readVCard;
-	}
-
-	private class ReadThread extends Thread {
-		private final SAXResult result;
-		private final Transformer transformer;
-		private volatile boolean finished = false, started = false, closed = false;
-
-		public ReadThread() {
-			setName(getClass().getSimpleName());
-
-			//create the transformer
-			try {
-				TransformerFactory factory = TransformerFactory.newInstance();
-				XmlUtils.applyXXEProtection(factory);
-
-				transformer = factory.newTransformer();
-			} catch (TransformerConfigurationException e) {
-				//shouldn't be thrown because it's a simple configuration
-				throw new RuntimeException(e);
+		try {
+			if (cursor == null) {
+				cursor = createCursor();
 			}
 
-			//prevent error messages from being printed to stderr
-			transformer.setErrorListener(new NoOpErrorListener());
+			//pull events until a complete <vcard> element has been read
+			while (true) {
+				switch (cursor.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					handler.startElement();
+					break;
 
-			result = new SAXResult(new ContentHandlerImpl());
-		}
+				case XMLStreamConstants.END_ELEMENT:
+					VCard vcard = handler.endElement();
+					if (vcard != null) {
+						return vcard;
+					}
+					break;
 
-		@Override
-		public void run() {
-			started = true;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					handler.characters();
+					break;
 
-			try {
-				transformer.transform(source, result);
-			} catch (TransformerException e) {
-				if (!thread.closed) {
-					thrown = e;
-				}
-			} finally {
-				finished = true;
-				try {
-					readerBlock.put(lock);
-				} catch (InterruptedException e) {
-					//ignore
+				case XMLStreamConstants.END_DOCUMENT:
+					finished = true;
+					return null;
 				}
 			}
+		} catch (XMLStreamException e) {
+			finished = true;
+			throw new IOException(e);
+		}
+	}
+
+	private XmlCursor createCursor() throws XMLStreamException {
+		if (node != null) {
+			return new DomCursor(node);
 		}
+
+		XMLStreamReader xmlReader = (in == null) ? XmlUtils.createXMLStreamReader(reader) : XmlUtils.createXMLStreamReader(in);
+		return new StaxCursor(xmlReader);
 	}
 
-	private class ContentHandlerImpl extends DefaultHandler {
+	/**
+	 * Converts the XML events that make up each {@code <vcard>} element into a
+	 * {@link VCard} object.
+	 */
+	private class XCardHandler {
 		private final Document DOC = XmlUtils.createDocument();
 		private final XCardStructure structure = new XCardStructure();
 		private final ClearableStringBuilder characterBuffer = new ClearableStringBuilder();
+		private final XmlEventBuffer propertyEvents = new XmlEventBuffer();
 
+		private VCard readVCard;
 		private String group;
-		private Element propertyElement, parent;
+		private boolean inProperty = false;
 		private QName paramName;
 		private VCardParameters parameters;
 
-		@Override
-		public void characters(char[] buffer, int start, int length) throws SAXException {
+		/**
+		 * The depth of the element that is currently being skipped over, or
+		 * zero if no elements are being skipped.
+		 */
+		private int skipDepth = 0;
+
+		public void characters() {
 			/*
 			 * Ignore all text nodes that are outside of a property element. All
 			 * valid text nodes will be inside of property elements (parameter
 			 * values and property values)
 			 */
-			if (propertyElement == null) {
+			if (!inProperty) {
 				return;
 			}
 
-			characterBuffer.append(buffer, start, length);
+			cursor.appendText(characterBuffer);
 		}
 
-		@Override
-		public void startElement(String namespace, String localName, String qName, Attributes attributes) throws SAXException {
+		public void startElement() {
+			String namespace = cursor.getNamespaceURI();
+			String localName = cursor.getLocalName();
 			QName qname = new QName(namespace, localName);
 			String textContent = characterBuffer.getAndClear();
 
+			if (skipDepth > 0) {
+				skipDepth++;
+				return;
+			}
+
 			if (structure.isEmpty()) {
 				//<vcards>
 				if (VCARDS.equals(qname)) {
@@ -293,20 +279,24 @@ public class XCardReader extends StreamReader {
 				case vcard:
 					//<group>
 					if (GROUP.equals(qname)) {
-						group = attributes.getValue("name");
+						group = getAttribute("name");
 						typeToPush = ElementType.group;
+					} else if (!isPropertyIncluded(localName)) {
+						skipDepth = 1;
+						return;
 					} else {
-						propertyElement = createElement(namespace, localName, attributes);
-						parameters = new VCardParameters();
-						parent = propertyElement;
+						startProperty(namespace, localName);
 						typeToPush = ElementType.property;
 					}
 					break;
 
 				case group:
-					propertyElement = createElement(namespace, localName, attributes);
-					parameters = new VCardParameters();
-					parent = propertyElement;
+					if (!isPropertyIncluded(localName)) {
+						skipDepth = 1;
+						return;
+					}
+
+					startProperty(namespace, localName);
 					typeToPush = ElementType.property;
 					break;
 
@@ -338,31 +328,38 @@ public class XCardReader extends StreamReader {
 			}
 
 			//append to property element
-			if (propertyElement != null && typeToPush != ElementType.property && typeToPush != ElementType.parameters && !structure.isUnderParameters()) {
+			if (inProperty && typeToPush != ElementType.property && typeToPush != ElementType.parameters && !structure.isUnderParameters()) {
 				if (textContent.length() > 0) {
-					parent.appendChild(DOC.createTextNode(textContent));
+					propertyEvents.text(textContent);
 				}
-				Element element = createElement(namespace, localName, attributes);
-				parent.appendChild(element);
-				parent = element;
+				propertyEvents.start(namespace, localName, getAttributes());
 			}
 
 			structure.push(typeToPush);
 		}
 
-		@Override
-		public void endElement(String namespace, String localName, String qName) throws SAXException {
+		/**
+		 * Handles the end of an XML element.
+		 * @return the vCard that was just completed or null if the element was
+		 * not the end of a {@code <vcard>} element
+		 */
+		public VCard endElement() {
 			String textContent = characterBuffer.getAndClear();
 
+			if (skipDepth > 0) {
+				skipDepth--;
+				return null;
+			}
+
 			if (structure.isEmpty()) {
 				//no <vcards> elements were read yet
-				return;
+				return null;
 			}
 
 			ElementType type = structure.pop();
-			if (type == null && (propertyElement == null || structure.isUnderParameters())) {
+			if (type == null && (!inProperty || structure.isUnderParameters())) {
 				//it's a non-xCard element
-				return;
+				return null;
 			}
 
 			if (type != null) {
@@ -380,12 +377,14 @@ public class XCardReader extends StreamReader {
 					break;
 
 				case property:
-					propertyElement.appendChild(DOC.createTextNode(textContent));
+					propertyEvents.text(textContent);
+					propertyEvents.end();
 
-					String propertyName = localName;
+					String propertyName = cursor.getLocalName();
 					VCardProperty property;
-					QName propertyQName = new QName(propertyElement.getNamespaceURI(), propertyElement.getLocalName());
+					QName propertyQName = new QName(propertyEvents.namespace(0), propertyEvents.value(0));
 					VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(propertyQName);
+					XCardElement propertyElement = new XCardElement(propertyEvents, DOC, version);
 
 					context.getWarnings().clear();
 					context.setPropertyName(propertyName);
@@ -422,7 +421,7 @@ public class XCardReader extends StreamReader {
 						//@formatter:on
 					}
 
-					propertyElement = null;
+					inProperty = false;
 					break;
 
 				case group:
@@ -430,14 +429,9 @@ public class XCardReader extends StreamReader {
 					break;
 
 				case vcard:
-					//wait for readNext() to be called again
-					try {
-						readerBlock.put(lock);
-						threadBlock.take();
-					} catch (InterruptedException e) {
-						throw new SAXException(e);
-					}
-					break;
+					VCard vcard = readVCard;
+					readVCard = null;
+					return vcard;
 
 				case vcards:
 					//do nothing
@@ -446,31 +440,49 @@ public class XCardReader extends StreamReader {
 			}
 
 			//append element to property element
-			if (propertyElement != null && type != ElementType.property && type != ElementType.parameters && !structure.isUnderParameters()) {
+			if (inProperty && type != ElementType.property && type != ElementType.parameters && !structure.isUnderParameters()) {
 				if (textContent.length() > 0) {
-					parent.appendChild(DOC.createTextNode(textContent));
+					propertyEvents.text(textContent);
 				}
-				parent = (Element) parent.getParentNode();
+				propertyEvents.end();
 			}
+
+			return null;
 		}
 
-		private Element createElement(String namespace, String localName, Attributes attributes) {
-			Element element = DOC.createElementNS(namespace, localName);
-			applyAttributesTo(element, attributes);
-			return element;
+		private void startProperty(String namespace, String localName) {
+			propertyEvents.clear();
+			propertyEvents.start(namespace, localName, getAttributes());
+			parameters = new VCardParameters();
+			inProperty = true;
 		}
 
-		private void applyAttributesTo(Element element, Attributes attributes) {
-			for (int i = 0; i < attributes.getLength(); i++) {
-				String qname = attributes.getQName(i);
-				if (qname.startsWith("xmlns:")) {
-					continue;
-				}
+		/**
+		 * Gets the attributes of the current element.
+		 * @return the attributes as alternating local names and values, or null
+		 * if the element has no attributes
+		 */
+		private String[] getAttributes() {
+			int count = cursor.getAttributeCount();
+			if (count == 0) {
+				return null;
+			}
 
-				String name = attributes.getLocalName(i);
-				String value = attributes.getValue(i);
-				element.setAttribute(name, value);
+			String[] attributes = new String[count * 2];
+			for (int i = 0; i < count; i++) {
+				attributes[i * 2] = cursor.getAttributeLocalName(i);
+				attributes[i * 2 + 1] = cursor.getAttributeValue(i);
 			}
+			return attributes;
+		}
+
+		private String getAttribute(String localName) {
+			for (int i = 0; i < cursor.getAttributeCount(); i++) {
+				if (localName.equals(cursor.getAttributeLocalName(i))) {
+					return cursor.getAttributeValue(i);
+				}
+			}
+			return null;
 		}
 	}
 
@@ -553,29 +565,216 @@ public class XCardReader extends StreamReader {
 	}
 
 	/**
-	 * An implementation of {@link ErrorListener} that doesn't do anything.
+	 * Pulls XML events from the input one at a time. The event types are the
+	 * same as those defined in {@link XMLStreamConstants}.
 	 */
-	private static class NoOpErrorListener implements ErrorListener {
-		public void error(TransformerException e) {
-			//do nothing
+	private interface XmlCursor {
+		/**
+		 * Advances to the next event.
+		 * @return the event type
+		 * @throws XMLStreamException if the XML is malformed
+		 */
+		int next() throws XMLStreamException;
+
+		/**
+		 * Gets the namespace of the current element.
+		 * @return the namespace or null if it does not have one
+		 */
+		String getNamespaceURI();
+
+		/**
+		 * Gets the local name of the current element.
+		 * @return the local name
+		 */
+		String getLocalName();
+
+		/**
+		 * Gets the number of attributes the current element has, excluding
+		 * namespace declarations.
+		 * @return the number of attributes
+		 */
+		int getAttributeCount();
+
+		/**
+		 * Gets the local name of one of the current element's attributes.
+		 * @param index the attribute index
+		 * @return the local name
+		 */
+		String getAttributeLocalName(int index);
+
+		/**
+		 * Gets the value of one of the current element's attributes.
+		 * @param index the attribute index
+		 * @return the value
+		 */
+		String getAttributeValue(int index);
+
+		/**
+		 * Appends the current text event to a buffer.
+		 * @param buffer the buffer
+		 */
+		void appendText(ClearableStringBuilder buffer);
+
+		/**
+		 * Frees any resources associated with the cursor. This does not close
+		 * the underlying input stream.
+		 * @throws XMLStreamException if there's a problem closing the cursor
+		 */
+		void close() throws XMLStreamException;
+	}
+
+	/**
+	 * Pulls XML events from a StAX parser.
+	 */
+	private static class StaxCursor implements XmlCursor {
+		private final XMLStreamReader reader;
+
+		public StaxCursor(XMLStreamReader reader) {
+			this.reader = reader;
 		}
 
-		public void fatalError(TransformerException e) {
-			//do nothing
+		public int next() throws XMLStreamException {
+			return reader.next();
+		}
+
+		public String getNamespaceURI() {
+			return reader.getNamespaceURI();
+		}
+
+		public String getLocalName() {
+			return reader.getLocalName();
+		}
+
+		public int getAttributeCount() {
+			return reader.getAttributeCount();
+		}
+
+		public String getAttributeLocalName(int index) {
+			return reader.getAttributeLocalName(index);
+		}
+
+		public String getAttributeValue(int index) {
+			return reader.getAttributeValue(index);
+		}
+
+		public void appendText(ClearableStringBuilder buffer) {
+			buffer.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+		}
+
+		public void close() throws XMLStreamException {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Generates XML events by walking a DOM tree in document order.
+	 */
+	private static class DomCursor implements XmlCursor {
+		private final Node root;
+		private final List<Attr> attributes = new ArrayList<Attr>();
+		private Node node;
+		private boolean exiting = false;
+
+		public DomCursor(Node root) {
+			this.root = root;
+		}
+
+		public int next() {
+			if (node == null) {
+				node = root;
+			} else if (!exiting && node.getFirstChild() != null) {
+				node = node.getFirstChild();
+			} else if (!exiting && node.getNodeType() == Node.ELEMENT_NODE) {
+				//the element has no children, so close it
+				exiting = true;
+				return XMLStreamConstants.END_ELEMENT;
+			} else if (node == root) {
+				return XMLStreamConstants.END_DOCUMENT;
+			} else if (node.getNextSibling() != null) {
+				node = node.getNextSibling();
+				exiting = false;
+			} else {
+				node = node.getParentNode();
+				exiting = true;
+				return (node.getNodeType() == Node.ELEMENT_NODE) ? XMLStreamConstants.END_ELEMENT : next();
+			}
+
+			switch (node.getNodeType()) {
+			case Node.ELEMENT_NODE:
+				loadAttributes();
+				return XMLStreamConstants.START_ELEMENT;
+			case Node.TEXT_NODE:
+				return XMLStreamConstants.CHARACTERS;
+			case Node.CDATA_SECTION_NODE:
+				return XMLStreamConstants.CDATA;
+			case Node.DOCUMENT_NODE:
+				return XMLStreamConstants.START_DOCUMENT;
+			case Node.ENTITY_REFERENCE_NODE:
+				return XMLStreamConstants.ENTITY_REFERENCE;
+			default:
+				return XMLStreamConstants.COMMENT;
+			}
+		}
+
+		private void loadAttributes() {
+			attributes.clear();
+			NamedNodeMap map = node.getAttributes();
+			for (int i = 0; i < map.getLength(); i++) {
+				Attr attribute = (Attr) map.item(i);
+				if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI()) || attribute.getName().startsWith("xmlns")) {
+					//skip namespace declarations
+					continue;
+				}
+				attributes.add(attribute);
+			}
 		}
 
-		public void warning(TransformerException e) {
+		public String getNamespaceURI() {
+			return node.getNamespaceURI();
+		}
+
+		public String getLocalName() {
+			return localName(node);
+		}
+
+		public int getAttributeCount() {
+			return attributes.size();
+		}
+
+		public String getAttributeLocalName(int index) {
+			return localName(attributes.get(index));
+		}
+
+		public String getAttributeValue(int index) {
+			return attributes.get(index).getValue();
+		}
+
+		public void appendText(ClearableStringBuilder buffer) {
+			buffer.append(((CharacterData) node).getData());
+		}
+
+		public void close() {
 			//do nothing
 		}
+
+		private static String localName(Node node) {
+			String localName = node.getLocalName();
+			return (localName == null) ? node.getNodeName() : localName;
+		}
 	}
 
 	/**
 	 * Closes the underlying input stream.
 	 */
 	public void close() throws IOException {
-		if (thread.isAlive()) {
-			thread.closed = true;
-			thread.interrupt();
+		finished = true;
+
+		if (cursor != null) {
+			try {
+				cursor.close();
+			} catch (XMLStreamException e) {
+				//ignore
+			}
 		}
 
 		if (stream != null) {
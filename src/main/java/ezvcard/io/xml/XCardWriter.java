@@ -9,17 +9,20 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Result;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMResult;
-import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 
@@ -41,7 +44,6 @@ import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.Xml;
-import ezvcard.util.ListMultimap;
 import ezvcard.util.Utf8Writer;
 import ezvcard.util.XmlUtils;
 
@@ -95,6 +97,18 @@ import ezvcard.util.XmlUtils;
  *   if (writer != null) writer.close();
  * }
  * </pre>
+ * 
+ * <p>
+ * By default, the XML is serialized using a JAXP {@link Transformer}. For
+ * large exports, the XML can be written directly to a StAX
+ * {@link XMLStreamWriter} instead, which bypasses the transformer.
+ * </p>
+ * 
+ * <pre class="brush:java">
+ * XMLStreamWriter xmlWriter = XmlUtils.createXMLStreamWriter(out);
+ * XCardWriter writer = new XCardWriter(xmlWriter, 2);
+ * ...
+ * </pre>
  * @author Michael Angstadt
  * @see <a href="http://tools.ietf.org/html/rfc6351">RFC 6351</a>
  */
@@ -102,10 +116,18 @@ public class XCardWriter extends XCardWriterBase {
 	//How to use SAX to write XML: http://stackoverflow.com/q/4898590
 
 	private final Document DOC = XmlUtils.createDocument();
+	private final XmlEventBuffer propertyEvents = new XmlEventBuffer();
 
 	private final Writer writer;
-	private final TransformerHandler handler;
+	private final XmlOutput output;
 	private final boolean vcardsElementExists;
+
+	/**
+	 * The properties of the vCard being written, grouped by group name (null =
+	 * no group name) in the order the groups first appear. Reused for each
+	 * vCard.
+	 */
+	private final Map<String, List<VCardProperty>> groups = new LinkedHashMap<String, List<VCardProperty>>();
 	private boolean started = false;
 
 	/**
@@ -236,6 +258,26 @@ public class XCardWriter extends XCardWriterBase {
 		this(null, parent, Collections.<String, String> emptyMap());
 	}
 
+	/**
+	 * @param writer the StAX writer to write to (the underlying output stream
+	 * is not closed when {@link #close} is called)
+	 */
+	public XCardWriter(XMLStreamWriter writer) {
+		this(writer, null);
+	}
+
+	/**
+	 * @param writer the StAX writer to write to (the underlying output stream
+	 * is not closed when {@link #close} is called)
+	 * @param indent the number of indent spaces to use for pretty-printing or
+	 * null to disable pretty-printing (disabled by default)
+	 */
+	public XCardWriter(XMLStreamWriter writer, Integer indent) {
+		this.writer = null;
+		this.output = new StaxOutput(writer, indent);
+		this.vcardsElementExists = false;
+	}
+
 	private XCardWriter(Writer writer, Node parent, Map<String, String> outputProperties) {
 		this.writer = writer;
 
@@ -247,12 +289,7 @@ public class XCardWriter extends XCardWriterBase {
 		}
 		this.vcardsElementExists = isVCardsElement(parent);
 
-		try {
-			SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
-			handler = factory.newTransformerHandler();
-		} catch (TransformerConfigurationException e) {
-			throw new RuntimeException(e);
-		}
+		TransformerHandler handler = XmlUtils.createTransformerHandler();
 
 		Transformer transformer = handler.getTransformer();
 
@@ -268,6 +305,7 @@ public class XCardWriter extends XCardWriterBase {
 
 		Result result = (writer == null) ? new DOMResult(parent) : new StreamResult(writer);
 		handler.setResult(result);
+		output = new SaxOutput(handler);
 	}
 
 	private boolean isVCardsElement(Node node) {
@@ -286,7 +324,7 @@ public class XCardWriter extends XCardWriterBase {
 	protected void _write(VCard vcard, List<VCardProperty> properties) throws IOException {
 		try {
 			if (!started) {
-				handler.startDocument();
+				output.startDocument();
 
 				if (!vcardsElementExists) {
 					//don't output a <vcards> element if the parent is a <vcards> element
@@ -296,14 +334,20 @@ public class XCardWriter extends XCardWriterBase {
 				started = true;
 			}
 
-			ListMultimap<String, VCardProperty> propertiesByGroup = new ListMultimap<String, VCardProperty>(); //group the types by group name (null = no group name)
+			groups.clear();
 			for (VCardProperty property : properties) {
-				propertiesByGroup.put(property.getGroup(), property);
+				String group = property.getGroup();
+				List<VCardProperty> groupProperties = groups.get(group);
+				if (groupProperties == null) {
+					groupProperties = new ArrayList<VCardProperty>();
+					groups.put(group, groupProperties);
+				}
+				groupProperties.add(property);
 			}
 
 			start(VCARD);
 
-			for (Map.Entry<String, List<VCardProperty>> entry : propertiesByGroup) {
+			for (Map.Entry<String, List<VCardProperty>> entry : groups.entrySet()) {
 				String groupName = entry.getKey();
 				if (groupName != null) {
 					AttributesImpl attr = new AttributesImpl();
@@ -333,7 +377,7 @@ public class XCardWriter extends XCardWriterBase {
 	public void close() throws IOException {
 		try {
 			if (!started) {
-				handler.startDocument();
+				output.startDocument();
 
 				if (!vcardsElementExists) {
 					//don't output a <vcards> element if the parent is a <vcards> element
@@ -344,7 +388,7 @@ public class XCardWriter extends XCardWriterBase {
 			if (!vcardsElementExists) {
 				end(VCARDS);
 			}
-			handler.endDocument();
+			output.endDocument();
 		} catch (SAXException e) {
 			throw new IOException(e);
 		}
@@ -357,7 +401,7 @@ public class XCardWriter extends XCardWriterBase {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private void write(VCardProperty property, VCard vcard) throws SAXException {
 		VCardPropertyScribe scribe = index.getPropertyScribe(property);
-		VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
+		VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard, mostPreferred);
 
 		removeUnsupportedParameters(parameters);
 
@@ -372,14 +416,29 @@ public class XCardWriter extends XCardWriterBase {
 			propertyElement = value.getDocumentElement();
 		} else {
 			QName qname = scribe.getQName();
-			propertyElement = DOC.createElementNS(qname.getNamespaceURI(), qname.getLocalPart());
+			propertyEvents.clear();
+			propertyEvents.start(qname.getNamespaceURI(), qname.getLocalPart(), null);
+			XCardElement xcardElement = new XCardElement(propertyEvents, DOC, targetVersion);
 			try {
-				scribe.writeXml(property, propertyElement);
+				scribe.writeXml(property, xcardElement);
 			} catch (SkipMeException e) {
 				return;
 			} catch (EmbeddedVCardException e) {
 				return;
 			}
+
+			if (xcardElement.isBuffered()) {
+				//the scribe did not need a DOM, so write the recorded events directly
+				propertyEvents.end();
+				start(qname, new AttributesImpl());
+				write(parameters);
+				writeEvents(1, propertyEvents.size() - 1);
+				end(qname);
+				return;
+			}
+
+			//the scribe worked with the DOM, so fall back to writing the DOM
+			propertyElement = xcardElement.element();
 		}
 
 		start(propertyElement);
@@ -417,6 +476,37 @@ public class XCardWriter extends XCardWriterBase {
 		}
 	}
 
+	/**
+	 * Writes the events in the property event buffer to the output stream.
+	 * @param from the index of the first event (inclusive)
+	 * @param to the index of the last event (exclusive)
+	 * @throws SAXException if there's a problem writing to the output stream
+	 */
+	private void writeEvents(int from, int to) throws SAXException {
+		for (int i = from; i < to; i++) {
+			switch (propertyEvents.type(i)) {
+			case XmlEventBuffer.START:
+				AttributesImpl attributes = new AttributesImpl();
+				String[] attributeValues = propertyEvents.attributes(i);
+				if (attributeValues != null) {
+					for (int j = 0; j < attributeValues.length; j += 2) {
+						attributes.addAttribute("", "", attributeValues[j], "", attributeValues[j + 1]);
+					}
+				}
+				start(propertyEvents.namespace(i), propertyEvents.value(i), attributes);
+				break;
+
+			case XmlEventBuffer.TEXT:
+				text(propertyEvents.value(i));
+				break;
+
+			case XmlEventBuffer.END:
+				end(propertyEvents.namespace(i), propertyEvents.value(i));
+				break;
+			}
+		}
+	}
+
 	private void write(VCardParameters parameters) throws SAXException {
 		if (parameters.isEmpty()) {
 			return;
@@ -451,8 +541,8 @@ public class XCardWriter extends XCardWriterBase {
 	 */
 	private void childless(Element element) throws SAXException {
 		Attributes attributes = getElementAttributes(element);
-		handler.startElement(element.getNamespaceURI(), "", element.getLocalName(), attributes);
-		handler.endElement(element.getNamespaceURI(), "", element.getLocalName());
+		output.startElement(element.getNamespaceURI(), element.getLocalName(), attributes);
+		output.endElement(element.getNamespaceURI(), element.getLocalName());
 	}
 
 	private void start(Element element) throws SAXException {
@@ -477,7 +567,7 @@ public class XCardWriter extends XCardWriterBase {
 	}
 
 	private void start(String namespace, String element, Attributes attributes) throws SAXException {
-		handler.startElement(namespace, "", element, attributes);
+		output.startElement(namespace, element, attributes);
 	}
 
 	private void end(Element element) throws SAXException {
@@ -493,11 +583,11 @@ public class XCardWriter extends XCardWriterBase {
 	}
 
 	private void end(String namespace, String element) throws SAXException {
-		handler.endElement(namespace, "", element);
+		output.endElement(namespace, element);
 	}
 
 	private void text(String text) throws SAXException {
-		handler.characters(text.toCharArray(), 0, text.length());
+		output.characters(text);
 	}
 
 	private Attributes getElementAttributes(Element element) {
@@ -507,6 +597,10 @@ public class XCardWriter extends XCardWriterBase {
 			Node node = attributeNodes.item(i);
 
 			String localName = node.getLocalName();
+			if (localName == null) {
+				//the element was not created in a namespace-aware way
+				localName = node.getNodeName();
+			}
 			if ("xmlns".equals(localName)) {
 				continue;
 			}
@@ -515,4 +609,225 @@ public class XCardWriter extends XCardWriterBase {
 		}
 		return attributes;
 	}
+
+	/**
+	 * The destination of the XML events that make up the xCard document.
+	 */
+	private interface XmlOutput {
+		/**
+		 * Starts the XML document.
+		 * @throws SAXException if there's a problem writing to the output
+		 * stream
+		 */
+		void startDocument() throws SAXException;
+
+		/**
+		 * Starts an element.
+		 * @param namespace the element's namespace
+		 * @param localName the element's local name
+		 * @param attributes the element's attributes
+		 * @throws SAXException if there's a problem writing to the output
+		 * stream
+		 */
+		void startElement(String namespace, String localName, Attributes attributes) throws SAXException;
+
+		/**
+		 * Ends an element.
+		 * @param namespace the element's namespace
+		 * @param localName the element's local name
+		 * @throws SAXException if there's a problem writing to the output
+		 * stream
+		 */
+		void endElement(String namespace, String localName) throws SAXException;
+
+		/**
+		 * Writes text content.
+		 * @param text the text
+		 * @throws SAXException if there's a problem writing to the output
+		 * stream
+		 */
+		void characters(String text) throws SAXException;
+
+		/**
+		 * Ends the XML document.
+		 * @throws SAXException if there's a problem writing to the output
+		 * stream
+		 */
+		void endDocument() throws SAXException;
+	}
+
+	/**
+	 * Sends the XML events to a JAXP transformer.
+	 */
+	private static class SaxOutput implements XmlOutput {
+		private final TransformerHandler handler;
+
+		public SaxOutput(TransformerHandler handler) {
+			this.handler = handler;
+		}
+
+		public void startDocument() throws SAXException {
+			handler.startDocument();
+		}
+
+		public void startElement(String namespace, String localName, Attributes attributes) throws SAXException {
+			handler.startElement(namespace, "", localName, attributes);
+		}
+
+		public void endElement(String namespace, String localName) throws SAXException {
+			handler.endElement(namespace, "", localName);
+		}
+
+		public void characters(String text) throws SAXException {
+			handler.characters(text.toCharArray(), 0, text.length());
+		}
+
+		public void endDocument() throws SAXException {
+			handler.endDocument();
+		}
+	}
+
+	/**
+	 * Writes the XML events directly to a StAX writer.
+	 */
+	private static class StaxOutput implements XmlOutput {
+		private final XMLStreamWriter writer;
+		private final String indent;
+
+		/**
+		 * The default namespace of each open element.
+		 */
+		private String[] namespaces = new String[16];
+
+		/**
+		 * Whether each open element has child elements.
+		 */
+		private boolean[] parents = new boolean[16];
+		private int depth = 0;
+		private int prefixCount = 0;
+
+		public StaxOutput(XMLStreamWriter writer, Integer indent) {
+			this.writer = writer;
+
+			if (indent == null) {
+				this.indent = null;
+			} else {
+				char[] spaces = new char[indent];
+				Arrays.fill(spaces, ' ');
+				this.indent = new String(spaces);
+			}
+		}
+
+		public void startDocument() throws SAXException {
+			try {
+				writer.writeStartDocument();
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		public void startElement(String namespace, String localName, Attributes attributes) throws SAXException {
+			if (namespace == null) {
+				namespace = "";
+			}
+			String parentNamespace = (depth == 0) ? "" : namespaces[depth - 1];
+
+			try {
+				if (depth > 0) {
+					parents[depth - 1] = true;
+					newline(depth);
+				}
+
+				writer.writeStartElement("", localName, namespace);
+				if (!namespace.equals(parentNamespace)) {
+					writer.writeDefaultNamespace(namespace);
+				}
+
+				for (int i = 0; i < attributes.getLength(); i++) {
+					String attributeNamespace = attributes.getURI(i);
+					if (namespace.equals(attributeNamespace)) {
+						//treat attributes in the element's namespace as unqualified, like the JAXP transformer does
+						attributeNamespace = null;
+					}
+					String attributeName = attributes.getLocalName(i);
+					if (attributeName == null || attributeName.length() == 0) {
+						attributeName = attributes.getQName(i);
+					}
+					writeAttribute(attributeNamespace, attributeName, attributes.getValue(i));
+				}
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+
+			if (depth == namespaces.length) {
+				namespaces = Arrays.copyOf(namespaces, depth * 2);
+				parents = Arrays.copyOf(parents, depth * 2);
+			}
+			namespaces[depth] = namespace;
+			parents[depth] = false;
+			depth++;
+		}
+
+		private void writeAttribute(String namespace, String localName, String value) throws XMLStreamException {
+			if (namespace == null || namespace.length() == 0) {
+				writer.writeAttribute(localName, value);
+				return;
+			}
+
+			if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(namespace)) {
+				writer.writeNamespace(localName, value);
+				return;
+			}
+
+			String prefix;
+			if (XMLConstants.XML_NS_URI.equals(namespace)) {
+				prefix = XMLConstants.XML_NS_PREFIX;
+			} else {
+				prefix = "ns" + (++prefixCount);
+				writer.writeNamespace(prefix, namespace);
+			}
+			writer.writeAttribute(prefix, namespace, localName, value);
+		}
+
+		public void endElement(String namespace, String localName) throws SAXException {
+			depth--;
+			try {
+				if (parents[depth]) {
+					newline(depth);
+				}
+				writer.writeEndElement();
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		public void characters(String text) throws SAXException {
+			try {
+				writer.writeCharacters(text);
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		public void endDocument() throws SAXException {
+			try {
+				writer.writeEndDocument();
+				writer.flush();
+				writer.close();
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		private void newline(int depth) throws XMLStreamException {
+			if (indent == null) {
+				return;
+			}
+
+			writer.writeCharacters("\n");
+			for (int i = 0; i < depth; i++) {
+				writer.writeCharacters(indent);
+			}
+		}
+	}
 }
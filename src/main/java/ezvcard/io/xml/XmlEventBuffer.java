@@ -0,0 +1,259 @@
+package ezvcard.io.xml;
+
+import java.util.Arrays;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Records the XML events that make up an xCard property element (its start
+ * and end tags, child elements, attributes, and text). This allows property
+ * values to be read and written without building a DOM.
+ * </p>
+ * <p>
+ * The first event in the buffer is always the start of the property element
+ * itself. A DOM version of the recorded events can be created with
+ * {@link #toElement}.
+ * </p>
+ * @author Michael Angstadt
+ */
+class XmlEventBuffer {
+	static final int START = 0;
+	static final int TEXT = 1;
+	static final int END = 2;
+
+	private int[] types = new int[16];
+	private String[] namespaces = new String[16];
+	private String[] values = new String[16];
+	private String[][] attributes = new String[16][];
+	private int[] partners = new int[16];
+	private int size = 0;
+
+	private int[] open = new int[8];
+	private int depth = 0;
+
+	/**
+	 * Removes all events from the buffer.
+	 */
+	public void clear() {
+		Arrays.fill(namespaces, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		Arrays.fill(attributes, 0, size, null);
+		size = 0;
+		depth = 0;
+	}
+
+	/**
+	 * Records the start of an element.
+	 * @param namespace the element's namespace
+	 * @param localName the element's local name
+	 * @param attributes the element's attributes as alternating local names
+	 * and values, or null if it has none
+	 */
+	public void start(String namespace, String localName, String[] attributes) {
+		if (depth == open.length) {
+			open = Arrays.copyOf(open, depth * 2);
+		}
+		open[depth++] = size;
+		add(START, namespace, localName, attributes);
+	}
+
+	/**
+	 * Records a text node.
+	 * @param text the text
+	 */
+	public void text(String text) {
+		add(TEXT, null, text, null);
+	}
+
+	/**
+	 * Records the end of the most recently started element.
+	 */
+	public void end() {
+		int start = open[--depth];
+		int end = size;
+		add(END, namespaces[start], values[start], null);
+		partners[start] = end;
+		partners[end] = start;
+	}
+
+	private void add(int type, String namespace, String value, String[] attributes) {
+		if (size == types.length) {
+			int capacity = size * 2;
+			types = Arrays.copyOf(types, capacity);
+			namespaces = Arrays.copyOf(namespaces, capacity);
+			values = Arrays.copyOf(values, capacity);
+			this.attributes = Arrays.copyOf(this.attributes, capacity);
+			partners = Arrays.copyOf(partners, capacity);
+		}
+
+		types[size] = type;
+		namespaces[size] = namespace;
+		values[size] = value;
+		this.attributes[size] = attributes;
+		size++;
+	}
+
+	/**
+	 * Gets the number of recorded events.
+	 * @return the number of events
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the type of an event.
+	 * @param index the event index
+	 * @return the type ({@link #START}, {@link #TEXT}, or {@link #END})
+	 */
+	public int type(int index) {
+		return types[index];
+	}
+
+	/**
+	 * Gets the namespace of a start or end event.
+	 * @param index the event index
+	 * @return the namespace
+	 */
+	public String namespace(int index) {
+		return namespaces[index];
+	}
+
+	/**
+	 * Gets the local name of a start or end event, or the text of a text
+	 * event.
+	 * @param index the event index
+	 * @return the local name or text
+	 */
+	public String value(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Gets the attributes of a start event.
+	 * @param index the event index
+	 * @return the attributes as alternating local names and values, or null if
+	 * there are none
+	 */
+	public String[] attributes(int index) {
+		return attributes[index];
+	}
+
+	/**
+	 * Gets the index of the event that closes the given start event.
+	 * @param index the index of the start event
+	 * @return the index of the end event or the buffer's size if the element
+	 * has not been closed yet
+	 */
+	public int endOf(int index) {
+		for (int i = depth - 1; i >= 0; i--) {
+			if (open[i] == index) {
+				return size;
+			}
+		}
+		return partners[index];
+	}
+
+	/**
+	 * Gets the concatenated text of all the text events within the given
+	 * range, as {@link org.w3c.dom.Node#getTextContent()} would.
+	 * @param from the index of the first event (inclusive)
+	 * @param to the index of the last event (exclusive)
+	 * @return the text
+	 */
+	public String textContent(int from, int to) {
+		String first = null;
+		StringBuilder sb = null;
+		for (int i = from; i < to; i++) {
+			if (types[i] != TEXT) {
+				continue;
+			}
+
+			String text = values[i];
+			if (first == null) {
+				first = text;
+			} else {
+				if (sb == null) {
+					sb = new StringBuilder(first);
+				}
+				sb.append(text);
+			}
+		}
+
+		if (sb != null) {
+			return sb.toString();
+		}
+		return (first == null) ? "" : first;
+	}
+
+	/**
+	 * Builds a DOM element out of the recorded events. Elements that have not
+	 * been closed yet are closed in the DOM.
+	 * @param document the document to create the DOM nodes with
+	 * @return the property element or null if the buffer is empty
+	 */
+	public Element toElement(Document document) {
+		Element root = null;
+		Element parent = null;
+		for (int i = 0; i < size; i++) {
+			switch (types[i]) {
+			case START:
+				Element element = document.createElementNS(namespaces[i], values[i]);
+				String[] attributes = this.attributes[i];
+				if (attributes != null) {
+					for (int j = 0; j < attributes.length; j += 2) {
+						element.setAttribute(attributes[j], attributes[j + 1]);
+					}
+				}
+
+				if (parent == null) {
+					root = element;
+				} else {
+					parent.appendChild(element);
+				}
+				parent = element;
+				break;
+
+			case TEXT:
+				parent.appendChild(document.createTextNode(values[i]));
+				break;
+
+			case END:
+				parent = (parent == root) ? null : (Element) parent.getParentNode();
+				break;
+			}
+		}
+		return root;
+	}
+}
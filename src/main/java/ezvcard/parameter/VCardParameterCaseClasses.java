@@ -4,6 +4,7 @@ import java.lang.reflect.Constructor;
 
 import ezvcard.VCardVersion;
 import ezvcard.util.CaseClasses;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -65,4 +66,14 @@ public class VCardParameterCaseClasses<T extends VCardParameter> extends CaseCla
 	protected boolean matches(T object, String value) {
 		return object.getValue().equalsIgnoreCase(value);
 	}
+
+	@Override
+	protected String valueOf(T object) {
+		return object.getValue();
+	}
+
+	@Override
+	protected Object indexKey(String value) {
+		return (value == null) ? null : StringUtils.caseInsensitiveKey(value);
+	}
 }
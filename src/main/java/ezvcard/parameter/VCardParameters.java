@@ -20,6 +20,7 @@ import com.github.mangstadt.vinnie.validate.VObjectValidator;
 import ezvcard.Messages;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
+import ezvcard.ValidationCheck;
 import ezvcard.ValidationWarning;
 import ezvcard.property.Address;
 import ezvcard.property.ClientPidMap;
@@ -383,6 +384,18 @@ public class VCardParameters extends ListMultimap<String, String> {
 		super(orig);
 	}
 
+	/**
+	 * Creates a copy of an existing parameter list. If copy-on-write is
+	 * enabled, the parameter data is not copied until one of the two parameter
+	 * lists is modified.
+	 * @param orig the object to copy
+	 * @param copyOnWrite true to defer copying the data until one of the
+	 * parameter lists is modified, false to copy the data immediately
+	 */
+	public VCardParameters(VCardParameters orig, boolean copyOnWrite) {
+		super(orig, copyOnWrite);
+	}
+
 	/**
 	 * <p>
 	 * Creates a parameter list that is backed by the given map. Any changes
@@ -1336,50 +1349,28 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * @return a list of warnings or an empty list if no problems were found
 	 */
 	public List<ValidationWarning> validate(VCardVersion version) {
-		List<ValidationWarning> warnings = new ArrayList<ValidationWarning>(0);
-
-		/*
-		 * Check for invalid characters in names and values.
-		 */
-		SyntaxStyle syntax = version.getSyntaxStyle();
-		for (Map.Entry<String, List<String>> entry : this) {
-			String name = entry.getKey();
-
-			/*
-			 * Don't check LABEL parameter for 2.1 and 3.0 because this
-			 * parameter is converted to a property in those versions.
-			 */
-			if (version != VCardVersion.V4_0 && LABEL.equalsIgnoreCase(name)) {
-				continue;
-			}
-
-			//check the parameter name
-			if (!VObjectValidator.validateParameterName(name, syntax, true)) {
-				if (syntax == SyntaxStyle.OLD) {
-					AllowedCharacters notAllowed = VObjectValidator.allowedCharactersParameterName(syntax, true).flip();
-					warnings.add(new ValidationWarning(30, name, notAllowed.toString(true)));
-				} else {
-					warnings.add(new ValidationWarning(26, name));
-				}
-			}
+		return validate(version, EnumSet.allOf(ValidationCheck.class));
+	}
 
-			//check the parameter value(s)
-			List<String> values = entry.getValue();
-			for (String value : values) {
-				/*
-				 * Newlines are allowed in LABEL parameters, but are not allowed
-				 * by vobject, so remove them from the value before validating.
-				 */
-				if (LABEL.equalsIgnoreCase(name)) {
-					value = value.replaceAll("\r\n|\r|\n", "");
-				}
+	/**
+	 * <p>
+	 * Checks the parameters for data consistency problems or deviations from
+	 * the specification, only performing the given checks (only
+	 * {@link ValidationCheck#CHARACTERS} and
+	 * {@link ValidationCheck#PARAMETER_VALUES} apply to parameters).
+	 * </p>
+	 * @param version the vCard version to validate against
+	 * @param checks the checks to perform
+	 * @return a list of warnings or an empty list if no problems were found
+	 */
+	public List<ValidationWarning> validate(VCardVersion version, Set<ValidationCheck> checks) {
+		List<ValidationWarning> warnings = new ArrayList<ValidationWarning>(0);
 
-				if (!VObjectValidator.validateParameterValue(value, syntax, false, true)) {
-					AllowedCharacters notAllowed = VObjectValidator.allowedCharactersParameterValue(syntax, false, true).flip();
-					int code = (syntax == SyntaxStyle.OLD) ? 31 : 25;
-					warnings.add(new ValidationWarning(code, name, value, notAllowed.toString(true)));
-				}
-			}
+		if (checks.contains(ValidationCheck.CHARACTERS)) {
+			validateCharacters(version, warnings);
+		}
+		if (!checks.contains(ValidationCheck.PARAMETER_VALUES)) {
+			return warnings;
 		}
 
 		/*
@@ -1495,6 +1486,54 @@ public class VCardParameters extends ListMultimap<String, String> {
 		return warnings;
 	}
 
+	/**
+	 * Checks for invalid characters in parameter names and values.
+	 * @param version the vCard version to validate against
+	 * @param warnings the list to add the warnings to
+	 */
+	private void validateCharacters(VCardVersion version, List<ValidationWarning> warnings) {
+		SyntaxStyle syntax = version.getSyntaxStyle();
+		for (Map.Entry<String, List<String>> entry : getMap().entrySet()) {
+			String name = entry.getKey();
+
+			/*
+			 * Don't check LABEL parameter for 2.1 and 3.0 because this
+			 * parameter is converted to a property in those versions.
+			 */
+			if (version != VCardVersion.V4_0 && LABEL.equalsIgnoreCase(name)) {
+				continue;
+			}
+
+			//check the parameter name
+			if (!VObjectValidator.validateParameterName(name, syntax, true)) {
+				if (syntax == SyntaxStyle.OLD) {
+					AllowedCharacters notAllowed = VObjectValidator.allowedCharactersParameterName(syntax, true).flip();
+					warnings.add(new ValidationWarning(30, name, notAllowed.toString(true)));
+				} else {
+					warnings.add(new ValidationWarning(26, name));
+				}
+			}
+
+			//check the parameter value(s)
+			List<String> values = entry.getValue();
+			for (String value : values) {
+				/*
+				 * Newlines are allowed in LABEL parameters, but are not allowed
+				 * by vobject, so remove them from the value before validating.
+				 */
+				if (LABEL.equalsIgnoreCase(name)) {
+					value = value.replaceAll("\r\n|\r|\n", "");
+				}
+
+				if (!VObjectValidator.validateParameterValue(value, syntax, false, true)) {
+					AllowedCharacters notAllowed = VObjectValidator.allowedCharactersParameterValue(syntax, false, true).flip();
+					int code = (syntax == SyntaxStyle.OLD) ? 31 : 25;
+					warnings.add(new ValidationWarning(code, name, value, notAllowed.toString(true)));
+				}
+			}
+		}
+	}
+
 	private static boolean isPidValid(String pid) {
 		boolean dotFound = false;
 		for (int i = 0; i < pid.length(); i++) {
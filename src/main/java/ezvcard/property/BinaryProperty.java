@@ -16,6 +16,7 @@ import ezvcard.ValidationWarning;
 import ezvcard.parameter.MediaTypeParameter;
 import ezvcard.parameter.Pid;
 import ezvcard.util.Gobble;
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -53,10 +54,18 @@ import ezvcard.util.Gobble;
  */
 public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCardProperty implements HasAltId {
 	/**
-	 * The decoded data.
+	 * The decoded data. Guarded by this object's monitor, because
+	 * {@link #getData} decodes {@link #base64Data} into it lazily.
 	 */
 	protected byte[] data;
 
+	/**
+	 * The base64-encoded data. This is only set if the data was assigned in
+	 * encoded form. It is kept after the data is decoded so that it can be
+	 * written out again as-is. Guarded by this object's monitor.
+	 */
+	protected String base64Data;
+
 	/**
 	 * The URL to the resource.
 	 */
@@ -115,16 +124,25 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 */
 	public BinaryProperty(BinaryProperty<T> original) {
 		super(original);
-		data = (original.data == null) ? null : original.data.clone();
+		synchronized (original) {
+			data = (original.data == null) ? null : original.data.clone();
+			base64Data = original.base64Data;
+		}
 		url = original.url;
 		contentType = original.contentType;
 	}
 
 	/**
-	 * Gets the binary data of the resource.
+	 * Gets the binary data of the resource. If the data was assigned in
+	 * base64-encoded form, it is decoded the first time this method is called.
+	 * This method is thread-safe, so a property that is shared between threads
+	 * may be read concurrently.
 	 * @return the binary data or null if there is none
 	 */
-	public byte[] getData() {
+	public synchronized byte[] getData() {
+		if (data == null && base64Data != null) {
+			data = Base64.decodeBase64(base64Data);
+		}
 		return data;
 	}
 
@@ -133,9 +151,36 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 * @param data the binary data
 	 * @param type the content type (e.g. "JPEG image")
 	 */
-	public void setData(byte[] data, T type) {
+	public synchronized void setData(byte[] data, T type) {
 		this.url = null;
 		this.data = data;
+		this.base64Data = null;
+		setContentType(type);
+	}
+
+	/**
+	 * Gets the base64-encoded binary data of the resource. This is only
+	 * available if the data was assigned in encoded form (decoding it with
+	 * {@link #getData} does not discard it). Property scribes use this method
+	 * to write the data out again without having to decode and re-encode it.
+	 * If the array returned by {@link #getData} is modified, it must be passed
+	 * to {@link #setData} so that this value is discarded.
+	 * @return the base64-encoded data or null if not available
+	 */
+	public synchronized String getBase64Data() {
+		return base64Data;
+	}
+
+	/**
+	 * Sets the binary data of the resource in base64-encoded form. The data
+	 * will not be decoded until {@link #getData} is called.
+	 * @param base64Data the base64-encoded data
+	 * @param type the content type (e.g. "JPEG image")
+	 */
+	public synchronized void setBase64Data(String base64Data, T type) {
+		this.url = null;
+		this.data = null;
+		this.base64Data = base64Data;
 		setContentType(type);
 	}
 
@@ -152,12 +197,22 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 * @param url the URL
 	 * @param type the content type (e.g. "JPEG image")
 	 */
-	public void setUrl(String url, T type) {
+	public synchronized void setUrl(String url, T type) {
 		this.url = url;
 		this.data = null;
+		this.base64Data = null;
 		setContentType(type);
 	}
 
+	/**
+	 * Determines if the property has binary data, in either decoded or
+	 * base64-encoded form.
+	 * @return true if it has binary data, false if not
+	 */
+	public synchronized boolean hasData() {
+		return data != null || base64Data != null;
+	}
+
 	/**
 	 * Gets the content type of the resource.
 	 * @return the content type (e.g. "JPEG image")
@@ -227,7 +282,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 
 	@Override
 	protected void _validate(List<ValidationWarning> warnings, VCardVersion version, VCard vcard) {
-		if (url == null && data == null) {
+		if (url == null && !hasData()) {
 			warnings.add(new ValidationWarning(8));
 		}
 	}
@@ -235,7 +290,17 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	@Override
 	protected Map<String, Object> toStringValues() {
 		Map<String, Object> values = new LinkedHashMap<String, Object>();
-		values.put("data", (data == null) ? "null" : "length: " + data.length);
+		String dataValue;
+		synchronized (this) {
+			if (data != null) {
+				dataValue = "length: " + data.length;
+			} else if (base64Data != null) {
+				dataValue = "base64 length: " + base64Data.length();
+			} else {
+				dataValue = "null";
+			}
+		}
+		values.put("data", dataValue);
 		values.put("url", url);
 		values.put("contentType", contentType);
 		return values;
@@ -246,7 +311,8 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((contentType == null) ? 0 : contentType.hashCode());
-		result = prime * result + Arrays.hashCode(data);
+		String base64 = canonicalBase64();
+		result = prime * result + ((base64 == null) ? 0 : base64.hashCode());
 		result = prime * result + ((url == null) ? 0 : url.hashCode());
 		return result;
 	}
@@ -259,10 +325,74 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 		if (contentType == null) {
 			if (other.contentType != null) return false;
 		} else if (!contentType.equals(other.contentType)) return false;
-		if (!Arrays.equals(data, other.data)) return false;
+		if (!equalData(other)) return false;
 		if (url == null) {
 			if (other.url != null) return false;
 		} else if (!url.equals(other.url)) return false;
 		return true;
 	}
+
+	/**
+	 * Determines if this property's binary data is the same as another's.
+	 * The data is only decoded if one property holds decoded data and the
+	 * other holds base64-encoded data.
+	 * @param other the other property
+	 * @return true if the data is the same, false if not
+	 */
+	private boolean equalData(BinaryProperty<?> other) {
+		String base64, otherBase64;
+		byte[] data, otherData;
+		synchronized (this) {
+			base64 = base64Data;
+			data = this.data;
+		}
+		synchronized (other) {
+			otherBase64 = other.base64Data;
+			otherData = other.data;
+		}
+
+		if (base64 != null && otherBase64 != null) {
+			return stripWhitespace(base64).equals(stripWhitespace(otherBase64));
+		}
+		if (base64 == null && otherBase64 == null) {
+			return Arrays.equals(data, otherData);
+		}
+
+		//one side is decoded, so compare using canonical base64
+		return canonicalBase64().equals(other.canonicalBase64());
+	}
+
+	/**
+	 * Gets the binary data in a canonical base64 form, which is used to
+	 * compute the hash code without decoding the data.
+	 * @return the base64 data (without whitespace) or null if there is no
+	 * binary data
+	 */
+	private synchronized String canonicalBase64() {
+		if (base64Data != null) {
+			return stripWhitespace(base64Data);
+		}
+		return (data == null) ? null : Base64.encodeBase64String(data);
+	}
+
+	private static String stripWhitespace(String base64) {
+		int length = base64.length();
+		int i = 0;
+		while (i < length && !Character.isWhitespace(base64.charAt(i))) {
+			i++;
+		}
+		if (i == length) {
+			return base64;
+		}
+
+		StringBuilder sb = new StringBuilder(length);
+		sb.append(base64, 0, i);
+		for (; i < length; i++) {
+			char c = base64.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
 }
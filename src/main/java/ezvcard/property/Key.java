@@ -174,9 +174,10 @@ public class Key extends BinaryProperty<KeyType> {
 	 * @param text the key in plain text
 	 * @param type the key type
 	 */
-	public void setText(String text, KeyType type) {
+	public synchronized void setText(String text, KeyType type) {
 		this.text = text;
 		data = null;
+		base64Data = null;
 		url = null;
 		setContentType(type);
 	}
@@ -216,9 +217,15 @@ public class Key extends BinaryProperty<KeyType> {
 		text = null;
 	}
 
+	@Override
+	public synchronized void setBase64Data(String base64Data, KeyType type) {
+		super.setBase64Data(base64Data, type);
+		text = null;
+	}
+
 	@Override
 	protected void _validate(List<ValidationWarning> warnings, VCardVersion version, VCard vcard) {
-		if (url == null && data == null && text == null) {
+		if (url == null && !hasData() && text == null) {
 			warnings.add(new ValidationWarning(8));
 		}
 
@@ -12,6 +12,7 @@ import ezvcard.VCard;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
 import ezvcard.ValidationWarning;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -147,7 +148,7 @@ public class RawProperty extends TextProperty {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + ((dataType == null) ? 0 : dataType.hashCode());
-		result = prime * result + ((propertyName == null) ? 0 : propertyName.toLowerCase().hashCode());
+		result = prime * result + ((propertyName == null) ? 0 : StringUtils.hashCodeIgnoreCase(propertyName));
 		return result;
 	}
 
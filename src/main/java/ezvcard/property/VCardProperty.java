@@ -4,8 +4,10 @@ import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.github.mangstadt.vinnie.SyntaxStyle;
 import com.github.mangstadt.vinnie.validate.AllowedCharacters;
@@ -14,10 +16,13 @@ import com.github.mangstadt.vinnie.validate.VObjectValidator;
 import ezvcard.Messages;
 import ezvcard.SupportedVersions;
 import ezvcard.VCard;
+import ezvcard.VCardValidator;
 import ezvcard.VCardVersion;
+import ezvcard.ValidationCheck;
 import ezvcard.ValidationWarning;
 import ezvcard.parameter.Pid;
 import ezvcard.parameter.VCardParameters;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -131,18 +136,34 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 * @return a list of warnings or an empty list if no problems were found
 	 */
 	public final List<ValidationWarning> validate(VCardVersion version, VCard vcard) {
+		return validate(version, vcard, EnumSet.allOf(ValidationCheck.class));
+	}
+
+	/**
+	 * Checks the property for data consistency problems or deviations from the
+	 * spec, only performing the given checks.
+	 * @param version the version to check the property against (use 4.0 for
+	 * xCard and jCard)
+	 * @param vcard the vCard this property belongs to
+	 * @param checks the checks to perform
+	 * @see VCardValidator
+	 * @return a list of warnings or an empty list if no problems were found
+	 */
+	public final List<ValidationWarning> validate(VCardVersion version, VCard vcard, Set<ValidationCheck> checks) {
 		List<ValidationWarning> warnings = new ArrayList<ValidationWarning>(0);
 
 		//check the supported versions
-		if (!isSupportedBy(version)) {
+		if (checks.contains(ValidationCheck.SUPPORTED_VERSIONS) && !isSupportedBy(version)) {
 			warnings.add(new ValidationWarning(2, Arrays.toString(getSupportedVersions())));
 		}
 
 		//check parameters
-		warnings.addAll(parameters.validate(version));
+		if (!parameters.isEmpty()) {
+			warnings.addAll(parameters.validate(version, checks));
+		}
 
 		//check group
-		if (group != null) {
+		if (group != null && checks.contains(ValidationCheck.CHARACTERS)) {
 			SyntaxStyle syntax = version.getSyntaxStyle();
 			AllowedCharacters allowed = VObjectValidator.allowedCharactersGroup(syntax, true);
 			if (!allowed.check(group)) {
@@ -155,7 +176,9 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 			}
 		}
 
-		_validate(warnings, version, vcard);
+		if (checks.contains(ValidationCheck.PROPERTY_VALUES)) {
+			_validate(warnings, version, vcard);
+		}
 
 		return warnings;
 	}
@@ -341,7 +364,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((group == null) ? 0 : group.toLowerCase().hashCode());
+		result = prime * result + ((group == null) ? 0 : StringUtils.hashCodeIgnoreCase(group));
 		result = prime * result + parameters.hashCode();
 		return result;
 	}
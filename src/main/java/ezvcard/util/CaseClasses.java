@@ -5,6 +5,10 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /*
  Copyright (c) 2012-2020, Michael Angstadt
@@ -104,7 +108,9 @@ import java.util.Collections;
 public abstract class CaseClasses<T, V> {
 	protected final Class<T> clazz;
 	private volatile Collection<T> preDefined = null;
+	private Map<Object, T> preDefinedIndex = null;
 	private Collection<T> runtimeDefined = null;
+	private ConcurrentMap<Object, T> runtimeDefinedIndex = null;
 
 	/**
 	 * Creates a new case class collection.
@@ -129,6 +135,34 @@ public abstract class CaseClasses<T, V> {
 	 */
 	protected abstract boolean matches(T object, V value);
 
+	/**
+	 * <p>
+	 * Gets the value that a case object holds. This method, along with
+	 * {@link #indexKey}, allows case objects to be looked up in a hash table
+	 * instead of calling {@link #matches} on each one.
+	 * </p>
+	 * <p>
+	 * The default implementation returns null, which means that case objects
+	 * are always looked up using {@link #matches}.
+	 * </p>
+	 * @param object the case object
+	 * @return the value or null if the case objects should not be indexed
+	 */
+	protected V valueOf(T object) {
+		return null;
+	}
+
+	/**
+	 * Converts a value to the key that is used to index the case objects. If
+	 * {@link #matches matches(object, value)} returns true, then the keys of
+	 * {@code valueOf(object)} and {@code value} must be equal, and vice versa.
+	 * @param value the value
+	 * @return the key or null to look up the value using {@link #matches}
+	 */
+	protected Object indexKey(V value) {
+		return null;
+	}
+
 	/**
 	 * Searches for a case object by value, only looking at the case class'
 	 * static constants (does not search runtime-defined constants).
@@ -138,6 +172,13 @@ public abstract class CaseClasses<T, V> {
 	public T find(V value) {
 		checkInit();
 
+		if (preDefinedIndex != null) {
+			Object key = indexKey(value);
+			if (key != null) {
+				return preDefinedIndex.get(key);
+			}
+		}
+
 		for (T obj : preDefined) {
 			if (matches(obj, value)) {
 				return obj;
@@ -158,6 +199,22 @@ public abstract class CaseClasses<T, V> {
 			return found;
 		}
 
+		Object key = (preDefinedIndex == null) ? null : indexKey(value);
+		if (key != null) {
+			found = runtimeDefinedIndex.get(key);
+			if (found != null) {
+				return found;
+			}
+
+			/*
+			 * If two threads create the same object at the same time, only the
+			 * first one is kept.
+			 */
+			T created = create(value);
+			found = runtimeDefinedIndex.putIfAbsent(key, created);
+			return (found == null) ? created : found;
+		}
+
 		synchronized (runtimeDefined) {
 			for (T obj : runtimeDefined) {
 				if (matches(obj, value)) {
@@ -220,10 +277,34 @@ public abstract class CaseClasses<T, V> {
 			}
 		}
 
+		preDefinedIndex = buildIndex(preDefined);
 		runtimeDefined = new ArrayList<T>(0);
+		runtimeDefinedIndex = new ConcurrentHashMap<Object, T>();
 		this.preDefined = Collections.unmodifiableCollection(preDefined);
 	}
 
+	/**
+	 * Builds a hash table of the given case objects.
+	 * @param objects the case objects
+	 * @return the hash table or null if the case objects cannot be indexed
+	 */
+	private Map<Object, T> buildIndex(Collection<T> objects) {
+		Map<Object, T> index = new HashMap<Object, T>();
+		for (T object : objects) {
+			V value = valueOf(object);
+			Object key = (value == null) ? null : indexKey(value);
+			if (key == null) {
+				return null;
+			}
+
+			//if two objects have the same value, find() returns the first one
+			if (!index.containsKey(key)) {
+				index.put(key, object);
+			}
+		}
+		return index;
+	}
+
 	/**
 	 * Determines if a field should be treated as a predefined case object.
 	 * @param field the field
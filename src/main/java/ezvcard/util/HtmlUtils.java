@@ -1,5 +1,8 @@
 package ezvcard.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -55,6 +58,40 @@ public class HtmlUtils {
 		return false;
 	}
 
+	/**
+	 * <p>
+	 * Finds all elements that have the given CSS class, excluding those that
+	 * are descendants of another matching element. The given element is
+	 * included in the search.
+	 * </p>
+	 * <p>
+	 * This returns the same result as calling
+	 * {@link Element#getElementsByClass} and then removing each element for
+	 * which {@link #isChildOf} returns true, but it does so in a single pass.
+	 * </p>
+	 * @param root the element to search under
+	 * @param className the CSS class (case insensitive)
+	 * @return the matching elements, in document order
+	 */
+	public static Elements getOutermostElementsByClass(Element root, String className) {
+		Elements found = new Elements();
+		List<Element> stack = new ArrayList<Element>();
+		stack.add(root);
+		while (!stack.isEmpty()) {
+			Element element = stack.remove(stack.size() - 1);
+			if (element.hasClass(className)) {
+				found.add(element);
+				continue;
+			}
+
+			Elements children = element.children();
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack.add(children.get(i));
+			}
+		}
+		return found;
+	}
+
 	/**
 	 * Converts an HTML string to an HTML element.
 	 * @param html the HTML
@@ -66,7 +66,13 @@ import java.util.Set;
  * @param <V> the value
  */
 public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
-	private final Map<K, List<V>> map;
+	private Map<K, List<V>> map;
+
+	/**
+	 * True if the map and its value lists are shared with another multimap,
+	 * which means they must be copied before they are modified.
+	 */
+	private boolean shared = false;
 
 	/**
 	 * Creates an empty multimap.
@@ -91,6 +97,29 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		this(copy(orig.map));
 	}
 
+	/**
+	 * <p>
+	 * Creates a copy of an existing multimap.
+	 * </p>
+	 * <p>
+	 * If copy-on-write is enabled, the two multimaps share the same data until
+	 * one of them is modified, at which point the modified multimap makes a
+	 * private copy of the data. This makes creating the copy very cheap if it
+	 * is never, or only rarely, modified.
+	 * </p>
+	 * @param orig the multimap to copy from
+	 * @param copyOnWrite true to defer copying the data until one of the
+	 * multimaps is modified, false to copy the data immediately
+	 */
+	public ListMultimap(ListMultimap<K, V> orig, boolean copyOnWrite) {
+		if (copyOnWrite) {
+			map = orig.map;
+			shared = orig.shared = true;
+		} else {
+			map = copy(orig.map);
+		}
+	}
+
 	private static <K, V> Map<K, List<V>> copy(Map<K, List<V>> orig) {
 		Map<K, List<V>> map = new LinkedHashMap<K, List<V>>(orig.size());
 		for (Map.Entry<K, List<V>> entry : orig.entrySet()) {
@@ -123,6 +152,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 */
 	public void put(K key, V value) {
 		key = sanitizeKey(key);
+		unshare();
 		List<V> list = map.get(key);
 		if (list == null) {
 			list = new ArrayList<V>();
@@ -142,6 +172,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		}
 
 		key = sanitizeKey(key);
+		unshare();
 		List<V> list = map.get(key);
 		if (list == null) {
 			list = new ArrayList<V>();
@@ -204,6 +235,14 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			return false;
 		}
 
+		if (shared) {
+			if (!values.contains(value)) {
+				return false;
+			}
+			unshare();
+			values = map.get(key);
+		}
+
 		boolean success = values.remove(value);
 		if (values.isEmpty()) {
 			map.remove(key);
@@ -219,6 +258,9 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 */
 	public List<V> removeAll(K key) {
 		key = sanitizeKey(key);
+		if (shared && map.containsKey(key)) {
+			unshare();
+		}
 		List<V> removed = map.remove(key);
 		if (removed == null) {
 			return Collections.emptyList();
@@ -260,6 +302,17 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * Clears all entries from the multimap.
 	 */
 	public void clear() {
+		if (shared) {
+			/*
+			 * The lists belong to the other multimap, so they must not be
+			 * cleared. Previously returned lists will see that the map was
+			 * replaced.
+			 */
+			map = new LinkedHashMap<K, List<V>>();
+			shared = false;
+			return;
+		}
+
 		//clear each collection to make previously returned lists empty
 		for (List<V> value : map.values()) {
 			value.clear();
@@ -331,6 +384,17 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		return map;
 	}
 
+	/**
+	 * Makes a private copy of the data if it is shared with another multimap.
+	 * This must be called before the data is modified.
+	 */
+	private void unshare() {
+		if (shared) {
+			map = copy(map);
+			shared = false;
+		}
+	}
+
 	/**
 	 * Modifies a given key before it is used to interact with the internal map.
 	 * This method is meant to be overridden by child classes if necessary.
@@ -426,10 +490,12 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		List<V> delegate;
 		final WrappedList ancestor;
 		final List<V> ancestorDelegate;
+		Map<K, List<V>> owner;
 
 		WrappedList(K key, List<V> delegate, WrappedList ancestor) {
 			this.key = key;
 			this.delegate = delegate;
+			this.owner = map;
 			this.ancestor = ancestor;
 			this.ancestorDelegate = (ancestor == null) ? null : ancestor.getDelegate();
 		}
@@ -439,6 +505,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 				return false;
 			}
 			int oldSize = size(); // calls refreshIfEmpty
+			copyIfShared();
 			boolean changed = getDelegate().addAll(index, collection);
 			if (changed && oldSize == 0) {
 				addToMap();
@@ -453,11 +520,13 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 		public V set(int index, V element) {
 			refreshIfEmpty();
+			copyIfShared();
 			return getDelegate().set(index, element);
 		}
 
 		public void add(int index, V element) {
 			refreshIfEmpty();
+			copyIfShared();
 			boolean wasEmpty = getDelegate().isEmpty();
 			getDelegate().add(index, element);
 			if (wasEmpty) {
@@ -467,6 +536,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 		public V remove(int index) {
 			refreshIfEmpty();
+			copyIfShared();
 			V value = getDelegate().remove(index);
 			removeIfEmpty();
 			return value;
@@ -494,6 +564,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 		public List<V> subList(int fromIndex, int toIndex) {
 			refreshIfEmpty();
+			copyIfShared();
 			return new WrappedList(getKey(), getDelegate().subList(fromIndex, toIndex), (getAncestor() == null) ? this : getAncestor());
 		}
 
@@ -511,6 +582,19 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 				if (ancestor.getDelegate() != ancestorDelegate) {
 					throw new ConcurrentModificationException();
 				}
+			} else if (owner != map) {
+				/*
+				 * The multimap replaced its map (see "unshare" and "clear"), so
+				 * the delegate may belong to a map that this list is no longer
+				 * part of.
+				 */
+				owner = map;
+				List<V> newDelegate = map.get(key);
+				if (newDelegate != null) {
+					delegate = newDelegate;
+				} else if (!delegate.isEmpty()) {
+					delegate = new ArrayList<V>(0);
+				}
 			} else if (delegate.isEmpty()) {
 				List<V> newDelegate = map.get(key);
 				if (newDelegate != null) {
@@ -519,6 +603,28 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			}
 		}
 
+		/**
+		 * If the multimap's data is shared with another multimap, makes a
+		 * private copy of the data and points the delegate at the copy. This
+		 * must be called before the delegate is modified.
+		 *
+		 * <p>
+		 * A subcollection whose ancestor's delegate changes as a result is no
+		 * longer valid.
+		 */
+		void copyIfShared() {
+			if (ancestor != null) {
+				ancestor.copyIfShared();
+				refreshIfEmpty();
+				return;
+			}
+
+			if (shared) {
+				unshare();
+				refreshIfEmpty();
+			}
+		}
+
 		/**
 		 * If collection is empty, remove it from
 		 * {@code AbstractMapBasedMultimap.this.map}. For subcollections, check
@@ -592,6 +698,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		@Override
 		public boolean add(V value) {
 			refreshIfEmpty();
+			copyIfShared();
 			boolean wasEmpty = delegate.isEmpty();
 			boolean changed = delegate.add(value);
 			if (changed && wasEmpty) {
@@ -612,6 +719,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 				return false;
 			}
 			int oldSize = size(); // calls refreshIfEmpty
+			copyIfShared();
 			boolean changed = delegate.addAll(collection);
 			if (changed && oldSize == 0) {
 				addToMap();
@@ -637,6 +745,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			if (oldSize == 0) {
 				return;
 			}
+			copyIfShared();
 			delegate.clear();
 			removeIfEmpty(); // maybe shouldn't be removed if this is a sublist
 		}
@@ -644,6 +753,10 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		@Override
 		public boolean remove(Object o) {
 			refreshIfEmpty();
+			if (shared && !delegate.contains(o)) {
+				return false;
+			}
+			copyIfShared();
 			boolean changed = delegate.remove(o);
 			if (changed) {
 				removeIfEmpty();
@@ -657,6 +770,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 				return false;
 			}
 			refreshIfEmpty();
+			copyIfShared();
 			boolean changed = delegate.removeAll(collection);
 			if (changed) {
 				removeIfEmpty();
@@ -667,6 +781,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 		@Override
 		public boolean retainAll(Collection<?> c) {
 			refreshIfEmpty();
+			copyIfShared();
 			boolean changed = delegate.retainAll(c);
 			if (changed) {
 				removeIfEmpty();
@@ -676,8 +791,16 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 		/** ListIterator decorator. */
 		private class WrappedListIterator implements ListIterator<V> {
-			final ListIterator<V> delegateIterator;
-			final List<V> originalDelegate = delegate;
+			ListIterator<V> delegateIterator;
+			List<V> originalDelegate = delegate;
+
+			/**
+			 * The direction of the last call to {@link #next} (1) or
+			 * {@link #previous} (-1), or 0 if neither was called since the last
+			 * modification. Used to reposition the iterator if the delegate is
+			 * copied.
+			 */
+			int lastMove = 0;
 
 			WrappedListIterator() {
 				delegateIterator = delegate.listIterator();
@@ -692,7 +815,9 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			}
 
 			public V previous() {
-				return getDelegateIterator().previous();
+				V value = getDelegateIterator().previous();
+				lastMove = -1;
+				return value;
 			}
 
 			public int nextIndex() {
@@ -704,12 +829,17 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			}
 
 			public void set(V value) {
-				getDelegateIterator().set(value);
+				validateIterator();
+				copyIfShared();
+				delegateIterator.set(value);
 			}
 
 			public void add(V value) {
 				boolean wasEmpty = isEmpty();
-				getDelegateIterator().add(value);
+				validateIterator();
+				copyIfShared();
+				delegateIterator.add(value);
+				lastMove = 0;
 				if (wasEmpty) {
 					addToMap();
 				}
@@ -726,6 +856,34 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 				}
 			}
 
+			/**
+			 * Makes a private copy of the multimap's data if it is shared, and
+			 * moves this iterator over to the copied delegate, leaving it in the
+			 * same position.
+			 */
+			void copyIfShared() {
+				int index = delegateIterator.nextIndex();
+				WrappedList.this.copyIfShared();
+				if (delegate == originalDelegate) {
+					return;
+				}
+
+				originalDelegate = delegate;
+				switch (lastMove) {
+				case 1:
+					delegateIterator = delegate.listIterator(index - 1);
+					delegateIterator.next();
+					break;
+				case -1:
+					delegateIterator = delegate.listIterator(index + 1);
+					delegateIterator.previous();
+					break;
+				default:
+					delegateIterator = delegate.listIterator(index);
+					break;
+				}
+			}
+
 			public boolean hasNext() {
 				validateIterator();
 				return delegateIterator.hasNext();
@@ -733,11 +891,16 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 			public V next() {
 				validateIterator();
-				return delegateIterator.next();
+				V value = delegateIterator.next();
+				lastMove = 1;
+				return value;
 			}
 
 			public void remove() {
+				validateIterator();
+				copyIfShared();
 				delegateIterator.remove();
+				lastMove = 0;
 				removeIfEmpty();
 			}
 
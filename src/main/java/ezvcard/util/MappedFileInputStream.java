@@ -0,0 +1,225 @@
+package ezvcard.util;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Reads the contents of a file by memory-mapping it, instead of copying it
+ * through a heap buffer. Large files are mapped in windows, so files larger
+ * than 2 GB are supported.
+ * </p>
+ * <p>
+ * Note that, on some platforms (such as Windows), a file cannot be deleted
+ * while it is mapped into memory. A mapping is released when it is garbage
+ * collected, which may be some time after this stream is closed.
+ * </p>
+ * <p>
+ * Files that cannot be mapped because they do not report their size, such as
+ * named pipes, devices (e.g. "/dev/stdin"), and files under "/proc", are read
+ * sequentially through a heap buffer instead.
+ * </p>
+ * @author Michael Angstadt
+ */
+public class MappedFileInputStream extends InputStream {
+	/**
+	 * The default number of bytes to map at a time (64 MB).
+	 */
+	static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	/**
+	 * The size of the heap buffer used when the file cannot be mapped.
+	 */
+	private static final int STREAM_BUFFER_SIZE = 8192;
+
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long windowSize;
+	private long size = -1;
+	private ByteBuffer buffer;
+	private long bufferStart;
+
+	/**
+	 * True if the file is read sequentially instead of being mapped.
+	 */
+	private boolean streaming;
+	private boolean eof = false;
+
+	/**
+	 * Creates a new memory-mapped input stream. The file is not mapped until
+	 * it is read from.
+	 * @param file the file to read from
+	 * @throws FileNotFoundException if the file does not exist or cannot be
+	 * opened
+	 */
+	public MappedFileInputStream(File file) throws FileNotFoundException {
+		this(file, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Creates a new memory-mapped input stream.
+	 * @param file the file to read from
+	 * @param windowSize the number of bytes to map at a time (must be at least
+	 * 16 so that a multi-byte character always fits inside of one window)
+	 * @throws FileNotFoundException if the file does not exist or cannot be
+	 * opened
+	 */
+	MappedFileInputStream(File file, long windowSize) throws FileNotFoundException {
+		this.file = new RandomAccessFile(file, "r");
+		this.channel = this.file.getChannel();
+		this.windowSize = windowSize;
+		streaming = !file.isFile();
+	}
+
+	/**
+	 * Gets the window that is currently mapped, mapping the next window if the
+	 * current one has been fully read.
+	 * @return the current window (empty if the end of the file has been
+	 * reached)
+	 * @throws IOException if there's a problem mapping the file
+	 */
+	ByteBuffer buffer() throws IOException {
+		if (buffer == null || !buffer.hasRemaining()) {
+			remap();
+		}
+		return buffer;
+	}
+
+	/**
+	 * Determines if the current window ends at the end of the file.
+	 * @return true if this is the last window, false if not
+	 */
+	boolean isLastWindow() {
+		return streaming ? eof : bufferStart + buffer.limit() >= size;
+	}
+
+	/**
+	 * Maps a new window that starts at the current read position. This is
+	 * called when a multi-byte character straddles the end of the current
+	 * window.
+	 * @throws IOException if there's a problem mapping the file
+	 */
+	void remap() throws IOException {
+		if (!streaming && size < 0) {
+			size = channel.size();
+
+			//files such as those under "/proc" report a size of zero
+			streaming = (size == 0);
+		}
+
+		if (streaming) {
+			refill();
+			return;
+		}
+
+		long position = (buffer == null) ? 0 : bufferStart + buffer.position();
+		if (position >= size) {
+			buffer = EMPTY;
+			bufferStart = size;
+			return;
+		}
+
+		long length = Math.min(windowSize, size - position);
+		buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		bufferStart = position;
+	}
+
+	/**
+	 * Reads the next chunk of the file into the heap buffer. Any unread bytes
+	 * are moved to the front of the buffer.
+	 * @throws IOException if there's a problem reading from the file
+	 */
+	private void refill() throws IOException {
+		if (buffer == null || buffer == EMPTY) {
+			buffer = ByteBuffer.allocate((int) Math.min(windowSize, STREAM_BUFFER_SIZE));
+			buffer.flip();
+		}
+
+		buffer.compact();
+		if (!eof && channel.read(buffer) < 0) {
+			eof = true;
+		}
+		buffer.flip();
+	}
+
+	@Override
+	public int read() throws IOException {
+		ByteBuffer buffer = buffer();
+		return buffer.hasRemaining() ? (buffer.get() & 0xff) : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		ByteBuffer buffer = buffer();
+		if (!buffer.hasRemaining()) {
+			return -1;
+		}
+
+		len = Math.min(len, buffer.remaining());
+		buffer.get(b, off, len);
+		return len;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0) {
+			return 0;
+		}
+
+		ByteBuffer buffer = buffer();
+		int skipped = (int) Math.min(n, buffer.remaining());
+		buffer.position(buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return (buffer == null) ? 0 : buffer.remaining();
+	}
+
+	@Override
+	public void close() throws IOException {
+		buffer = EMPTY;
+		file.close();
+	}
+}
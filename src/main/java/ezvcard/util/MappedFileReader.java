@@ -0,0 +1,145 @@
+package ezvcard.util;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * Reads the characters of a file by memory-mapping it and decoding the mapped
+ * bytes directly, instead of copying them through a heap buffer first.
+ * Malformed input is replaced with the character set's replacement
+ * character, just like {@link java.io.InputStreamReader}.
+ * @author Michael Angstadt
+ * @see MappedFileInputStream
+ */
+public class MappedFileReader extends Reader {
+	private final MappedFileInputStream in;
+	private final CharsetDecoder decoder;
+	private final CharBuffer chars = CharBuffer.allocate(8192);
+	private boolean eof = false;
+
+	/**
+	 * Creates a new memory-mapped reader. The file is not mapped until it is
+	 * read from.
+	 * @param file the file to read from
+	 * @param charset the character set the file is encoded in
+	 * @throws FileNotFoundException if the file does not exist or cannot be
+	 * opened
+	 */
+	public MappedFileReader(File file, Charset charset) throws FileNotFoundException {
+		this(new MappedFileInputStream(file), charset);
+	}
+
+	/**
+	 * Creates a new memory-mapped reader.
+	 * @param in the memory-mapped stream to read from
+	 * @param charset the character set the file is encoded in
+	 */
+	MappedFileReader(MappedFileInputStream in, Charset charset) {
+		this.in = in;
+		//@formatter:off
+		decoder = charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		//@formatter:on
+		chars.flip();
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!chars.hasRemaining() && !fill()) {
+			return -1;
+		}
+		return chars.get();
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!chars.hasRemaining() && !fill()) {
+			return -1;
+		}
+
+		len = Math.min(len, chars.remaining());
+		chars.get(cbuf, off, len);
+		return len;
+	}
+
+	/**
+	 * Decodes the next batch of characters from the mapped file.
+	 * @return true if characters were decoded, false if the end of the file
+	 * has been reached
+	 * @throws IOException if there's a problem mapping the file
+	 */
+	private boolean fill() throws IOException {
+		chars.clear();
+		while (chars.hasRemaining() && !eof) {
+			ByteBuffer bytes = in.buffer();
+			boolean last = in.isLastWindow();
+			CoderResult result = decoder.decode(bytes, chars, last);
+			if (result.isOverflow()) {
+				break;
+			}
+
+			if (last) {
+				if (decoder.flush(chars).isOverflow()) {
+					break;
+				}
+				eof = true;
+			} else if (bytes.hasRemaining()) {
+				//a multi-byte character straddles the end of the window
+				in.remap();
+			}
+		}
+		chars.flip();
+		return chars.hasRemaining();
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		return chars.hasRemaining() || in.available() > 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
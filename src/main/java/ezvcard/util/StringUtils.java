@@ -85,6 +85,65 @@ public final class StringUtils {
 		return lowerCaseMap;
 	}
 
+	/**
+	 * Converts a string to a form that can be used as a key in a hash-based
+	 * collection when the string needs to be compared in a case-insensitive
+	 * manner. Two strings produce equal keys if and only if
+	 * {@link String#equalsIgnoreCase} considers them equal.
+	 * @param string the string
+	 * @return the key (the original string is returned if it is already in
+	 * the proper form)
+	 */
+	public static String caseInsensitiveKey(String string) {
+		int length = string.length();
+		int i = 0;
+		while (i < length) {
+			char c = string.charAt(i);
+			if (c != caseFold(c)) {
+				break;
+			}
+			i++;
+		}
+
+		if (i == length) {
+			return string;
+		}
+
+		char[] chars = string.toCharArray();
+		for (; i < length; i++) {
+			chars[i] = caseFold(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Computes a hash code for a string that is consistent with
+	 * {@link String#equalsIgnoreCase}. Unlike calling
+	 * {@code toLowerCase().hashCode()}, this does not create a new string.
+	 * @param string the string
+	 * @return the hash code
+	 */
+	public static int hashCodeIgnoreCase(String string) {
+		int hash = 0;
+		for (int i = 0; i < string.length(); i++) {
+			hash = 31 * hash + caseFold(string.charAt(i));
+		}
+		return hash;
+	}
+
+	/**
+	 * Folds the case of a character the same way
+	 * {@link String#equalsIgnoreCase} does.
+	 * @param c the character
+	 * @return the folded character
+	 */
+	private static char caseFold(char c) {
+		if (c < 0x80) {
+			return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
 	private StringUtils() {
 		//hide
 	}
@@ -7,8 +7,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import ezvcard.Messages;
 
@@ -53,25 +52,25 @@ public enum VCardDateFormat {
 	 * Example: 20120701
 	 */
 	DATE_BASIC(
-	"yyyyMMdd"),
+	"yyyyMMdd", false, Offset.NONE),
 	
 	/**
 	 * Example: 2012-07-01
 	 */
 	DATE_EXTENDED(
-	"yyyy-MM-dd"),
+	"yyyy-MM-dd", true, Offset.NONE),
 	
 	/**
 	 * Example: 20120701T142110-0500
 	 */
 	DATE_TIME_BASIC(
-	"yyyyMMdd'T'HHmmssZ"),
+	"yyyyMMdd'T'HHmmssZ", false, Offset.BASIC),
 	
 	/**
 	 * Example: 2012-07-01T14:21:10-05:00
 	 */
 	DATE_TIME_EXTENDED(
-	"yyyy-MM-dd'T'HH:mm:ssZ"){
+	"yyyy-MM-dd'T'HH:mm:ssZ", true, Offset.EXTENDED){
 		@SuppressWarnings("serial")
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
@@ -99,7 +98,7 @@ public enum VCardDateFormat {
 	 * Example: 20120701T192110Z
 	 */
 	UTC_DATE_TIME_BASIC(
-	"yyyyMMdd'T'HHmmss'Z'"){
+	"yyyyMMdd'T'HHmmss'Z'", false, Offset.UTC){
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
 			//always use the UTC timezone
@@ -112,7 +111,7 @@ public enum VCardDateFormat {
 	 * Example: 2012-07-01T19:21:10Z
 	 */
 	UTC_DATE_TIME_EXTENDED(
-	"yyyy-MM-dd'T'HH:mm:ss'Z'"){
+	"yyyy-MM-dd'T'HH:mm:ss'Z'", true, Offset.UTC){
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
 			//always use the UTC timezone
@@ -125,7 +124,7 @@ public enum VCardDateFormat {
 	 * Example: 2012-07-01T14:21:10-0500
 	 */
 	HCARD_DATE_TIME(
-	"yyyy-MM-dd'T'HH:mm:ssZ")
+	"yyyy-MM-dd'T'HH:mm:ssZ", true, Offset.BASIC)
 	
 	;
 	//@formatter:on
@@ -135,12 +134,28 @@ public enum VCardDateFormat {
 	 */
 	protected final String formatStr;
 
+	/**
+	 * Whether the date and time components are separated by dashes and colons.
+	 */
+	private final boolean extended;
+
+	/**
+	 * How the UTC offset is written, or {@link Offset#NONE} if the format does
+	 * not have a time component.
+	 */
+	private final Offset offset;
+
 	/**
 	 * @param formatStr the {@link SimpleDateFormat} format string used for
 	 * formatting dates.
+	 * @param extended true if the date and time components are separated by
+	 * dashes and colons, false if not
+	 * @param offset how the UTC offset is written
 	 */
-	VCardDateFormat(String formatStr) {
+	VCardDateFormat(String formatStr, boolean extended, Offset offset) {
 		this.formatStr = formatStr;
+		this.extended = extended;
+		this.offset = offset;
 	}
 
 	/**
@@ -184,8 +199,109 @@ public enum VCardDateFormat {
 	 * @return the date string
 	 */
 	public String format(Date date, TimeZone timezone) {
-		DateFormat df = getDateFormat(timezone);
-		return df.format(date);
+		StringBuilder sb = new StringBuilder(25);
+		format(date, timezone, sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Formats a date in this vCard date format. This method is thread-safe and
+	 * produces the same output as the {@link DateFormat} object returned by
+	 * {@link #getDateFormat(TimeZone)}.
+	 * @param date the date to format
+	 * @param timezone the timezone to format the date in or null for the
+	 * default timezone
+	 * @param sb the buffer to append the date string to
+	 */
+	public void format(Date date, TimeZone timezone, StringBuilder sb) {
+		long millis = date.getTime();
+		if (millis < GREGORIAN_CUTOVER) {
+			/*
+			 * Let the Java API handle dates that may fall within the Julian
+			 * calendar.
+			 */
+			sb.append(getDateFormat(timezone).format(date));
+			return;
+		}
+
+		if (offset == Offset.UTC) {
+			timezone = UTC;
+		} else if (timezone == null) {
+			timezone = TimeZone.getDefault();
+		}
+
+		int offsetMillis = timezone.getOffset(millis);
+		long local = millis + offsetMillis;
+		long days = local / MILLIS_PER_DAY;
+		int millisOfDay = (int) (local % MILLIS_PER_DAY);
+		if (millisOfDay < 0) {
+			days--;
+			millisOfDay += MILLIS_PER_DAY;
+		}
+
+		/*
+		 * Convert the number of days since the epoch to a year, month, and
+		 * date (proleptic Gregorian calendar). See:
+		 * http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+		 */
+		long z = days + 719468;
+		long era = (z >= 0 ? z : z - 146096) / 146097;
+		int dayOfEra = (int) (z - era * 146097);
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int mp = (5 * dayOfYear + 2) / 153;
+		int dayOfMonth = dayOfYear - (153 * mp + 2) / 5 + 1;
+		int month = (mp < 10) ? mp + 3 : mp - 9;
+		long year = yearOfEra + era * 400 + ((month <= 2) ? 1 : 0);
+
+		sb.append(year);
+		if (extended) {
+			sb.append('-');
+		}
+		appendTwoDigits(month, sb);
+		if (extended) {
+			sb.append('-');
+		}
+		appendTwoDigits(dayOfMonth, sb);
+
+		if (offset == Offset.NONE) {
+			return;
+		}
+
+		int secondOfDay = millisOfDay / 1000;
+		sb.append('T');
+		appendTwoDigits(secondOfDay / 3600, sb);
+		if (extended) {
+			sb.append(':');
+		}
+		appendTwoDigits(secondOfDay / 60 % 60, sb);
+		if (extended) {
+			sb.append(':');
+		}
+		appendTwoDigits(secondOfDay % 60, sb);
+
+		if (offset == Offset.UTC) {
+			sb.append('Z');
+			return;
+		}
+
+		int offsetMinutes = offsetMillis / 60000;
+		if (offsetMinutes < 0) {
+			sb.append('-');
+			offsetMinutes = -offsetMinutes;
+		} else {
+			sb.append('+');
+		}
+		appendTwoDigits(offsetMinutes / 60, sb);
+		if (offset == Offset.EXTENDED) {
+			sb.append(':');
+		}
+		appendTwoDigits(offsetMinutes % 60, sb);
+	}
+
+	private static void appendTwoDigits(int value, StringBuilder sb) {
+		sb.append((char) ('0' + value / 10));
+		sb.append((char) ('0' + value % 10));
 	}
 
 	/**
@@ -196,7 +312,15 @@ public enum VCardDateFormat {
 	 * accepted ISO8601 formats
 	 */
 	public static Date parse(String dateStr) {
-		return parseAsCalendar(dateStr).getTime();
+		Timestamp timestamp = Timestamp.parse(dateStr);
+		if (timestamp == null) {
+			throw Messages.INSTANCE.getIllegalArgumentException(41, dateStr);
+		}
+
+		if (timestamp.hasUtcOffset() && timestamp.isNormalized()) {
+			return new Date(timestamp.toMillis());
+		}
+		return timestamp.toCalendar().getTime();
 	}
 
 	/**
@@ -226,129 +350,417 @@ public enum VCardDateFormat {
 	 * accepted ISO8601 formats
 	 */
 	public static Calendar parseAsCalendar(String dateStr) {
-		TimestampPattern p = new TimestampPattern(dateStr);
-		if (!p.matches()) {
+		Timestamp timestamp = Timestamp.parse(dateStr);
+		if (timestamp == null) {
 			throw Messages.INSTANCE.getIllegalArgumentException(41, dateStr);
 		}
+		return timestamp.toCalendar();
+	}
 
-		Calendar c = Calendar.getInstance(p.timezone());
-		c.clear();
+	/**
+	 * Defines how the UTC offset is written.
+	 */
+	private enum Offset {
+		/**
+		 * The format does not have a time component (e.g. "20120701").
+		 */
+		NONE,
+
+		/**
+		 * The time is converted to UTC and "Z" is appended (e.g.
+		 * "20120701T192110Z").
+		 */
+		UTC,
+
+		/**
+		 * Example: "-0500"
+		 */
+		BASIC,
+
+		/**
+		 * Example: "-05:00"
+		 */
+		EXTENDED
+	}
 
-		c.set(Calendar.YEAR, p.year());
-		c.set(Calendar.MONTH, p.month() - 1);
-		c.set(Calendar.DATE, p.date());
+	private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
 
-		if (p.hasTime()) {
-			c.set(Calendar.HOUR_OF_DAY, p.hour());
-			c.set(Calendar.MINUTE, p.minute());
-			c.set(Calendar.SECOND, p.second());
-			c.set(Calendar.MILLISECOND, p.millisecond());
-		}
+	/**
+	 * The start of the Gregorian calendar (October 15, 1582), plus two days to
+	 * account for UTC offsets. Dates before this are handed off to the Java
+	 * API.
+	 */
+	private static final long GREGORIAN_CUTOVER = -12219292800000L + 2 * MILLIS_PER_DAY;
 
-		return c;
-	}
+	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
 
 	/**
-	 * Wrapper for a complex regular expression that parses multiple date
-	 * formats.
+	 * The timezone that is used when "Z" is specified.
 	 */
-	private static class TimestampPattern {
-		//@formatter:off
-		private static final Pattern regex = Pattern.compile(
-			"^(\\d{4})(" +
-				"-?(\\d{2})-?(\\d{2})|" +
-				"-(\\d{1,2})-(\\d{1,2})" + //allow single digit month and/or date as long as there are dashes
-			")" + 
-			"(" +
-				"T(\\d{2}):?(\\d{2}):?(\\d{2})(\\.\\d+)?" +
-				"(" +
-					"Z|([-+])((\\d{2})|((\\d{2}):?(\\d{2})))" +
-				")?" +
-			")?$"
-		);
-		//@formatter:on
+	private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
 
-		private final Matcher m;
-		private final boolean matches;
+	/**
+	 * Caches the timezones of the UTC offsets that have been parsed. Indexed by
+	 * the offset's sign, hour, and minute (see {@link #offsetTimezone}).
+	 * {@link TimeZone} objects are mutable, so only copies are handed out.
+	 */
+	private static final AtomicReferenceArray<TimeZone> offsetTimezones = new AtomicReferenceArray<TimeZone>(2 * 24 * 60);
 
-		public TimestampPattern(String str) {
-			m = regex.matcher(str);
-			matches = m.find();
+	/**
+	 * Gets the timezone of a UTC offset.
+	 * @param negative true if the offset is negative, false if positive
+	 * @param hour the offset hour
+	 * @param minute the offset minute
+	 * @return the timezone (e.g. "GMT-05:00")
+	 */
+	private static TimeZone offsetTimezone(boolean negative, int hour, int minute) {
+		if (hour > 23 || minute > 59) {
+			/*
+			 * This is what TimeZone.getTimeZone() returns when the offset is
+			 * out of range.
+			 */
+			return (TimeZone) GMT.clone();
 		}
 
-		public boolean matches() {
-			return matches;
-		}
+		int index = (negative ? 24 * 60 : 0) + hour * 60 + minute;
+		TimeZone timezone = offsetTimezones.get(index);
+		if (timezone == null) {
+			StringBuilder sb = new StringBuilder(9);
+			sb.append("GMT").append(negative ? '-' : '+');
+			appendTwoDigits(hour, sb);
+			sb.append(':');
+			appendTwoDigits(minute, sb);
 
-		public int year() {
-			return parseInt(1);
+			/*
+			 * Note that TimeZone.getTimeZone() keeps the sign of a zero offset
+			 * ("GMT-00:00" and "GMT+00:00" are different IDs).
+			 */
+			timezone = TimeZone.getTimeZone(sb.toString());
+			offsetTimezones.set(index, timezone);
 		}
+		return (TimeZone) timezone.clone();
+	}
 
-		public int month() {
-			return parseInt(3, 5);
-		}
+	/**
+	 * Parses the date formats that are accepted by {@link #parse}. The
+	 * following grammar is supported (the "T" component is optional, as is the
+	 * fractional second and offset):
+	 *
+	 * <pre>
+	 * YYYY[-]MM[-]DD | YYYY-M[M]-D[D]
+	 * T hh[:]mm[:]ss[.s+] [Z | (+|-)hh | (+|-)hh[:]mm]
+	 * </pre>
+	 */
+	private static class Timestamp {
+		private int year, month, date;
+		private boolean hasTime;
+		private int hour, minute, second, millisecond;
+
+		/**
+		 * 'Z', '+', '-', or 0 if there is no UTC offset.
+		 */
+		private char offsetSign;
+		private int offsetHour, offsetMinute;
+
+		/**
+		 * Parses a date string.
+		 * @param str the date string
+		 * @return the parsed timestamp or null if the string is invalid
+		 */
+		public static Timestamp parse(String str) {
+			int end = endIgnoringLineTerminator(str);
+			Timestamp t = new Timestamp();
+
+			if (!digits(str, 0, 4, end)) {
+				return null;
+			}
+			t.year = number(str, 0, 4);
+			int i = 4;
+
+			int j = i;
+			if (j < end && str.charAt(j) == '-') {
+				j++;
+			}
+			int k = j + 2;
+			if (k < end && str.charAt(k) == '-') {
+				k++;
+			}
+			if (digits(str, j, 2, end) && digits(str, k, 2, end)) {
+				t.month = number(str, j, 2);
+				t.date = number(str, k, 2);
+				i = k + 2;
+			} else {
+				//allow single digit month and/or date as long as there are dashes
+				if (i >= end || str.charAt(i) != '-') {
+					return null;
+				}
+				i++;
+
+				int length = digitCount(str, i, 2, end);
+				if (length == 0 || i + length >= end || str.charAt(i + length) != '-') {
+					return null;
+				}
+				t.month = number(str, i, length);
+				i += length + 1;
+
+				length = digitCount(str, i, 2, end);
+				if (length == 0) {
+					return null;
+				}
+				t.date = number(str, i, length);
+				i += length;
+			}
+
+			if (i == end) {
+				return t;
+			}
 
-		public int date() {
-			return parseInt(4, 6);
+			if (str.charAt(i) != 'T') {
+				return null;
+			}
+			i++;
+			t.hasTime = true;
+
+			if (!digits(str, i, 2, end)) {
+				return null;
+			}
+			t.hour = number(str, i, 2);
+			i += 2;
+
+			if (i < end && str.charAt(i) == ':') {
+				i++;
+			}
+			if (!digits(str, i, 2, end)) {
+				return null;
+			}
+			t.minute = number(str, i, 2);
+			i += 2;
+
+			if (i < end && str.charAt(i) == ':') {
+				i++;
+			}
+			if (!digits(str, i, 2, end)) {
+				return null;
+			}
+			t.second = number(str, i, 2);
+			i += 2;
+
+			if (i < end && str.charAt(i) == '.') {
+				int length = digitCount(str, i + 1, Integer.MAX_VALUE, end);
+				if (length == 0) {
+					return null;
+				}
+				double ms = Double.parseDouble(str.substring(i, i + 1 + length)) * 1000;
+				t.millisecond = (int) Math.round(ms);
+				i += 1 + length;
+			}
+
+			if (i == end) {
+				return t;
+			}
+
+			char c = str.charAt(i);
+			if (c == 'Z') {
+				t.offsetSign = c;
+				return (i + 1 == end) ? t : null;
+			}
+
+			if (c != '+' && c != '-') {
+				return null;
+			}
+			t.offsetSign = c;
+			i++;
+
+			if (!digits(str, i, 2, end)) {
+				return null;
+			}
+			t.offsetHour = number(str, i, 2);
+			i += 2;
+
+			if (i == end) {
+				return t;
+			}
+
+			if (str.charAt(i) == ':') {
+				i++;
+			}
+			if (!digits(str, i, 2, end)) {
+				return null;
+			}
+			t.offsetMinute = number(str, i, 2);
+			i += 2;
+
+			return (i == end) ? t : null;
 		}
 
-		public boolean hasTime() {
-			return m.group(8) != null;
+		/**
+		 * Determines if the timestamp has a "Z" suffix or a numeric UTC offset.
+		 * @return true if it has a UTC offset, false if not
+		 */
+		public boolean hasUtcOffset() {
+			return offsetSign != 0;
 		}
 
-		public int hour() {
-			return parseInt(8);
+		/**
+		 * Determines whether the timestamp can be converted to epoch
+		 * milliseconds without the help of {@link Calendar}. That is, all of its
+		 * fields are within their normal ranges and the date is well after the
+		 * Gregorian cutover.
+		 * @return true if the fields are normalized, false if not
+		 */
+		public boolean isNormalized() {
+			//@formatter:off
+			return
+				year > 1582 &&
+				month >= 1 && month <= 12 &&
+				date >= 1 && date <= 28 + daysAfter28th() &&
+				hour <= 23 && minute <= 59 && second <= 59 &&
+				offsetHour <= 23 && offsetMinute <= 59;
+			//@formatter:on
 		}
 
-		public int minute() {
-			return parseInt(9);
+		private int daysAfter28th() {
+			switch (month) {
+			case 2:
+				boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+				return leap ? 1 : 0;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 2;
+			default:
+				return 3;
+			}
 		}
 
-		public int second() {
-			return parseInt(10);
+		/**
+		 * Converts the timestamp to epoch milliseconds. Only valid if the
+		 * timestamp has a UTC offset and its fields are normalized.
+		 * @return the epoch milliseconds
+		 */
+		public long toMillis() {
+			/*
+			 * Convert the year, month, and date to the number of days since the
+			 * epoch. See:
+			 * http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+			 */
+			int y = (month <= 2) ? year - 1 : year;
+			int era = y / 400;
+			int yearOfEra = y - era * 400;
+			int dayOfYear = (153 * ((month > 2) ? month - 3 : month + 9) + 2) / 5 + date - 1;
+			int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+			long days = era * 146097L + dayOfEra - 719468;
+
+			long millis = days * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L + millisecond;
+
+			int offsetMillis = (offsetHour * 60 + offsetMinute) * 60000;
+			return (offsetSign == '-') ? millis + offsetMillis : millis - offsetMillis;
 		}
 
-		public int millisecond() {
-			String s = m.group(11);
-			if (s == null) {
-				return 0;
+		/**
+		 * Converts the timestamp to a {@link Calendar} object.
+		 * @return the calendar object
+		 */
+		public Calendar toCalendar() {
+			Calendar c = Calendar.getInstance(timezone());
+			c.clear();
+
+			c.set(Calendar.YEAR, year);
+			c.set(Calendar.MONTH, month - 1);
+			c.set(Calendar.DATE, date);
+
+			if (hasTime) {
+				c.set(Calendar.HOUR_OF_DAY, hour);
+				c.set(Calendar.MINUTE, minute);
+				c.set(Calendar.SECOND, second);
+				c.set(Calendar.MILLISECOND, millisecond);
 			}
 
-			double ms = Double.parseDouble(s) * 1000;
-			return (int) Math.round(ms);
+			return c;
 		}
 
-		public TimeZone timezone() {
-			String offsetStr = m.group(12);
-			if (offsetStr == null) {
+		private TimeZone timezone() {
+			switch (offsetSign) {
+			case 0:
 				return TimeZone.getDefault();
+			case 'Z':
+				/*
+				 * Use the naked "GMT" timezone when "Z" is specified. This
+				 * allows the user to differentiate from when an offset of
+				 * "00:00" is explicitly specified (they refer to the same
+				 * timezone, though).
+				 */
+				return (TimeZone) GMT.clone();
+			default:
+				return offsetTimezone(offsetSign == '-', offsetHour, offsetMinute);
 			}
+		}
 
-			/*
-			 * Use the naked "GMT" timezone when "Z" is specified. This allows
-			 * the user to differentiate from when an offset of "00:00" is
-			 * explicitly specified (they refer to the same timezone, though).
-			 */
-			if (offsetStr.equals("Z")) {
-				return TimeZone.getTimeZone("GMT");
+		/**
+		 * Gets the end of the string, ignoring a single trailing line
+		 * terminator (this mimics the behavior of the "$" regular expression
+		 * boundary matcher that the parser originally used).
+		 * @param str the string
+		 * @return the end index
+		 */
+		private static int endIgnoringLineTerminator(String str) {
+			int end = str.length();
+			if (end == 0) {
+				return end;
 			}
 
-			/*
-			 * Java is lenient regarding the format of the offset string. For
-			 * example, all of the following resolve to the same "GMT+03:00"
-			 * timezone: "GMT+3", "GMT+03", "GMT+3:00", "GMT+300"
-			 */
-			return TimeZone.getTimeZone("GMT" + offsetStr);
+			switch (str.charAt(end - 1)) {
+			case '\n':
+				return (end > 1 && str.charAt(end - 2) == '\r') ? end - 2 : end - 1;
+			case '\r':
+			case '\u0085':
+			case '\u2028':
+			case '\u2029':
+				return end - 1;
+			default:
+				return end;
+			}
+		}
+
+		/**
+		 * Determines if a range of characters are all digits.
+		 * @param str the string
+		 * @param start the start index
+		 * @param length the number of characters
+		 * @param end the end of the string
+		 * @return true if they are all digits, false if not
+		 */
+		private static boolean digits(String str, int start, int length, int end) {
+			return start >= 0 && digitCount(str, start, length, end) == length;
 		}
 
-		private int parseInt(int... group) {
-			for (int g : group) {
-				String s = m.group(g);
-				if (s != null) {
-					return Integer.parseInt(s);
+		/**
+		 * Counts the number of consecutive digits.
+		 * @param str the string
+		 * @param start the index to start counting at
+		 * @param max the maximum number of digits to count
+		 * @param end the end of the string
+		 * @return the number of digits
+		 */
+		private static int digitCount(String str, int start, int max, int end) {
+			int i = start;
+			while (i < end && i - start < max) {
+				char c = str.charAt(i);
+				if (c < '0' || c > '9') {
+					break;
 				}
+				i++;
+			}
+			return i - start;
+		}
+
+		private static int number(String str, int start, int length) {
+			int value = 0;
+			for (int i = start; i < start + length; i++) {
+				value = value * 10 + (str.charAt(i) - '0');
 			}
-			throw new NullPointerException();
+			return value;
 		}
 	}
 
@@ -5,6 +5,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -18,13 +19,22 @@ import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -63,22 +73,198 @@ import org.xml.sax.SAXException;
  */
 
 /**
+ * <p>
  * Generic XML utility methods.
+ * </p>
+ * <p>
+ * Looking up JAXP factories is expensive, so the factories used by this class
+ * are created once, protected against XXE attacks, and shared. Since
+ * {@link DocumentBuilder} and {@link Transformer} objects are not thread-safe,
+ * one of each is kept per thread.
+ * </p>
  * @author Michael Angstadt
  */
 public final class XmlUtils {
+	private static DocumentBuilderFactory documentBuilderFactory;
+	private static SAXTransformerFactory transformerFactory;
+	private static XMLInputFactory xmlInputFactory;
+	private static XMLOutputFactory xmlOutputFactory;
+	private static XPathFactory xpathFactory;
+
+	private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>() {
+		@Override
+		protected DocumentBuilder initialValue() {
+			DocumentBuilderFactory factory = documentBuilderFactory();
+			synchronized (factory) {
+				try {
+					return factory.newDocumentBuilder();
+				} catch (ParserConfigurationException e) {
+					//should never be thrown because we're not doing anything fancy with the configuration
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	};
+
+	private static final ThreadLocal<Transformer> transformer = new ThreadLocal<Transformer>() {
+		@Override
+		protected Transformer initialValue() {
+			SAXTransformerFactory factory = transformerFactory();
+			synchronized (factory) {
+				try {
+					return factory.newTransformer();
+				} catch (TransformerConfigurationException e) {
+					//should never be thrown because we're not doing anything fancy with the configuration
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	};
+
+	private static synchronized DocumentBuilderFactory documentBuilderFactory() {
+		if (documentBuilderFactory == null) {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setIgnoringComments(true);
+			applyXXEProtection(factory);
+			documentBuilderFactory = factory;
+		}
+		return documentBuilderFactory;
+	}
+
+	private static synchronized SAXTransformerFactory transformerFactory() {
+		if (transformerFactory == null) {
+			TransformerFactory factory;
+			try {
+				factory = TransformerFactory.newInstance();
+			} catch (TransformerFactoryConfigurationError e) {
+				//should never be thrown because we're not doing anything fancy with the configuration
+				throw new RuntimeException(e);
+			}
+			applyXXEProtection(factory);
+			transformerFactory = (SAXTransformerFactory) factory;
+		}
+		return transformerFactory;
+	}
+
+	private static synchronized XMLInputFactory xmlInputFactory() {
+		if (xmlInputFactory == null) {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			applyXXEProtection(factory);
+			xmlInputFactory = factory;
+		}
+		return xmlInputFactory;
+	}
+
+	private static synchronized XMLOutputFactory xmlOutputFactory() {
+		if (xmlOutputFactory == null) {
+			xmlOutputFactory = XMLOutputFactory.newInstance();
+		}
+		return xmlOutputFactory;
+	}
+
+	private static synchronized XPathFactory xpathFactory() {
+		if (xpathFactory == null) {
+			xpathFactory = XPathFactory.newInstance();
+		}
+		return xpathFactory;
+	}
+
 	/**
 	 * Creates a new XML document.
 	 * @return the XML document
 	 */
 	public static Document createDocument() {
-		try {
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			return builder.newDocument();
-		} catch (ParserConfigurationException e) {
-			//should never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
+		return documentBuilder.get().newDocument();
+	}
+
+	/**
+	 * Gets this thread's XML transformer. The transformer is reset to its
+	 * original state before it is returned.
+	 * @return the transformer
+	 */
+	public static Transformer getTransformer() {
+		Transformer transformer = XmlUtils.transformer.get();
+		transformer.reset();
+		return transformer;
+	}
+
+	/**
+	 * Creates a SAX handler that serializes the SAX events it receives.
+	 * @return the handler
+	 */
+	public static TransformerHandler createTransformerHandler() {
+		SAXTransformerFactory factory = transformerFactory();
+		synchronized (factory) {
+			try {
+				return factory.newTransformerHandler();
+			} catch (TransformerConfigurationException e) {
+				//should never be thrown because we're not doing anything fancy with the configuration
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Creates a StAX reader that is protected against XXE attacks.
+	 * @param reader the reader to read from
+	 * @return the StAX reader
+	 * @throws XMLStreamException if there's a problem creating the reader
+	 */
+	public static XMLStreamReader createXMLStreamReader(Reader reader) throws XMLStreamException {
+		XMLInputFactory factory = xmlInputFactory();
+		synchronized (factory) {
+			return factory.createXMLStreamReader(reader);
+		}
+	}
+
+	/**
+	 * Creates a StAX reader that is protected against XXE attacks.
+	 * @param in the input stream to read from
+	 * @return the StAX reader
+	 * @throws XMLStreamException if there's a problem creating the reader
+	 */
+	public static XMLStreamReader createXMLStreamReader(InputStream in) throws XMLStreamException {
+		XMLInputFactory factory = xmlInputFactory();
+		synchronized (factory) {
+			return factory.createXMLStreamReader(in);
+		}
+	}
+
+	/**
+	 * Creates a StAX writer.
+	 * @param writer the writer to write to
+	 * @return the StAX writer
+	 * @throws XMLStreamException if there's a problem creating the writer
+	 */
+	public static XMLStreamWriter createXMLStreamWriter(Writer writer) throws XMLStreamException {
+		XMLOutputFactory factory = xmlOutputFactory();
+		synchronized (factory) {
+			return factory.createXMLStreamWriter(writer);
+		}
+	}
+
+	/**
+	 * Creates a StAX writer that uses UTF-8 encoding.
+	 * @param out the output stream to write to
+	 * @return the StAX writer
+	 * @throws XMLStreamException if there's a problem creating the writer
+	 */
+	public static XMLStreamWriter createXMLStreamWriter(OutputStream out) throws XMLStreamException {
+		XMLOutputFactory factory = xmlOutputFactory();
+		synchronized (factory) {
+			return factory.createXMLStreamWriter(out, "UTF-8");
+		}
+	}
+
+	/**
+	 * Creates a new XPath object.
+	 * @return the XPath object
+	 */
+	public static XPath createXPath() {
+		XPathFactory factory = xpathFactory();
+		synchronized (factory) {
+			return factory.newXPath();
 		}
 	}
 
@@ -148,19 +334,8 @@ public final class XmlUtils {
 	}
 
 	private static Document toDocument(InputSource in) throws SAXException, IOException {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setNamespaceAware(true);
-		factory.setIgnoringComments(true);
-		applyXXEProtection(factory);
-
-		DocumentBuilder builder;
-		try {
-			builder = factory.newDocumentBuilder();
-		} catch (ParserConfigurationException e) {
-			//should never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
-		}
-
+		DocumentBuilder builder = documentBuilder.get();
+		builder.reset();
 		return builder.parse(in);
 	}
 
@@ -221,6 +396,30 @@ public final class XmlUtils {
 		}
 	}
 
+	/**
+	 * Configures a {@link XMLInputFactory} to protect it against XML External
+	 * Entity attacks.
+	 * @param factory the factory
+	 * @see <a href=
+	 * "https://www.owasp.org/index.php/XML_External_Entity_%28XXE%29_Prevention_Cheat_Sheet#Java">
+	 * XXE Cheat Sheet</a>
+	 */
+	public static void applyXXEProtection(XMLInputFactory factory) {
+		Map<String, Boolean> properties = new HashMap<String, Boolean>();
+		properties.put(XMLInputFactory.SUPPORT_DTD, false);
+		properties.put(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+		for (Map.Entry<String, Boolean> entry : properties.entrySet()) {
+			String property = entry.getKey();
+			Boolean value = entry.getValue();
+			try {
+				factory.setProperty(property, value);
+			} catch (IllegalArgumentException e) {
+				//property is not supported by the local XML engine, skip it
+			}
+		}
+	}
+
 	/**
 	 * Converts an XML node to a string.
 	 * @param node the XML node
@@ -265,17 +464,7 @@ public final class XmlUtils {
 	 * @throws TransformerException if there's a problem writing to the writer
 	 */
 	public static void toWriter(Node node, Writer writer, Map<String, String> outputProperties) throws TransformerException {
-		Transformer transformer;
-		try {
-			transformer = TransformerFactory.newInstance().newTransformer();
-		} catch (TransformerConfigurationException e) {
-			//should never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
-		} catch (TransformerFactoryConfigurationError e) {
-			//should never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
-		}
-
+		Transformer transformer = getTransformer();
 		assignOutputProperties(transformer, outputProperties);
 
 		DOMSource source = new DOMSource(node);
@@ -14,6 +14,8 @@ import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
@@ -147,6 +149,58 @@ public class EzvcardTest {
 		assertEquals(22, ext.get(0).luckyNum);
 	}
 
+	@Test
+	public void parse_include() throws Exception {
+		//@formatter:off
+		String str = 
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:John Doe\r\n" +
+		"NOTE:Note\r\n" +
+		"X-LUCKY-NUM:22\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCard vcard = Ezvcard.parse(str).register(new LuckyNumScribe()).include(LuckyNumProperty.class).include("fn").first();
+		assertVersion(VCardVersion.V2_1, vcard);
+		assertEquals(2, vcard.getProperties().size());
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals(22, vcard.getProperty(LuckyNumProperty.class).luckyNum);
+	}
+
+	@Test
+	public void parse_parallel() throws Exception {
+		//@formatter:off
+		String str = 
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:John Doe\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:Jane Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<List<ParseWarning>> warnings = new ArrayList<List<ParseWarning>>();
+			List<VCard> vcards = Ezvcard.parse(str).parallel(executor).warnings(warnings).all();
+			assertEquals(2, vcards.size());
+			assertEquals(2, warnings.size());
+
+			VCard vcard = vcards.get(0);
+			assertVersion(VCardVersion.V2_1, vcard);
+			assertEquals("John Doe", vcard.getFormattedName().getValue());
+
+			vcard = vcards.get(1);
+			assertVersion(VCardVersion.V3_0, vcard);
+			assertEquals("Jane Doe", vcard.getFormattedName().getValue());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void parse_caretDecoding() throws Exception {
 		//@formatter:off
@@ -0,0 +1,218 @@
+package ezvcard;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.property.Note;
+import ezvcard.property.RawProperty;
+import ezvcard.property.Title;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class PropertyStoreTest {
+	private final Note note1 = new Note("one");
+	private final Note note2 = new Note("two");
+	private final Note note3 = new Note("three");
+	private final Title title = new Title("title");
+	private final RawProperty raw = new RawProperty("X-FOO", "value");
+
+	@Test
+	public void add() {
+		PropertyStore store = new PropertyStore();
+		assertEquals(0, store.size());
+		assertEquals(0, store.classCount());
+		assertNull(store.first(Note.class));
+
+		store.add(Note.class, note1);
+		store.add(Title.class, title);
+		store.add(Note.class, note2);
+		store.add(RawProperty.class, raw);
+		store.add(Note.class, 0, note3);
+
+		//properties of the same class are grouped together
+		assertEquals(asList(note3, note1, note2, title, raw), store.values());
+		assertEquals(5, store.size());
+		assertEquals(3, store.classCount());
+		assertSame(Note.class, store.classAt(0));
+		assertSame(Title.class, store.classAt(1));
+		assertSame(RawProperty.class, store.classAt(2));
+
+		assertEquals(3, store.count(Note.class));
+		assertSame(note3, store.first(Note.class));
+		assertSame(note1, store.get(Note.class, 1));
+		assertSame(raw, store.get(4));
+		assertEquals(asList(title), store.values(Title.class));
+	}
+
+	@Test
+	public void add_many() {
+		PropertyStore store = new PropertyStore();
+		for (int i = 0; i < 100; i++) {
+			store.add(Note.class, new Note(i + ""));
+			store.add(Title.class, new Title(i + ""));
+		}
+
+		assertEquals(200, store.size());
+		assertEquals(100, store.count(Note.class));
+		assertEquals("99", ((Note) store.get(99)).getValue());
+		assertEquals("0", ((Title) store.get(100)).getValue());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void add_index_out_of_bounds() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, 1, note1);
+	}
+
+	@Test
+	public void get_index_out_of_bounds() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.add(Title.class, title);
+
+		try {
+			store.get(Note.class, 1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//expected
+		}
+
+		try {
+			store.get(RawProperty.class, 0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//expected
+		}
+
+		try {
+			store.get(2);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//expected
+		}
+	}
+
+	@Test
+	public void set() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.add(Note.class, note2);
+
+		assertSame(note2, store.set(Note.class, 1, note3));
+		assertEquals(asList(note1, note3), store.values());
+	}
+
+	@Test
+	public void remove() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.add(Title.class, title);
+		store.add(Note.class, note2);
+
+		assertFalse(store.remove(Note.class, note3));
+		assertFalse(store.remove(RawProperty.class, raw));
+		assertTrue(store.remove(Note.class, new Note("one")));
+		assertEquals(asList(note2, title), store.values());
+
+		assertSame(note2, store.remove(Note.class, 0));
+		assertEquals(asList(title), store.values());
+		assertEquals(1, store.classCount());
+
+		//the class moves to the end when it is added again
+		store.add(Note.class, note1);
+		assertEquals(asList(title, note1), store.values());
+	}
+
+	@Test
+	public void removeAll() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.add(Title.class, title);
+		store.add(Note.class, note2);
+
+		assertEquals(asList(), store.removeAll(RawProperty.class));
+		assertEquals(asList(note1, note2), store.removeAll(Note.class));
+		assertEquals(asList(title), store.values());
+		assertEquals(0, store.count(Note.class));
+	}
+
+	@Test
+	public void replace() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.add(Title.class, title);
+		store.add(Note.class, note2);
+
+		assertEquals(asList(note1, note2), store.replace(Note.class, note3));
+		assertEquals(asList(title, note3), store.values());
+
+		assertEquals(asList(note3), store.replace(Note.class, null));
+		assertEquals(asList(title), store.values());
+	}
+
+	@Test
+	public void values_snapshot() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.add(Title.class, title);
+
+		List<VCardProperty> values = store.values();
+		List<VCardProperty> notes = store.values(Note.class);
+
+		store.add(Note.class, note2);
+		store.set(Title.class, 0, new Title("new"));
+		store.remove(Note.class, 0);
+
+		assertEquals(asList(note1, title), values);
+		assertEquals(asList(note1), notes);
+		assertEquals(2, store.size());
+		assertSame(note2, store.get(0));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void values_immutable() {
+		PropertyStore store = new PropertyStore();
+		store.add(Note.class, note1);
+		store.values().remove(0);
+	}
+}
@@ -15,7 +15,10 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 
 import org.junit.Test;
 
@@ -81,6 +84,49 @@ public class VCardTest {
 
 	}
 
+	@Test(expected = ConcurrentModificationException.class)
+	public void getProperties_class_fail_fast() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		vcard.addNote("two");
+		vcard.addNote("three");
+
+		for (Note note : vcard.getNotes()) {
+			vcard.removeProperty(note);
+		}
+	}
+
+	@Test
+	public void getProperties_class_iterator_remove() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		vcard.addNote("two");
+		vcard.addNote("three");
+
+		Iterator<Note> it = vcard.getNotes().iterator();
+		while (it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+		assertTrue(vcard.getNotes().isEmpty());
+	}
+
+	@Test
+	public void getProperties_snapshot() {
+		VCard vcard = new VCard();
+		Note note = new Note("value");
+		vcard.addProperty(note);
+
+		Collection<VCardProperty> properties = vcard.getProperties();
+		for (VCardProperty property : vcard) {
+			vcard.removeProperty(property);
+		}
+		vcard.addProperty(new Note("value2"));
+
+		assertCollectionContains(properties, note);
+		assertEquals(1, vcard.getProperties().size());
+	}
+
 	@Test
 	public void addProperty() {
 		VCard vcard = new VCard();
@@ -161,6 +207,55 @@ public class VCardTest {
 		assertEquals(property, vcard.getExtendedProperty("NAME"));
 	}
 
+	@Test
+	public void getExtendedProperty_turkish_locale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			VCard vcard = new VCard();
+			RawProperty property = vcard.addExtendedProperty("X-TITLE", "value");
+			assertEquals(property, vcard.getExtendedProperty("x-title"));
+			assertEquals(asList(property), vcard.getExtendedProperties("x-title"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	public void getExtendedProperty_index_stays_up_to_date() {
+		VCard vcard = new VCard();
+		RawProperty property = vcard.addExtendedProperty("NAME", "value");
+		assertEquals(asList(property), vcard.getExtendedProperties("name"));
+
+		//modified through the list
+		List<RawProperty> list = vcard.getExtendedProperties();
+		RawProperty property2 = new RawProperty("name", "value2");
+		list.add(property2);
+		assertEquals(asList(property, property2), vcard.getExtendedProperties("NAME"));
+
+		list.remove(property);
+		assertEquals(property2, vcard.getExtendedProperty("NAME"));
+
+		//removed
+		vcard.removeProperty(property2);
+		assertNull(vcard.getExtendedProperty("NAME"));
+
+		//renamed
+		RawProperty property3 = vcard.addExtendedProperty("NAME2", "value");
+		assertNull(vcard.getExtendedProperty("NAME"));
+		property3.setPropertyName("Name");
+		assertEquals(property3, vcard.getExtendedProperty("NAME"));
+		assertNull(vcard.getExtendedProperty("NAME2"));
+
+		//replaced
+		RawProperty property4 = new RawProperty("NAME", "value");
+		vcard.setProperty(property4);
+		assertEquals(asList(property4), vcard.getExtendedProperties("NAME"));
+
+		vcard.removeProperties(RawProperty.class);
+		assertEquals(asList(), vcard.getExtendedProperties("NAME"));
+	}
+
 	@Test
 	public void addExtendedProperty() {
 		VCard vcard = new VCard();
@@ -416,6 +511,26 @@ public class VCardTest {
 		assertEqualsAndHash(one, two);
 	}
 
+	@Test
+	public void equals_many_properties() {
+		VCard one = new VCard();
+		VCard two = new VCard();
+		for (int i = 0; i < 100; i++) {
+			one.addNote("Note " + i);
+			two.addNote("Note " + (99 - i));
+		}
+
+		Note note1 = one.addNote("Note");
+		note1.setGroup("group");
+		Note note2 = two.addNote("Note");
+		note2.setGroup("GROUP");
+		assertEqualsAndHash(one, two);
+
+		two.getNotes().get(0).setValue("changed");
+		assertNotEquals(one, two);
+		assertNotEquals(two, one);
+	}
+
 	@Test
 	public void toString_() {
 		VCard vcard = new VCard();
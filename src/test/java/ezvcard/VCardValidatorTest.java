@@ -0,0 +1,143 @@
+package ezvcard;
+
+import static ezvcard.util.TestUtils.assertValidate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import ezvcard.parameter.Calscale;
+import ezvcard.property.Note;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardValidatorTest {
+	@Test
+	public void validate() {
+		VCard vcard = createInvalidVCard();
+		Note note = vcard.getNotes().get(0);
+
+		VCardValidator validator = new VCardValidator(VCardVersion.V3_0);
+		ValidationWarnings warnings = validator.validate(vcard);
+		assertValidate(warnings.getByProperty(null), 0, 1);
+		assertValidate(warnings.getByProperty(Note.class), 23, 25, 3, 6);
+		assertEquals(vcard.validate(VCardVersion.V3_0).toString(), warnings.toString());
+
+		//disable the character checks
+		validator.setCheckEnabled(ValidationCheck.CHARACTERS, false);
+		assertFalse(validator.isCheckEnabled(ValidationCheck.CHARACTERS));
+		warnings = validator.validate(vcard);
+		assertValidate(warnings.getByProperty(null), 0, 1);
+		assertValidate(warnings.getByProperty(Note.class), 3, 6);
+
+		//disable the required property and parameter value checks
+		validator.setCheckEnabled(ValidationCheck.REQUIRED_PROPERTIES, false);
+		validator.setCheckEnabled(ValidationCheck.PARAMETER_VALUES, false);
+		assertTrue(validator.validate(vcard).isEmpty());
+
+		//re-enable
+		validator.setCheckEnabled(ValidationCheck.CHARACTERS, true);
+		assertTrue(validator.isCheckEnabled(ValidationCheck.CHARACTERS));
+		warnings = validator.validate(vcard);
+		assertValidate(warnings.getByProperty(Note.class), 23, 25);
+
+		note.setGroup(null);
+		note.getParameters().clear();
+		assertTrue(validator.validate(vcard).isEmpty());
+	}
+
+	@Test
+	public void stopAtFirstProblem() {
+		VCard vcard = createInvalidVCard();
+		vcard.addNote("two").setGroup("in valid");
+
+		VCardValidator validator = new VCardValidator(VCardVersion.V3_0);
+		validator.setStopAtFirstProblem(true);
+		ValidationWarnings warnings = validator.validate(vcard);
+		assertValidate(warnings.getByProperty(null), 0, 1);
+		assertEquals(2, warnings.getWarnings().size());
+
+		validator.setCheckEnabled(ValidationCheck.REQUIRED_PROPERTIES, false);
+		warnings = validator.validate(vcard);
+		assertEquals(1, warnings.getWarnings().keySet().size());
+		assertValidate(warnings.getByProperty(Note.class), 23, 25, 3, 6);
+	}
+
+	@Test
+	public void validate_parallel() throws Exception {
+		List<VCard> vcards = new ArrayList<VCard>();
+		for (int i = 0; i < 100; i++) {
+			VCard vcard = new VCard();
+			if (i % 3 == 0) {
+				vcard.setFormattedName("Name " + i);
+			}
+			vcards.add(vcard);
+		}
+
+		VCardValidator validator = new VCardValidator(VCardVersion.V4_0);
+		validator.setBatchSize(7);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<ValidationWarnings> results;
+		try {
+			results = validator.validate(vcards, executor);
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(vcards.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i % 3 != 0, !results.get(i).isEmpty());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setBatchSize_invalid() {
+		new VCardValidator(VCardVersion.V4_0).setBatchSize(0);
+	}
+
+	private static VCard createInvalidVCard() {
+		VCard vcard = new VCard();
+		Note note = vcard.addNote("one");
+		note.setGroup("in valid");
+		note.getParameters().put("X-PARAM", "in\"valid");
+		note.getParameters().setCalscale(Calscale.get("foo"));
+		return vcard;
+	}
+}
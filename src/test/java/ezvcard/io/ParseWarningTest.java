@@ -67,6 +67,29 @@ public class ParseWarningTest {
 		assertEquals(Messages.INSTANCE.getParseMessage(2, "arg"), warning.getMessage());
 	}
 
+	@Test
+	public void builder_message_replaced() {
+		ParseWarning.Builder builder = new ParseWarning.Builder();
+		ParseWarning warning = builder.message(2, "arg").message("message").build();
+		assertNull(warning.getCode());
+		assertEquals("message", warning.getMessage());
+
+		builder = new ParseWarning.Builder();
+		warning = builder.message("message").message(2, "arg").build();
+		assertIntEquals(2, warning.getCode());
+		assertEquals(Messages.INSTANCE.getParseMessage(2, "arg"), warning.getMessage());
+	}
+
+	@Test
+	public void builder_copy() {
+		ParseWarning original = new ParseWarning.Builder().lineNumber(1).propertyName("PROP").message(2, "arg").build();
+		ParseWarning warning = new ParseWarning.Builder(original).lineNumber(5).build();
+		assertIntEquals(5, warning.getLineNumber());
+		assertEquals("PROP", warning.getPropertyName());
+		assertIntEquals(2, warning.getCode());
+		assertEquals(Messages.INSTANCE.getParseMessage(2, "arg"), warning.getMessage());
+	}
+
 	@Test
 	public void builder_CannotParseException_reason() {
 		CannotParseException e = new CannotParseException("reason");
@@ -9,6 +9,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 
 import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
@@ -276,6 +277,18 @@ public class HCardElementTest {
 		assertTrue(element.allValues("non-existant").isEmpty());
 	}
 
+	@Test
+	public void allValues_turkish_locale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			HCardElement element = build("<div><span class=\"TITLE\">Boss</span></div>");
+			assertEquals(Arrays.asList("Boss"), element.allValues("title"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
 	@Test
 	public void types_none() {
 		assertTypes("<div class=\"adr\"></div>");
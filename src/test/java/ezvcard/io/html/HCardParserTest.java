@@ -834,6 +834,35 @@ public class HCardParserTest {
 		//@formatter:on
 	}
 
+	@Test
+	public void include_properties() throws Exception {
+		//@formatter:off
+		String html =
+		"<html>" +
+			"<body>" +
+				"<div class=\"vcard\">" +
+					"<span class=\"fn\">John Doe</span>" +
+					"<span class=\"nickname\">Johnny</span>" +
+					"<a class=\"url\" href=\"mailto:johndoe@example.com\">Email</a>" +
+					"<a class=\"url\" href=\"aim:goim?screenname=johndoe\">IM</a>" +
+				"</div>" +
+			"</body>" +
+		"</html>";
+		//@formatter:on
+
+		HCardParser parser = new HCardParser(html);
+		parser.includeProperty("email");
+		parser.includeProperty(FormattedName.class);
+
+		VCard vcard = parser.readNext();
+		assertVersion(V3_0, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("johndoe@example.com", vcard.getEmails().get(0).getValue());
+		assertParseWarnings(parser);
+		assertNoMoreVCards(parser);
+	}
+
 	private static VCardAsserter readHtml(String html) {
 		HCardParser parser = new HCardParser(html);
 		return new VCardAsserter(parser);
@@ -0,0 +1,189 @@
+package ezvcard.io.html;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.property.FormattedName;
+import ezvcard.property.Note;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class HCardStreamParserTest {
+	@Test
+	public void same_as_document_parser() throws Exception {
+		//@formatter:off
+		String html =
+		"<!DOCTYPE html>" +
+		"<html>" +
+			"<head>" +
+				"<title>a <div class=\"vcard\"> in the title</title>" +
+				"<script>var s = '<div class=\"vcard\"><span class=\"fn\">Script</span></div>';</script>" +
+			"</head>" +
+			"<body>" +
+				"<!-- <div class=\"vcard\"><span class=\"fn\">Comment</span></div> -->" +
+				"<div class=\"vcard\">" +
+					"<span class=\"fn\">John Doe</span>" +
+					"<a class=\"url\" href=\"/john\">home</a>" +
+					"<a class=\"email\" href=\"mailto:john@example.com\">email</a>" +
+					"<br>" +
+					"<style>.fn { color: red }</style>" +
+					"<div class=\"agent vcard\"><span class=\"fn\">Jane Doe</span></div>" +
+					"<div><div><span class=\"note\">a &lt; b &amp; c</span></div></div>" +
+				"</div>" +
+				"<ul>" +
+					"<li class=\"vcard\"><span class=\"fn\">Unclosed 1</span>" +
+					"<li class=\"vcard\"><span class=\"fn\">Unclosed 2</span>" +
+				"</ul>" +
+				"<table>" +
+					"<tr class=\"vcard\"><td class=\"fn\">Row 1</td><td class=\"tel\">555-1234</td></tr>" +
+					"<tr class=\"vcard\"><td class=\"fn\">Row 2</td>" +
+				"</table>" +
+				"<p class=\"vcard\"><span class=\"fn\">Paragraph</span>" +
+				"<div>not part of the paragraph</div>" +
+				"<img class=\"vcard fn\" alt=\"Image\" src=\"image.png\" />" +
+				"<span CLASS='foo VCard'><span class=fn>Quotes</span></span>" +
+				"<div class=\"vcard\"><span class=\"fn\">Unclosed at end of page</span>" +
+			"</body>" +
+		"</html>";
+		//@formatter:on
+
+		String pageUrl = "http://example.com/page.html";
+		List<VCard> expected = new HCardParser(html, pageUrl).readAll();
+		assertEquals(9, expected.size());
+
+		HCardStreamParser parser = new HCardStreamParser(new StringReader(html), pageUrl);
+		List<VCard> actual = parser.readAll();
+		parser.close();
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void base_tag() throws Exception {
+		//@formatter:off
+		String html =
+		"<html>" +
+			"<head><base href=\"/people/\"></head>" +
+			"<body>" +
+				"<div class=\"vcard\"><a class=\"url\" href=\"john\">home</a></div>" +
+			"</body>" +
+		"</html>";
+		//@formatter:on
+
+		HCardStreamParser parser = new HCardStreamParser(new StringReader(html), "http://example.com/page.html");
+		VCard vcard = parser.readNext();
+		assertEquals("http://example.com/people/john", vcard.getUrls().get(0).getValue());
+		assertEquals(new HCardParser(html, "http://example.com/page.html").readNext(), vcard);
+		assertNull(parser.readNext());
+		parser.close();
+	}
+
+	@Test
+	public void returns_vcard_when_its_element_closes() throws Exception {
+		//@formatter:off
+		String html =
+		"<html><body>" +
+			"<div class=\"vcard\"><span class=\"fn\">John Doe</span></div>";
+		//@formatter:on
+
+		/*
+		 * Fail if the parser tries to read past the end of the first hCard
+		 * before returning it.
+		 */
+		final int limit = html.length();
+		html += "<div class=\"vcard\"><span class=\"fn\">Jane Doe</span></div></body></html>";
+		final Reader in = new StringReader(html);
+		final boolean[] limited = { true };
+		Reader reader = new Reader() {
+			private int read = 0;
+
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				if (limited[0] && read >= limit) {
+					throw new IOException("Read past the end of the first hCard.");
+				}
+
+				int r = in.read(cbuf, off, 1);
+				if (r > 0) {
+					read += r;
+				}
+				return r;
+			}
+
+			@Override
+			public void close() throws IOException {
+				in.close();
+			}
+		};
+
+		HCardStreamParser parser = new HCardStreamParser(reader);
+		VCard vcard = parser.readNext();
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+
+		limited[0] = false;
+		vcard = parser.readNext();
+		assertEquals("Jane Doe", vcard.getFormattedName().getValue());
+		assertNull(parser.readNext());
+		parser.close();
+	}
+
+	@Test
+	public void includeProperty() throws Exception {
+		//@formatter:off
+		String html =
+		"<div class=\"vcard\">" +
+			"<span class=\"fn\">John Doe</span>" +
+			"<span class=\"note\">A note</span>" +
+			"<span class=\"x-foo\">bar</span>" +
+		"</div>";
+		//@formatter:on
+
+		HCardStreamParser parser = new HCardStreamParser(new StringReader(html));
+		parser.includeProperty(FormattedName.class);
+		VCard vcard = parser.readNext();
+		assertEquals(1, vcard.getProperties().size());
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertTrue(vcard.getProperties(Note.class).isEmpty());
+		assertNull(parser.readNext());
+		parser.close();
+	}
+}
@@ -6,7 +6,11 @@ import static ezvcard.util.TestUtils.assertParseWarnings;
 import static ezvcard.util.TestUtils.assertPropertyCount;
 import static ezvcard.util.TestUtils.assertVersion;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.Writer;
 
@@ -14,6 +18,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
 import ezvcard.VCard;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
@@ -381,6 +388,74 @@ public class JCardReaderTest {
 		//@formatter:on
 	}
 
+	@Test
+	public void utf8_inputStream() throws Throwable {
+		//@formatter:off
+		String json =
+		"[\"vcard\"," +
+			"[" +
+				"[\"version\", {}, \"text\", \"4.0\"]," +
+				"[\"note\", {}, \"text\", \"\u019dote \ud83d\ude00\"]" +
+			"]" +
+		"]";
+
+		JCardReader reader = new JCardReader(new ByteArrayInputStream(json.getBytes("UTF-8")));
+		VCardAsserter asserter = new VCardAsserter(reader);
+		
+		asserter.next(V4_0);
+
+		asserter.simpleProperty(Note.class)
+			.value("\u019dote \ud83d\ude00")
+		.noMore();
+
+		asserter.done();
+		//@formatter:on
+	}
+
+	@Test
+	public void jsonFactory() throws Throwable {
+		//@formatter:off
+		String json =
+		"[\"vcard\"," +
+			"[" +
+				"/* comment */" +
+				"[\"version\", {}, \"text\", \"4.0\"]," +
+				"[\"note\", {}, \"text\", \"Note\"]" +
+			"]" +
+		"]";
+		//@formatter:on
+
+		JsonFactory factory = new JsonFactory();
+		factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
+
+		JCardReader reader = new JCardReader(json);
+		reader.setJsonFactory(factory);
+		assertSame(factory, reader.getJsonFactory());
+
+		VCard vcard = reader.readNext();
+		assertEquals("Note", vcard.getNotes().get(0).getValue());
+		assertNoMoreVCards(reader);
+	}
+
+	@Test
+	public void getJsonFactory_default() throws Throwable {
+		//@formatter:off
+		String json =
+		"[\"vcard\"," +
+			"[" +
+				"[\"version\", {}, \"text\", \"4.0\"]" +
+			"]" +
+		"]";
+		//@formatter:on
+
+		JCardReader reader = new JCardReader(json);
+		assertNull(reader.getJsonFactory());
+
+		assertNotNull(reader.readNext());
+		assertNoMoreVCards(reader);
+		assertNull(reader.getJsonFactory());
+	}
+
 	private static class TypeForTesting extends VCardProperty {
 		public JCardValue value;
 
@@ -513,6 +588,31 @@ public class JCardReaderTest {
 		asserter.done();
 	}
 
+	@Test
+	public void include_properties() throws Throwable {
+		//@formatter:off
+		String json =
+		"[\"vcard\"," +
+			"[" +
+				"[\"version\", {}, \"text\", \"4.0\"]," +
+				"[\"fn\", {}, \"text\", \"John Doe\"]," +
+				"[\"adr\", {\"type\":[\"home\",\"work\"]}, \"text\", [\"\", [\"a\", \"b\"], {\"c\":1}]]," +
+				"[\"email\", {}, \"text\", \"johndoe@example.com\"]" +
+			"]" +
+		"]";
+		//@formatter:on
+
+		JCardReader reader = new JCardReader(json);
+		reader.includeProperty("EMAIL");
+
+		VCard vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(1, vcard);
+		assertEquals("johndoe@example.com", vcard.getEmails().get(0).getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
 	private static VCardAsserter readJson(String json) {
 		JCardReader reader = new JCardReader(json);
 		return new VCardAsserter(reader);
@@ -3,7 +3,9 @@ package ezvcard.io.json;
 import static ezvcard.util.StringUtils.NEWLINE;
 import static ezvcard.util.TestUtils.assertValidate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
@@ -14,6 +16,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 import ezvcard.VCard;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
@@ -352,6 +357,58 @@ public class JCardWriterTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void utf8_outputStream() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.addNote("\u019dote \u4e2d");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JCardWriter writer = new JCardWriter(out);
+		writer.setAddProdId(false);
+		writer.write(vcard);
+		writer.close();
+
+		//@formatter:off
+		String expected =
+		"[\"vcard\"," +
+			"[" +
+				"[\"version\",{},\"text\",\"4.0\"]," +
+				"[\"note\",{},\"text\",\"\u019dote \u4e2d\"]" +
+			"]" +
+		"]";
+		//@formatter:on
+		String actual = new String(out.toByteArray(), "UTF-8");
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void jsonFactory() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.addNote("\u019dote");
+
+		JsonFactory factory = new JsonFactory();
+		factory.enable(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+
+		StringWriter sw = new StringWriter();
+		JCardWriter writer = new JCardWriter(sw);
+		writer.setJsonFactory(factory);
+		assertSame(factory, writer.getJsonFactory());
+		writer.setAddProdId(false);
+		writer.write(vcard);
+		writer.close();
+
+		//@formatter:off
+		String expected =
+		"[\"vcard\"," +
+			"[" +
+				"[\"version\",{},\"text\",\"4.0\"]," +
+				"[\"note\",{},\"text\",\"\\u019Dote\"]" +
+			"]" +
+		"]";
+		//@formatter:on
+		assertEquals(expected, sw.toString());
+	}
+
 	@Test
 	public void jcard_example() throws Throwable {
 		VCard vcard = createExample();
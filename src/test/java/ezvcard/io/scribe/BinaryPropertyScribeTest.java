@@ -12,9 +12,12 @@ import static org.junit.Assert.assertNull;
 import org.junit.Test;
 
 import ezvcard.VCardVersion;
+import ezvcard.io.ParseContext;
 import ezvcard.io.scribe.Sensei.Check;
+import ezvcard.io.text.WriteContext;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.ImageType;
+import ezvcard.parameter.VCardParameters;
 import ezvcard.property.BinaryProperty;
 import ezvcard.util.DataUri;
 import ezvcard.util.org.apache.commons.codec.binary.Base64;
@@ -217,6 +220,51 @@ public class BinaryPropertyScribeTest {
 		}
 	}
 
+	@Test
+	public void parseText_binary_lazy() {
+		//2.1, 3.0
+		for (VCardVersion version : new VCardVersion[] { V2_1, V3_0 }) {
+			VCardParameters parameters = new VCardParameters();
+			parameters.setEncoding(Encoding.BASE64);
+			BinaryPropertyImpl property = scribe.parseText(base64Data, null, parameters, parseContext(version));
+
+			//the base64 string is kept as-is, even after the data is decoded
+			assertEquals(base64Data, property.getBase64Data());
+			assertEquals(base64Data, scribe.writeText(property, new WriteContext(version, null, false)));
+
+			assertArrayEquals(data, property.getData());
+			assertEquals(base64Data, property.getBase64Data());
+			assertEquals(base64Data, scribe.writeText(property, new WriteContext(version, null, false)));
+		}
+
+		//4.0
+		{
+			BinaryPropertyImpl property = scribe.parseText(dataUri, null, new VCardParameters(), parseContext(V4_0));
+			assertEquals(base64Data, property.getBase64Data());
+			assertEquals(ImageType.JPEG, property.getContentType());
+			assertEquals(dataUri, scribe.writeText(property, new WriteContext(V4_0, null, false)));
+
+			assertArrayEquals(data, property.getData());
+			assertEquals(base64Data, property.getBase64Data());
+			assertEquals(dataUri, scribe.writeText(property, new WriteContext(V4_0, null, false)));
+		}
+
+		//values that contain whitespace are decoded immediately
+		{
+			VCardParameters parameters = new VCardParameters();
+			parameters.setEncoding(Encoding.BASE64);
+			BinaryPropertyImpl property = scribe.parseText(base64Data.substring(0, 4) + " " + base64Data.substring(4), null, parameters, parseContext(V2_1));
+			assertNull(property.getBase64Data());
+			assertArrayEquals(data, property.getData());
+		}
+	}
+
+	private static ParseContext parseContext(VCardVersion version) {
+		ParseContext context = new ParseContext();
+		context.setVersion(version);
+		return context;
+	}
+
 	@Test
 	public void parseXml_url() {
 		//with MEDIATYPE
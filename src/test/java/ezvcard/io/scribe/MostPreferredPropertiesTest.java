@@ -0,0 +1,91 @@
+package ezvcard.io.scribe;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.property.Email;
+import ezvcard.property.Note;
+import ezvcard.property.Telephone;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class MostPreferredPropertiesTest {
+	@Test
+	public void get() {
+		VCard vcard = new VCard();
+
+		Email email1 = vcard.addEmail("one@example.com");
+		email1.setPref(2);
+		Email email2 = vcard.addEmail("two@example.com");
+		email2.setPref(1);
+		Email email3 = vcard.addEmail("three@example.com");
+		email3.setPref(1);
+		Email email4 = vcard.addEmail("four@example.com");
+		email4.getParameters().setPref(null);
+
+		Telephone tel1 = vcard.addTelephoneNumber("555-1234");
+		tel1.getParameters().replace("PREF", "invalid");
+		Telephone tel2 = vcard.addTelephoneNumber("555-5678");
+		tel2.setPref(5);
+
+		vcard.addNote("note");
+
+		MostPreferredProperties mostPreferred = new MostPreferredProperties(vcard);
+
+		//first property with the lowest value wins
+		assertSame(email2, mostPreferred.get(Email.class));
+		assertTrue(mostPreferred.isMostPreferred(email2));
+		assertFalse(mostPreferred.isMostPreferred(email1));
+		assertFalse(mostPreferred.isMostPreferred(email3));
+		assertFalse(mostPreferred.isMostPreferred(email4));
+
+		//invalid values are ignored
+		assertSame(tel2, mostPreferred.get(Telephone.class));
+		assertFalse(mostPreferred.isMostPreferred(tel1));
+
+		//no PREF parameters
+		assertNull(mostPreferred.get(Note.class));
+	}
+
+	@Test
+	public void empty() {
+		MostPreferredProperties mostPreferred = new MostPreferredProperties(new VCard());
+		assertNull(mostPreferred.get(Email.class));
+		assertFalse(mostPreferred.isMostPreferred(new Email("one@example.com")));
+	}
+}
@@ -0,0 +1,207 @@
+package ezvcard.io.text;
+
+import static ezvcard.util.TestUtils.assertNoMoreVCards;
+import static ezvcard.util.TestUtils.assertParseWarnings;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.LuckyNumProperty;
+import ezvcard.io.LuckyNumProperty.LuckyNumScribe;
+import ezvcard.io.ParseWarning;
+import ezvcard.property.Agent;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class ParallelVCardReaderTest {
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@After
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void same_as_VCardReader() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		sb.append("junk\r\n");
+		for (int i = 0; i < 100; i++) {
+			//@formatter:off
+			sb.append(
+			"BEGIN:VCARD\r\n" +
+			"VERSION:" + ((i % 2 == 0) ? "2.1" : "3.0") + "\r\n" +
+			"FN:Name " + i + "\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE:one=0D=0A=\r\n" +
+			"END:VCARD\r\n" +
+			"NOTE:fold\r\n" +
+			" ed\r\n" +
+			"ADR;HOME:;;123 Main St\r\n" +
+			"LABEL;HOME:123 Main St\r\n" +
+			"END:VCARD\r\n");
+			//@formatter:on
+		}
+		String str = sb.toString();
+
+		VCardReader expectedReader = new VCardReader(str);
+		List<VCard> expected = expectedReader.readAll();
+
+		ParallelVCardReader reader = new ParallelVCardReader(str, executor);
+		reader.setMaxPending(7);
+		List<VCard> actual = reader.readAll();
+		reader.close();
+
+		assertEquals(100, actual.size());
+		assertEquals(expected, actual);
+		assertEquals("Name 42", actual.get(42).getFormattedName().getValue());
+		assertEquals("123 Main St", actual.get(42).getAddresses().get(0).getLabel());
+	}
+
+	@Test
+	public void nested() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"AGENT:\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:Agent\r\n" +
+		"END:VCARD\r\n" +
+		"FN:One\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:Two\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		ParallelVCardReader reader = new ParallelVCardReader(str, executor);
+
+		VCard vcard = reader.readNext();
+		assertEquals("One", vcard.getFormattedName().getValue());
+		assertEquals("Agent", vcard.getProperty(Agent.class).getVCard().getFormattedName().getValue());
+
+		vcard = reader.readNext();
+		assertEquals(VCardVersion.V3_0, vcard.getVersion());
+		assertEquals("Two", vcard.getFormattedName().getValue());
+
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
+	@Test
+	public void warnings() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:Two\r\n" +
+		"malformed line\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		ParallelVCardReader reader = new ParallelVCardReader(str, executor);
+
+		reader.readNext();
+		assertParseWarnings(reader);
+
+		reader.readNext();
+		List<ParseWarning> warnings = reader.getWarnings();
+		assertParseWarnings(warnings, 27);
+		assertEquals(Integer.valueOf(7), warnings.get(0).getLineNumber());
+
+		reader.readNext();
+		assertParseWarnings(reader);
+
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
+	@Test
+	public void include_properties() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"FN:One\r\n" +
+		"NOTE:Note\r\n" +
+		"X-LUCKY-NUM:22\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		ParallelVCardReader reader = new ParallelVCardReader(str, executor);
+		reader.registerScribe(new LuckyNumScribe());
+		reader.includeProperty(LuckyNumProperty.class);
+
+		VCard vcard = reader.readNext();
+		assertEquals(1, vcard.getProperties().size());
+		assertEquals(22, vcard.getProperty(LuckyNumProperty.class).luckyNum);
+		assertNull(vcard.getFormattedName());
+
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
+	@Test
+	public void empty() throws Exception {
+		ParallelVCardReader reader = new ParallelVCardReader("", executor);
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
+	@Test
+	public void setMaxPending_invalid() {
+		ParallelVCardReader reader = new ParallelVCardReader("", executor);
+		try {
+			reader.setMaxPending(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package ezvcard.io.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.property.Agent;
+import ezvcard.property.Note;
+import ezvcard.property.ProductId;
+import ezvcard.property.Revision;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardFingerprinterTest {
+	@Test
+	public void fingerprint_property_order() {
+		VCard one = new VCard();
+		one.setFormattedName("John Doe");
+		one.addNote("one");
+		one.addNote("two");
+		one.addExtendedProperty("X-FOO", "bar");
+
+		VCard two = new VCard();
+		two.addExtendedProperty("x-foo", "bar");
+		two.addNote("two");
+		two.addNote("one");
+		two.setFormattedName("John Doe");
+
+		assertEquals(one.fingerprint(), two.fingerprint());
+	}
+
+	@Test
+	public void fingerprint_stable() {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+
+		//the value must never change between releases, since fingerprints are meant to be stored
+		assertEquals(vcard.fingerprint(), new VCard(vcard).fingerprint());
+		assertEquals(-3694729384765725503L, vcard.fingerprint());
+	}
+
+	@Test
+	public void fingerprint_different_content() {
+		VCard one = new VCard();
+		one.addNote("one");
+		long fingerprint = one.fingerprint();
+
+		VCard two = new VCard(one);
+		two.getNotes().get(0).setValue("One");
+		assertNotEquals(fingerprint, two.fingerprint());
+
+		two = new VCard(one);
+		two.getNotes().get(0).setGroup("group");
+		assertNotEquals(fingerprint, two.fingerprint());
+
+		two = new VCard(one);
+		two.getNotes().get(0).setLanguage("en");
+		assertNotEquals(fingerprint, two.fingerprint());
+
+		//duplicate properties must not cancel each other out
+		two = new VCard(one);
+		two.addNote("two");
+		two.addNote("two");
+		assertNotEquals(fingerprint, two.fingerprint());
+	}
+
+	@Test
+	public void fingerprint_case_insensitive() {
+		VCard one = new VCard();
+		Note note = one.addNote("one");
+		note.setGroup("group");
+		note.getParameters().put("X-PARAM", "value");
+
+		VCard two = new VCard();
+		note = two.addNote("one");
+		note.setGroup("GROUP");
+		note.getParameters().put("x-param", "VALUE");
+
+		assertEquals(one.fingerprint(), two.fingerprint());
+	}
+
+	@Test
+	public void ignoredProperties() {
+		VCard one = new VCard();
+		one.addNote("one");
+		one.setProductId("one");
+		one.setRevision(new Date(0));
+
+		VCard two = new VCard();
+		two.addNote("one");
+		two.setProductId("two");
+		two.setRevision(new Date());
+
+		VCardFingerprinter fingerprinter = new VCardFingerprinter();
+		assertNotEquals(fingerprinter.fingerprint(one), fingerprinter.fingerprint(two));
+
+		fingerprinter.setIgnoredProperties("prodid", "REV");
+		assertEquals(fingerprinter.fingerprint(one), fingerprinter.fingerprint(two));
+
+		one.removeProperties(ProductId.class);
+		one.removeProperties(Revision.class);
+		assertEquals(fingerprinter.fingerprint(one), fingerprinter.fingerprint(two));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fingerprint_no_scribe() {
+		VCard vcard = new VCard();
+		vcard.addProperty(new VCardProperty() {
+			//empty
+		});
+		vcard.fingerprint();
+	}
+
+	@Test
+	public void next() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"NOTE;LANGUAGE=en:one\r\n" +
+			"item1.NOTE:two\r\n" +
+			"PRODID:one\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"ITEM1.note:two\r\n" +
+			"PRODID:two\r\n" +
+			"NOTE;language=EN:one\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"NOTE:one\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardFingerprinter fingerprinter = new VCardFingerprinter();
+		fingerprinter.setIgnoredProperties("PRODID");
+
+		VCardReader reader = new VCardReader(str);
+		Long one = fingerprinter.next(reader);
+		Long two = fingerprinter.next(reader);
+		Long three = fingerprinter.next(reader);
+		assertNull(fingerprinter.next(reader));
+		reader.close();
+
+		assertEquals(one, two);
+		assertNotEquals(one, three);
+	}
+
+	@Test
+	public void next_nested() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"VERSION:2.1\r\n" +
+				"NOTE:one\r\n" +
+			"END:VCARD\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"VERSION:2.1\r\n" +
+				"NOTE:two\r\n" +
+			"END:VCARD\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardFingerprinter fingerprinter = new VCardFingerprinter();
+		VCardReader reader = new VCardReader(str);
+		Long one = fingerprinter.next(reader);
+		Long two = fingerprinter.next(reader);
+		assertNull(fingerprinter.next(reader));
+		reader.close();
+
+		assertNotEquals(one, two);
+	}
+
+	@Test
+	public void next_same_as_fingerprint() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:John\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:John Doe\r\n" +
+			"N:Doe;John;;;\r\n" +
+			"item1.TEL;TYPE=\"work,voice\";PREF=1:tel:+1-555-555-1234\r\n" +
+			"EMAIL;TYPE=home:john@example.com\r\n" +
+			"BDAY:19800320\r\n" +
+			"ADR;LABEL=\"123 Main St\\nSomewhere\":;;123 Main St;Somewhere;;;\r\n" +
+			"URL;VALUE=uri:http://example.com\r\n" +
+			"X-FOO;X-PARAM=one:bar\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:John Doe\r\n" +
+			"ADR;TYPE=work:;;123 Main St;Somewhere;;;\r\n" +
+			"LABEL;TYPE=work:123 Main St\\nSomewhere\r\n" +
+			"LABEL;TYPE=home:Orphaned\r\n" +
+			"PHOTO;ENCODING=b;TYPE=JPEG:ZGF0YQ==\r\n" +
+			"CATEGORIES:one,two\r\n" +
+			"AGENT:BEGIN:VCARD\\nVERSION:3.0\\nFN:Agent 007\\nEND:VCARD\\n\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"FN:John Doe\r\n" +
+			"NOTE;ENCODING=QUOTED-PRINTABLE:one=0D=0Atwo\r\n" +
+			"TEL;WORK;VOICE:555-1234\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"VERSION:2.1\r\n" +
+				"FN:Agent 007\r\n" +
+			"END:VCARD\r\n" +
+			"NOTE:after the agent\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardFingerprinter fingerprinter = new VCardFingerprinter();
+
+		VCardReader reader = new VCardReader(str);
+		List<VCard> vcards = reader.readAll();
+		reader.close();
+		assertEquals(4, vcards.size());
+
+		reader = new VCardReader(str);
+		for (VCard vcard : vcards) {
+			assertEquals(Long.valueOf(fingerprinter.fingerprint(vcard)), fingerprinter.next(reader));
+		}
+		assertNull(fingerprinter.next(reader));
+		reader.close();
+	}
+
+	@Test
+	public void fingerprint_embedded_vcard() {
+		VCard agent1 = new VCard();
+		agent1.addNote("one");
+		VCard one = new VCard(VCardVersion.V3_0);
+		one.setAgent(new Agent(agent1));
+
+		VCard agent2 = new VCard();
+		agent2.addNote("two");
+		VCard two = new VCard(VCardVersion.V3_0);
+		two.setAgent(new Agent(agent2));
+
+		assertNotEquals(one.fingerprint(), two.fingerprint());
+	}
+}
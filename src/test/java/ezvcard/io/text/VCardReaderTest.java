@@ -12,15 +12,24 @@ import static ezvcard.util.TestUtils.assertPropertyCount;
 import static ezvcard.util.TestUtils.assertVersion;
 import static ezvcard.util.TestUtils.each;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.github.mangstadt.vinnie.codec.QuotedPrintableCodec;
 
@@ -37,8 +46,10 @@ import ezvcard.io.scribe.CannotParseScribe;
 import ezvcard.io.scribe.SkipMeScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.AddressType;
+import ezvcard.parameter.EmailType;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Address;
+import ezvcard.property.Email;
 import ezvcard.property.FormattedName;
 import ezvcard.property.Label;
 import ezvcard.property.RawProperty;
@@ -78,6 +89,138 @@ import ezvcard.property.asserter.VCardAsserter;
  * @author Michael Angstadt
  */
 public class VCardReaderTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void warning_collection_disabled() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"malformed line\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"malformed line\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+		assertTrue(reader.isWarningCollectionEnabled());
+
+		reader.readNext();
+		assertEquals(1, reader.getWarnings().size());
+		assertParseWarnings(reader, 27);
+
+		reader.setWarningCollectionEnabled(false);
+		assertFalse(reader.isWarningCollectionEnabled());
+		assertParseWarnings(reader);
+
+		reader.readNext();
+		assertParseWarnings(reader);
+
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
+	@Test
+	public void reset() throws Exception {
+		//@formatter:off
+		String first =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"malformed line\r\n" +
+		"FN:John Doe\r\n" +
+		"END:VCARD\r\n";
+		String second =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:3.0\r\n" +
+		"NOTE;X-TEST=^'Hello^':text\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(first);
+		reader.setCaretDecodingEnabled(true);
+
+		VCard vcard = reader.readNext();
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertParseWarnings(reader, 27);
+
+		reader.reset(second);
+		assertTrue(reader.isCaretDecodingEnabled());
+		assertParseWarnings(reader);
+
+		vcard = reader.readNext();
+		assertEquals("\"Hello\"", vcard.getNotes().get(0).getParameter("X-TEST"));
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
+	@Test
+	public void reset_closes_file() throws Exception {
+		File fdDir = new File("/proc/self/fd");
+		assumeTrue(fdDir.isDirectory());
+
+		File file = folder.newFile();
+		OutputStream out = new FileOutputStream(file);
+		out.write("BEGIN:VCARD\r\nVERSION:3.0\r\nFN:John Doe\r\nEND:VCARD\r\n".getBytes("UTF-8"));
+		out.close();
+
+		VCardReader reader = new VCardReader(file);
+		assertEquals("John Doe", reader.readNext().getFormattedName().getValue());
+		assertEquals(1, countOpenHandles(fdDir, file));
+
+		//the file reader was created internally, so only the VCardReader can close it
+		reader.reset("BEGIN:VCARD\r\nVERSION:3.0\r\nFN:Jane Doe\r\nEND:VCARD\r\n");
+		assertEquals(0, countOpenHandles(fdDir, file));
+
+		assertEquals("Jane Doe", reader.readNext().getFormattedName().getValue());
+		reader.close();
+	}
+
+	private static int countOpenHandles(File fdDir, File file) throws Exception {
+		String path = file.getCanonicalPath();
+		int count = 0;
+		File[] fds = fdDir.listFiles();
+		if (fds != null) {
+			for (File fd : fds) {
+				try {
+					if (path.equals(fd.getCanonicalPath())) {
+						count++;
+					}
+				} catch (IOException e) {
+					//the file descriptor was closed while iterating
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void file_charset() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:4.0\r\n" +
+		"FN:Jos\u00e9 \u4e2d\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		File file = folder.newFile();
+		Charset charset = Charset.forName("UTF-16BE");
+		OutputStream out = new FileOutputStream(file);
+		out.write(str.getBytes(charset));
+		out.close();
+
+		VCardReader reader = new VCardReader(file, charset);
+		VCard vcard = reader.readNext();
+		assertEquals("Jos\u00e9 \u4e2d", vcard.getFormattedName().getValue());
+		assertNoMoreVCards(reader);
+		reader.close();
+	}
+
 	/**
 	 * Account for an error in the 4.0 specification, which places multi-valued
 	 * TYPE parameters in double quotes.
@@ -882,6 +1025,186 @@ public class VCardReaderTest {
 		}
 	}
 
+	@Test
+	public void visitor() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"item1.EMAIL;TYPE=work:johndoe@example.com\r\n" +
+			"FN:John Doe\r\n" +
+			"NOTE:Note\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"EMAIL;HOME:janedoe@example.com\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+
+		final List<String> events = new ArrayList<String>();
+		final List<VCardProperty> parsed = new ArrayList<VCardProperty>();
+		VCardVisitor visitor = new VCardVisitor() {
+			public void onVCardBegin() {
+				events.add("begin");
+			}
+
+			public boolean onProperty(String group, String name, VCardParameters parameters, String value, VCardVersion version) {
+				events.add(group + " " + name + " " + parameters.getTypes() + " " + value + " " + version);
+				return "EMAIL".equals(name);
+			}
+
+			public void onParsedProperty(VCardProperty property) {
+				parsed.add(property);
+			}
+
+			public void onVCardEnd() {
+				events.add("end");
+			}
+		};
+
+		assertTrue(reader.readNext(visitor));
+		//@formatter:off
+		assertEquals(Arrays.asList(
+			"begin",
+			"item1 EMAIL [work] johndoe@example.com 4.0",
+			"null FN [] John Doe 4.0",
+			"null NOTE [] Note 4.0",
+			"end"
+		), events);
+		//@formatter:on
+		assertEquals(1, parsed.size());
+		Email email = (Email) parsed.get(0);
+		assertEquals("item1", email.getGroup());
+		assertEquals("johndoe@example.com", email.getValue());
+		assertEquals(Arrays.asList(EmailType.WORK), email.getTypes());
+		assertParseWarnings(reader);
+
+		events.clear();
+		parsed.clear();
+		assertTrue(reader.readNext(visitor));
+		//@formatter:off
+		assertEquals(Arrays.asList(
+			"begin",
+			"null EMAIL [] janedoe@example.com 2.1",
+			"end"
+		), events);
+		//@formatter:on
+		email = (Email) parsed.get(0);
+		assertEquals("janedoe@example.com", email.getValue());
+		assertEquals(Arrays.asList(EmailType.HOME), email.getTypes());
+
+		events.clear();
+		assertFalse(reader.readNext(visitor));
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void visitor_nested_vcard() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"AGENT:\r\n" +
+				"BEGIN:VCARD\r\n" +
+					"FN:Agent 007\r\n" +
+				"END:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+		final List<String> events = new ArrayList<String>();
+		VCardVisitor visitor = new VCardVisitor() {
+			public void onVCardBegin() {
+				events.add("begin");
+			}
+
+			public boolean onProperty(String group, String name, VCardParameters parameters, String value, VCardVersion version) {
+				return true;
+			}
+
+			public void onParsedProperty(VCardProperty property) {
+				events.add(property.getClass().getSimpleName());
+			}
+
+			public void onVCardEnd() {
+				events.add("end");
+			}
+		};
+
+		assertTrue(reader.readNext(visitor));
+		assertEquals(Arrays.asList("begin", "Agent", "begin", "FormattedName", "end", "FormattedName", "end"), events);
+		assertParseWarnings(reader);
+		assertFalse(reader.readNext(visitor));
+	}
+
+	@Test
+	public void include_properties() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:4.0\r\n" +
+			"FN:John Doe\r\n" +
+			"EMAIL:johndoe@example.com\r\n" +
+			"PHOTO:data:image/jpeg;base64,invalid\r\n" +
+			"X-FOO:bar\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+		reader.includeProperty("email");
+		reader.includeProperty(FormattedName.class);
+
+		VCard vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("johndoe@example.com", vcard.getEmails().get(0).getValue());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+
+		reader = new VCardReader(str);
+		reader.includeProperty("email");
+		reader.includeAllProperties();
+		vcard = reader.readNext();
+		assertPropertyCount(4, vcard);
+	}
+
+	@Test
+	public void include_properties_embedded_vcard() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"AGENT:" +
+				"BEGIN:VCARD\\n" +
+				"VERSION:3.0\\n" +
+				"FN:Agent 007\\n" +
+				"NOTE:Secret\\n" +
+				"END:VCARD\r\n" +
+			"FN:John Doe\r\n" +
+			"NOTE:Not so secret\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardReader reader = new VCardReader(str);
+		reader.includeProperty("agent");
+		reader.includeProperty(FormattedName.class);
+
+		VCard vcard = reader.readNext();
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		{
+			VCard agentVCard = vcard.getAgent().getVCard();
+			assertPropertyCount(1, agentVCard);
+			assertEquals("Agent 007", agentVCard.getFormattedName().getValue());
+		}
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
 	private static class ValueProp extends VCardProperty {
 		private final VCardDataType dataType;
 
@@ -0,0 +1,163 @@
+package ezvcard.io.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardSplitterTest {
+	@Test
+	public void next() throws Exception {
+		//@formatter:off
+		String str =
+		"junk\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:One\r\n" +
+		"END:VCARD\r\n" +
+		"begin:vcard\n" +
+		"version:3.0\n" +
+		"fn:Two\n" +
+		"end:vcard\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter(new StringReader(str));
+
+		assertEquals("BEGIN:VCARD\r\nVERSION:2.1\r\nFN:One\r\nEND:VCARD\r\n", splitter.next());
+		assertEquals(2, splitter.getLineNumber());
+
+		assertEquals("begin:vcard\r\nversion:3.0\r\nfn:Two\r\nend:vcard\r\n", splitter.next());
+		assertEquals(6, splitter.getLineNumber());
+
+		assertNull(splitter.next());
+		assertNull(splitter.next());
+	}
+
+	@Test
+	public void nested() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"AGENT:\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"VERSION:2.1\r\n" +
+		"FN:Agent\r\n" +
+		"END:VCARD\r\n" +
+		"FN:One\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"FN:Two\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter(new StringReader(str));
+
+		assertEquals("BEGIN:VCARD\r\nVERSION:2.1\r\nAGENT:\r\nBEGIN:VCARD\r\nVERSION:2.1\r\nFN:Agent\r\nEND:VCARD\r\nFN:One\r\nEND:VCARD\r\n", splitter.next());
+		assertEquals("BEGIN:VCARD\r\nFN:Two\r\nEND:VCARD\r\n", splitter.next());
+		assertNull(splitter.next());
+	}
+
+	@Test
+	public void folded_lines() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"NOTE:line\r\n" +
+		" END:VCARD\r\n" +
+		"group.END;X-PARAM=one\r\n" +
+		" :vcard\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"FN:Two\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter(new StringReader(str));
+
+		assertEquals("BEGIN:VCARD\r\nNOTE:line\r\n END:VCARD\r\ngroup.END;X-PARAM=one\r\n :vcard\r\n", splitter.next());
+		assertEquals(1, splitter.getLineNumber());
+		assertEquals("BEGIN:VCARD\r\nFN:Two\r\nEND:VCARD\r\n", splitter.next());
+		assertEquals(6, splitter.getLineNumber());
+		assertNull(splitter.next());
+	}
+
+	@Test
+	public void quoted_printable() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"NOTE;ENCODING=QUOTED-PRINTABLE:line=\r\n" +
+		"END:VCARD\r\n" +
+		"NOTE:not quoted-printable=\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"FN:Two\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter(new StringReader(str));
+
+		assertEquals("BEGIN:VCARD\r\nNOTE;ENCODING=QUOTED-PRINTABLE:line=\r\nEND:VCARD\r\nNOTE:not quoted-printable=\r\nEND:VCARD\r\n", splitter.next());
+		assertEquals("BEGIN:VCARD\r\nFN:Two\r\nEND:VCARD\r\n", splitter.next());
+		assertNull(splitter.next());
+	}
+
+	@Test
+	public void missing_end() throws Exception {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+		"FN:One\r\n" +
+		"END:VCARD\r\n" +
+		"BEGIN:VCARD\r\n" +
+		"FN:Two\r\n";
+		//@formatter:on
+
+		VCardSplitter splitter = new VCardSplitter(new StringReader(str));
+
+		assertEquals("BEGIN:VCARD\r\nFN:One\r\nEND:VCARD\r\n", splitter.next());
+		assertEquals("BEGIN:VCARD\r\nFN:Two\r\n", splitter.next());
+		assertEquals(4, splitter.getLineNumber());
+		assertNull(splitter.next());
+	}
+
+	@Test
+	public void empty() throws Exception {
+		VCardSplitter splitter = new VCardSplitter(new StringReader(""));
+		assertNull(splitter.next());
+	}
+}
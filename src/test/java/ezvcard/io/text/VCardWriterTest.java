@@ -106,6 +106,69 @@ public class VCardWriterTest {
 		assertEquals(actual, expected);
 	}
 
+	@Test
+	public void reset() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+
+		StringWriter sw1 = new StringWriter();
+		VCardWriter vcw = new VCardWriter(sw1, VCardVersion.V3_0);
+		vcw.setAddProdId(false);
+		vcw.write(vcard);
+
+		StringWriter sw2 = new StringWriter();
+		vcw.reset(sw2);
+		vcw.write(vcard);
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:John Doe\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		assertEquals(expected, sw1.toString());
+		assertEquals(expected, sw2.toString());
+	}
+
+	@Test
+	public void write_StringBuilder() throws Throwable {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+		VCard agentVCard = new VCard();
+		agentVCard.setFormattedName("Agent 007");
+		vcard.setAgent(new Agent(agentVCard));
+
+		StringWriter sw = new StringWriter();
+		VCardWriter vcw = new VCardWriter(sw, VCardVersion.V3_0);
+		vcw.setAddProdId(false);
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"FN:John Doe\r\n" +
+			"AGENT:BEGIN:VCARD\\nVERSION:3.0\\nFN:Agent 007\\nEND:VCARD\\n\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		StringBuilder sb = new StringBuilder();
+		vcw.write(vcard, sb);
+		assertEquals(expected, sb.toString());
+
+		//the embedded vCard writer is reused
+		sb.setLength(0);
+		vcw.write(vcard, sb);
+		assertEquals(expected, sb.toString());
+
+		//nothing is written to the output stream
+		assertEquals("", sw.toString());
+
+		vcw.write(vcard);
+		assertEquals(expected, sw.toString());
+	}
+
 	@Test
 	public void nestedVCard() throws Throwable {
 		VCard vcard = new VCard();
@@ -156,6 +219,40 @@ public class VCardWriterTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void nestedVCard_outer_pref_after_agent() throws Throwable {
+		VCard vcard = new VCard();
+
+		VCard agentVcard = new VCard();
+		agentVcard.addTelephoneNumber("999").setPref(1);
+		vcard.setAgent(new Agent(agentVcard));
+
+		vcard.addTelephoneNumber("222").setPref(1);
+		vcard.addTelephoneNumber("111").setPref(2);
+
+		StringWriter sw = new StringWriter();
+		VCardWriter vcw = new VCardWriter(sw, VCardVersion.V2_1);
+		vcw.setAddProdId(false);
+		vcw.write(vcard);
+		String actual = sw.toString();
+
+		//@formatter:off
+		String expected =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:2.1\r\n" +
+			"AGENT:\r\n" +
+			"BEGIN:VCARD\r\n" +
+				"VERSION:2.1\r\n" +
+				"TEL;TYPE=pref:999\r\n" +
+			"END:VCARD\r\n" +
+			"TEL;TYPE=pref:222\r\n" +
+			"TEL:111\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		assertEquals(expected, actual);
+	}
+
 	@Test
 	public void embeddedVCard() throws Throwable {
 		VCard vcard = new VCard();
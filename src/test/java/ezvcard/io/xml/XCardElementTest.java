@@ -204,6 +204,79 @@ public class XCardElementTest {
 		assertEquals(XmlUtils.toElementList(xcardElement.element().getChildNodes()), elements);
 	}
 
+	@Test
+	public void buffered() {
+		String ns = VCardVersion.V4_0.getXmlNamespace();
+		XmlEventBuffer buffer = new XmlEventBuffer();
+		buffer.start(ns, "prop", null);
+		buffer.start(ns, "one", null);
+		buffer.text("1");
+		buffer.end();
+		buffer.start("http://example.com", "two", null);
+		buffer.text("x");
+		buffer.end();
+		buffer.start(ns, "two", null);
+		buffer.text("2-");
+		buffer.start(ns, "inner", null);
+		buffer.text("a");
+		buffer.end();
+		buffer.end();
+		buffer.start(ns, "two", null);
+		buffer.end();
+		buffer.start(ns, "text", null);
+		buffer.text("3");
+		buffer.end();
+		buffer.end();
+
+		XCardElement xcardElement = new XCardElement(buffer, XmlUtils.createDocument(), VCardVersion.V4_0);
+		assertTrue(xcardElement.isBuffered());
+
+		assertEquals("1", xcardElement.first("one"));
+		assertEquals("2-a", xcardElement.first("two"));
+		assertNull(xcardElement.first("inner"));
+		assertEquals("3", xcardElement.first(VCardDataType.TEXT));
+		assertEquals(Arrays.asList("2-a"), xcardElement.all("two"));
+
+		XCardValue value = xcardElement.firstValue();
+		assertEquals(VCardDataType.get("one"), value.getDataType());
+		assertEquals("1", value.getValue());
+		assertTrue(xcardElement.isBuffered());
+
+		Element element = xcardElement.element();
+		assertFalse(xcardElement.isBuffered());
+		assertEquals("prop", element.getLocalName());
+		assertEquals("1x2-a3", element.getTextContent());
+		assertEquals(5, XmlUtils.toElementList(element.getChildNodes()).size());
+	}
+
+	@Test
+	public void buffered_add() {
+		String ns = VCardVersion.V4_0.getXmlNamespace();
+		XmlEventBuffer buffer = new XmlEventBuffer();
+		buffer.start(ns, "prop", null);
+
+		XCardElement xcardElement = new XCardElement(buffer, XmlUtils.createDocument(), VCardVersion.V4_0);
+		xcardElement.add(VCardDataType.TEXT, "one");
+		xcardElement.add("number", Arrays.asList("1", "2"));
+		xcardElement.add("empty", (String) null);
+		assertTrue(xcardElement.isBuffered());
+		assertEquals(Arrays.asList("1", "2"), xcardElement.all("number"));
+		assertEquals("", xcardElement.first("empty"));
+
+		//calling "append" switches to a DOM
+		Element appended = xcardElement.append("three", "3");
+		assertFalse(xcardElement.isBuffered());
+		assertEquals(xcardElement.element(), appended.getParentNode());
+
+		xcardElement.add("four", "4");
+		List<Element> children = XmlUtils.toElementList(xcardElement.element().getChildNodes());
+		assertEquals(6, children.size());
+		assertEquals("text", children.get(0).getLocalName());
+		assertEquals("empty", children.get(3).getLocalName());
+		assertFalse(children.get(3).hasChildNodes());
+		assertEquals("4", children.get(5).getTextContent());
+	}
+
 	private static XCardElement build(String innerXml) {
 		return build(innerXml, null);
 	}
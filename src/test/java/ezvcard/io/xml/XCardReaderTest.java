@@ -14,15 +14,18 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
-import javax.xml.transform.TransformerException;
+import javax.xml.stream.XMLStreamException;
 
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import ezvcard.VCard;
@@ -362,8 +365,7 @@ public class XCardReaderTest {
 			reader.readNext();
 			fail();
 		} catch (IOException e) {
-			assertTrue(e.getCause() instanceof TransformerException);
-			assertTrue(e.getCause().getCause() instanceof SAXException);
+			assertTrue(e.getCause() instanceof XMLStreamException);
 		}
 
 		assertNoMoreVCards(reader);
@@ -725,6 +727,22 @@ public class XCardReaderTest {
 		assertNoMoreVCards(reader);
 	}
 
+	@Test
+	public void read_dom() throws Exception {
+		List<VCard> expected = new XCardReader(XCardReaderTest.class.getResourceAsStream("rfc6351-example.xml")).readAll();
+		assertEquals(1, expected.size());
+
+		Document document = XmlUtils.toDocument(XCardReaderTest.class.getResourceAsStream("rfc6351-example.xml"));
+
+		XCardReader reader = new XCardReader(document);
+		assertEquals(expected, reader.readAll());
+		assertParseWarnings(reader);
+
+		reader = new XCardReader(document.getDocumentElement());
+		assertEquals(expected, reader.readAll());
+		assertParseWarnings(reader);
+	}
+
 	@Test
 	public void read_utf8() throws Exception {
 		//@formatter:off
@@ -858,6 +876,40 @@ public class XCardReaderTest {
 		asserter.done();
 	}
 
+	@Test
+	public void include_properties() throws Exception {
+		//@formatter:off
+		String xml =
+		"<vcards xmlns=\"" + V4_0.getXmlNamespace() + "\">" +
+			"<vcard>" +
+				"<fn><text>John Doe</text></fn>" +
+				"<n>" +
+					"<surname>Doe</surname>" +
+					"<given>John</given>" +
+				"</n>" +
+				"<group name=\"item1\">" +
+					"<email><parameters><type><text>work</text></type></parameters><text>johndoe@example.com</text></email>" +
+					"<note><text>Note</text></note>" +
+				"</group>" +
+			"</vcard>" +
+		"</vcards>";
+		//@formatter:on
+
+		XCardReader reader = new XCardReader(xml);
+		reader.includeProperty(FormattedName.class);
+		reader.includeProperty("EMAIL");
+
+		VCard vcard = reader.readNext();
+		assertVersion(V4_0, vcard);
+		assertPropertyCount(2, vcard);
+		assertEquals("John Doe", vcard.getFormattedName().getValue());
+		assertEquals("johndoe@example.com", vcard.getEmails().get(0).getValue());
+		assertEquals("item1", vcard.getEmails().get(0).getGroup());
+		assertEquals(Arrays.asList(EmailType.WORK), vcard.getEmails().get(0).getTypes());
+		assertParseWarnings(reader);
+		assertNoMoreVCards(reader);
+	}
+
 	private static VCardAsserter read(String file) throws SAXException, IOException {
 		XCardReader reader = new XCardReader(XCardReaderTest.class.getResourceAsStream(file));
 		return new VCardAsserter(reader);
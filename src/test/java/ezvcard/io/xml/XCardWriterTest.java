@@ -3,6 +3,7 @@ package ezvcard.io.xml;
 import static ezvcard.VCardVersion.V4_0;
 import static ezvcard.util.TestUtils.assertValidate;
 import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -621,6 +622,71 @@ public class XCardWriterTest {
 		assertTrue(actual.matches(expectedRegex));
 	}
 
+	@Test
+	public void write_stax() throws Exception {
+		VCard vcard = new VCard();
+		FormattedName fn = vcard.setFormattedName("John Doe");
+		fn.setParameter("x-foo", "bar");
+		Note note = vcard.addNote("<b>note</b> & more");
+		note.setGroup("group");
+		vcard.addXml(new Xml("<foo xmlns=\"http://example.com\" a=\"b\">bar<car/></foo>"));
+
+		writer.write(vcard);
+		writer.write(vcard);
+		writer.close();
+
+		StringWriter staxSw = new StringWriter();
+		XCardWriter staxWriter = new XCardWriter(XmlUtils.createXMLStreamWriter(staxSw));
+		staxWriter.setAddProdId(false);
+		staxWriter.write(vcard);
+		staxWriter.write(vcard);
+		staxWriter.close();
+
+		assertXMLEqual(sw.toString(), staxSw.toString());
+	}
+
+	@Test
+	public void write_stax_prettyPrint() throws Exception {
+		StringWriter sw = new StringWriter();
+		XCardWriter writer = new XCardWriter(XmlUtils.createXMLStreamWriter(sw), 2);
+		writer.setAddProdId(false);
+
+		VCard vcard = new VCard();
+		FormattedName fn = vcard.setFormattedName("John Doe");
+		fn.setParameter("x-foo", "bar");
+		Note note = vcard.addNote("note");
+		note.setGroup("group");
+		writer.write(vcard);
+
+		writer.close();
+
+		String actual = sw.toString();
+		actual = actual.substring(actual.indexOf("?>") + 2);
+
+		//@formatter:off
+		String expected =
+		"<vcards xmlns=\"" + V4_0.getXmlNamespace() + "\">\n" +
+		"  <vcard>\n" +
+		"    <fn>\n" +
+		"      <parameters>\n" +
+		"        <x-foo>\n" +
+		"          <unknown>bar</unknown>\n" +
+		"        </x-foo>\n" +
+		"      </parameters>\n" +
+		"      <text>John Doe</text>\n" +
+		"    </fn>\n" +
+		"    <group name=\"group\">\n" +
+		"      <note>\n" +
+		"        <text>note</text>\n" +
+		"      </note>\n" +
+		"    </group>\n" +
+		"  </vcard>\n" +
+		"</vcards>";
+		//@formatter:on
+
+		assertEquals(expected, actual);
+	}
+
 	@Test
 	public void write_xmlVersion_default() throws Exception {
 		StringWriter sw = new StringWriter();
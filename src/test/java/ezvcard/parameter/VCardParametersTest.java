@@ -82,6 +82,22 @@ public class VCardParametersTest {
 		assertEquals(copy, parameters);
 	}
 
+	@Test
+	public void copy_copyOnWrite() {
+		parameters.put("NAME", "value");
+		parameters.setPref(1);
+		VCardParameters copy = new VCardParameters(parameters, true);
+		assertEquals(copy, parameters);
+
+		copy.setPref(2);
+		copy.addType("home");
+		assertIntEquals(2, copy.getPref());
+		assertEquals(Arrays.asList("home"), copy.getTypes());
+		assertIntEquals(1, parameters.getPref());
+		assertTrue(parameters.getTypes().isEmpty());
+		assertEquals("value", copy.first("NAME"));
+	}
+
 	@Test
 	public void validate_non_standard_values() {
 		parameters.setCalscale(Calscale.get("foo"));
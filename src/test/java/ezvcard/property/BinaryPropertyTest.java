@@ -6,12 +6,20 @@ import static ezvcard.property.PropertySensei.assertNothingIsEqual;
 import static ezvcard.property.PropertySensei.assertValidate;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -100,6 +108,85 @@ public class BinaryPropertyTest {
 		assertNull(property.getData());
 	}
 
+	@Test
+	public void set_base64_value() {
+		BinaryPropertyImpl property = new BinaryPropertyImpl();
+
+		property.setBase64Data("ZGF0YQ==", ImageType.JPEG);
+		assertEquals(ImageType.JPEG, property.getContentType());
+		assertNull(property.getUrl());
+		assertEquals("ZGF0YQ==", property.getBase64Data());
+		assertEquals("data", new String(property.getData()));
+		assertEquals("ZGF0YQ==", property.getBase64Data());
+
+		property.setBase64Data("ZGF0YQ==", ImageType.JPEG);
+		property.setUrl("one", ImageType.PNG);
+		assertNull(property.getBase64Data());
+		assertNull(property.getData());
+
+		property.setBase64Data("ZGF0YQ==", ImageType.JPEG);
+		property.setData("data2".getBytes(), ImageType.JPEG);
+		assertNull(property.getBase64Data());
+		assertEquals("data2", new String(property.getData()));
+
+		BinaryPropertyImpl decoded = new BinaryPropertyImpl("data".getBytes(), ImageType.JPEG);
+		BinaryPropertyImpl encoded = new BinaryPropertyImpl();
+		encoded.setBase64Data("ZGF0YQ==", ImageType.JPEG);
+		assertEquals(decoded, encoded);
+		assertEquals(decoded.hashCode(), encoded.hashCode());
+	}
+
+	@Test
+	public void equals_hashCode_toString_do_not_decode() {
+		BinaryPropertyImpl one = new BinaryPropertyImpl();
+		one.setBase64Data("ZGF0YQ==", ImageType.JPEG);
+		BinaryPropertyImpl two = new BinaryPropertyImpl();
+		two.setBase64Data("ZGF0\r\n YQ==", ImageType.JPEG);
+
+		assertEquals(one, two);
+		assertEquals(one.hashCode(), two.hashCode());
+		one.toString();
+		assertNull(one.data);
+		assertNull(two.data);
+
+		BinaryPropertyImpl three = new BinaryPropertyImpl();
+		three.setBase64Data("ZGF0YTI=", ImageType.JPEG);
+		assertFalse(one.equals(three));
+		assertNull(three.data);
+	}
+
+	@Test
+	public void getData_concurrent() throws Exception {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int i = 0; i < 200; i++) {
+				final BinaryPropertyImpl property = new BinaryPropertyImpl();
+				property.setBase64Data("ZGF0YQ==", ImageType.JPEG);
+
+				final CountDownLatch start = new CountDownLatch(1);
+				List<Future<byte[]>> results = new ArrayList<Future<byte[]>>();
+				for (int j = 0; j < threads; j++) {
+					results.add(executor.submit(new Callable<byte[]>() {
+						public byte[] call() throws Exception {
+							start.await();
+							return property.getData();
+						}
+					}));
+				}
+				start.countDown();
+
+				for (Future<byte[]> result : results) {
+					byte[] data = result.get();
+					assertNotNull(data);
+					assertEquals("data", new String(data));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void validate() {
 		BinaryPropertyImpl empty = new BinaryPropertyImpl();
@@ -120,6 +120,13 @@ public class KeyTest {
 		assertArrayEquals("data".getBytes(), property.getData());
 		assertEquals(KeyType.PGP, property.getContentType());
 		assertNull(property.getText());
+
+		property.setText("text", KeyType.GPG);
+		property.setBase64Data("ZGF0YQ==", KeyType.PGP);
+		assertNull(property.getUrl());
+		assertNull(property.getText());
+		assertArrayEquals("data".getBytes(), property.getData());
+		assertEquals(KeyType.PGP, property.getContentType());
 	}
 
 	@Test
@@ -96,6 +96,44 @@ public class CaseClassesTest {
 		assertTrue(dataTypes.contains(PrimeNumber.SEVEN));
 	}
 
+	@Test
+	public void indexed() {
+		IndexedCaseClassesImpl cc = new IndexedCaseClassesImpl();
+
+		assertSame(PrimeNumber.ONE, cc.find(1));
+		assertSame(PrimeNumber.SEVEN, cc.find(7));
+		assertNull(cc.find(4));
+
+		PrimeNumber eleven1 = cc.get(11);
+		assertIntEquals(11, eleven1.value);
+		PrimeNumber eleven2 = cc.get(11);
+		assertSame(eleven1, eleven2);
+		assertNull(cc.find(11));
+
+		//null values are not indexed
+		PrimeNumber null1 = cc.get(null);
+		assertNull(null1.value);
+		PrimeNumber null2 = cc.get(null);
+		assertSame(null1, null2);
+	}
+
+	private class IndexedCaseClassesImpl extends CaseClassesImpl {
+		@Override
+		protected Integer valueOf(PrimeNumber object) {
+			return object.value;
+		}
+
+		@Override
+		protected Object indexKey(Integer value) {
+			return value;
+		}
+
+		@Override
+		protected boolean matches(PrimeNumber object, Integer value) {
+			return (object.value == null) ? value == null : object.value.equals(value);
+		}
+	}
+
 	private class CaseClassesImpl extends CaseClasses<PrimeNumber, Integer> {
 		public CaseClassesImpl() {
 			super(PrimeNumber.class);
@@ -67,6 +67,36 @@ public class HtmlUtilsTest {
 		assertFalse(HtmlUtils.isChildOf(two, elements));
 	}
 
+	@Test
+	public void getOutermostElementsByClass() {
+		//@formatter:off
+		String html =
+		"<html><body>" +
+			"<div id=\"one\" class=\"vcard\">" +
+				"<div id=\"two\" class=\"vcard\"></div>" +
+			"</div>" +
+			"<div id=\"three\">" +
+				"<span id=\"four\" class=\"foo VCARD\"></span>" +
+			"</div>" +
+			"<div id=\"five\" class=\"vcard\"></div>" +
+		"</body></html>";
+		//@formatter:on
+		Document document = Jsoup.parse(html);
+
+		Elements elements = HtmlUtils.getOutermostElementsByClass(document, "vcard");
+		assertEquals(3, elements.size());
+		assertEquals("one", elements.get(0).id());
+		assertEquals("four", elements.get(1).id());
+		assertEquals("five", elements.get(2).id());
+
+		elements = HtmlUtils.getOutermostElementsByClass(document.getElementById("one"), "vcard");
+		assertEquals(1, elements.size());
+		assertEquals("one", elements.get(0).id());
+
+		elements = HtmlUtils.getOutermostElementsByClass(document, "bar");
+		assertTrue(elements.isEmpty());
+	}
+
 	@Test
 	public void toElement_without_base_url() {
 		Element element = HtmlUtils.toElement("<img src=\"image.png\" />");
@@ -894,4 +894,152 @@ public class ListMultimapTest {
 		assertTrue(two.isEmpty());
 		assertCollectionContains(map.keySet());
 	}
+
+	@Test
+	public void copyOnWrite() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.put("foo", "1");
+		orig.put("foo", "2");
+		orig.put("bar", "3");
+
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+		assertEquals(orig, copy);
+		assertTrue(orig.getMap() == copy.getMap());
+
+		//reads and no-op modifications do not copy the data
+		assertEquals(Arrays.asList("1", "2"), copy.get("foo"));
+		assertEquals("3", copy.first("bar"));
+		assertFalse(copy.remove("foo", "9"));
+		assertFalse(copy.remove("baz", "9"));
+		assertEquals(Arrays.asList(), copy.removeAll("baz"));
+		copy.putAll("foo", new ArrayList<String>());
+		assertFalse(copy.get("foo").remove("9"));
+		assertTrue(orig.getMap() == copy.getMap());
+
+		//modifying the copy does not modify the original
+		copy.put("foo", "4");
+		assertEquals(Arrays.asList("1", "2", "4"), copy.get("foo"));
+		assertEquals(Arrays.asList("1", "2"), orig.get("foo"));
+
+		//modifying the original does not modify the copy
+		orig.removeAll("bar");
+		assertEquals(Arrays.asList("3"), copy.get("bar"));
+		assertNull(orig.first("bar"));
+	}
+
+	@Test
+	public void copyOnWrite_clear() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.put("foo", "1");
+		List<String> list = orig.get("foo");
+
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+		orig.clear();
+		assertTrue(orig.isEmpty());
+		assertTrue(list.isEmpty());
+		assertEquals(Arrays.asList("1"), copy.get("foo"));
+
+		orig.put("foo", "2");
+		assertEquals(Arrays.asList("2"), list);
+		assertEquals(Arrays.asList("1"), copy.get("foo"));
+	}
+
+	@Test
+	public void copyOnWrite_WrappedList() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.put("foo", "1");
+		List<String> origList = orig.get("foo");
+
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+		List<String> copyList = copy.get("foo");
+
+		//modifying the list of the copy does not modify the original
+		copyList.add("2");
+		assertEquals(Arrays.asList("1", "2"), copyList);
+		assertEquals(Arrays.asList("1", "2"), copy.get("foo"));
+		assertEquals(Arrays.asList("1"), origList);
+		assertEquals(Arrays.asList("1"), orig.get("foo"));
+
+		//views stay live after the data is copied
+		copy.put("foo", "3");
+		assertEquals(Arrays.asList("1", "2", "3"), copyList);
+
+		//lists obtained before the copy was made follow the original
+		orig.put("foo", "4");
+		assertEquals(Arrays.asList("1", "4"), origList);
+		assertEquals(Arrays.asList("1", "2", "3"), copyList);
+	}
+
+	@Test
+	public void copyOnWrite_WrappedList_stale() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.put("foo", "1");
+		List<String> origList = orig.get("foo");
+
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+
+		//the multimap copies its data, the list must see the copied data
+		orig.put("foo", "2");
+		assertEquals(Arrays.asList("1", "2"), origList);
+
+		origList.add("3");
+		assertEquals(Arrays.asList("1", "2", "3"), orig.get("foo"));
+		assertEquals(Arrays.asList("1"), copy.get("foo"));
+	}
+
+	@Test
+	public void copyOnWrite_iterator() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.putAll("foo", Arrays.asList("1", "2", "3"));
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+
+		Iterator<String> it = copy.get("foo").iterator();
+		assertEquals("1", it.next());
+		assertEquals("2", it.next());
+		it.remove();
+		assertEquals("3", it.next());
+		it.remove();
+		assertFalse(it.hasNext());
+
+		assertEquals(Arrays.asList("1"), copy.get("foo"));
+		assertEquals(Arrays.asList("1", "2", "3"), orig.get("foo"));
+	}
+
+	@Test
+	public void copyOnWrite_listIterator() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.putAll("foo", Arrays.asList("1", "2", "3"));
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+
+		ListIterator<String> it = copy.get("foo").listIterator(3);
+		assertEquals("3", it.previous());
+		assertEquals("2", it.previous());
+		it.set("4");
+		it.add("5");
+		assertEquals(2, it.nextIndex());
+		assertEquals("4", it.next());
+
+		assertEquals(Arrays.asList("1", "5", "4", "3"), copy.get("foo"));
+		assertEquals(Arrays.asList("1", "2", "3"), orig.get("foo"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void copyOnWrite_iterator_remove_without_next() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.put("foo", "1");
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, true);
+
+		Iterator<String> it = copy.get("foo").iterator();
+		it.remove();
+	}
+
+	@Test
+	public void copyOnWrite_false() {
+		ListMultimap<String, String> orig = new ListMultimap<String, String>();
+		orig.put("foo", "1");
+
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(orig, false);
+		assertEquals(orig, copy);
+		assertFalse(orig.getMap() == copy.getMap());
+	}
 }
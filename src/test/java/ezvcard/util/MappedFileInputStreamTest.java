@@ -0,0 +1,163 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class MappedFileInputStreamTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void read() throws Exception {
+		byte[] data = new byte[1000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		File file = write(data);
+
+		//multiple windows
+		MappedFileInputStream in = new MappedFileInputStream(file, 64);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[100];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		in.close();
+		assertArrayEquals(data, out.toByteArray());
+
+		//one byte at a time
+		in = new MappedFileInputStream(file, 64);
+		out = new ByteArrayOutputStream();
+		while ((read = in.read()) >= 0) {
+			out.write(read);
+		}
+		in.close();
+		assertArrayEquals(data, out.toByteArray());
+	}
+
+	@Test
+	public void skip() throws Exception {
+		File file = write(new byte[] { 1, 2, 3, 4, 5 });
+
+		MappedFileInputStream in = new MappedFileInputStream(file);
+		assertEquals(2, in.skip(2));
+		assertEquals(3, in.read());
+		assertEquals(2, in.skip(10));
+		assertEquals(-1, in.read());
+		in.close();
+	}
+
+	@Test
+	public void empty() throws Exception {
+		File file = write(new byte[0]);
+
+		MappedFileInputStream in = new MappedFileInputStream(file);
+		assertEquals(-1, in.read());
+		assertEquals(-1, in.read(new byte[10]));
+		in.close();
+	}
+
+	@Test
+	public void named_pipe() throws Exception {
+		byte[] data = new byte[20000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		File file = pipe(data);
+		assertFalse(file.isFile());
+
+		MappedFileInputStream in = new MappedFileInputStream(file);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[100];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		in.close();
+		assertArrayEquals(data, out.toByteArray());
+	}
+
+	private File write(byte[] data) throws Exception {
+		File file = folder.newFile();
+		OutputStream out = new FileOutputStream(file);
+		out.write(data);
+		out.close();
+		return file;
+	}
+
+	/**
+	 * Creates a named pipe and starts a thread that writes the given data to
+	 * it. The test is skipped if named pipes are not supported.
+	 */
+	private File pipe(final byte[] data) throws Exception {
+		final File file = new File(folder.getRoot(), "pipe");
+		int exitCode;
+		try {
+			exitCode = new ProcessBuilder("mkfifo", file.getAbsolutePath()).start().waitFor();
+		} catch (IOException e) {
+			exitCode = -1;
+		}
+		assumeTrue(exitCode == 0);
+
+		Thread writer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					OutputStream out = new FileOutputStream(file);
+					out.write(data);
+					out.close();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		writer.setDaemon(true);
+		writer.start();
+		return file;
+	}
+}
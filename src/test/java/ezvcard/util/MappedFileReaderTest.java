@@ -0,0 +1,175 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ Copyright (c) 2012-2020, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class MappedFileReaderTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Charset utf8 = Charset.forName("UTF-8");
+
+	@Test
+	public void read() throws Exception {
+		String data = "one two three é中😀";
+		File file = write(data.getBytes(utf8));
+
+		MappedFileReader reader = new MappedFileReader(file, utf8);
+		assertEquals(data, new Gobble(reader).asString());
+	}
+
+	@Test
+	public void read_single_characters() throws Exception {
+		String data = "one 😀 two";
+		File file = write(data.getBytes(utf8));
+
+		MappedFileReader reader = new MappedFileReader(file, utf8);
+		StringBuilder sb = new StringBuilder();
+		int c;
+		while ((c = reader.read()) >= 0) {
+			sb.append((char) c);
+		}
+		reader.close();
+
+		assertEquals(data, sb.toString());
+	}
+
+	@Test
+	public void multiple_windows() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("line ").append(i).append(" é中😀\r\n");
+		}
+		String data = sb.toString();
+		File file = write(data.getBytes(utf8));
+
+		/*
+		 * The window size is not a multiple of any of the character widths, so
+		 * characters will straddle the window boundaries.
+		 */
+		MappedFileReader reader = new MappedFileReader(new MappedFileInputStream(file, 17), utf8);
+		assertEquals(data, new Gobble(reader).asString());
+	}
+
+	@Test
+	public void other_charset() throws Exception {
+		Charset charset = Charset.forName("UTF-16LE");
+		String data = "one two three é中😀";
+		File file = write(data.getBytes(charset));
+
+		MappedFileReader reader = new MappedFileReader(new MappedFileInputStream(file, 17), charset);
+		assertEquals(data, new Gobble(reader).asString());
+	}
+
+	@Test
+	public void malformed() throws Exception {
+		File file = write(new byte[] { 'a', (byte) 0xff, 'b', (byte) 0xe4 });
+
+		MappedFileReader reader = new MappedFileReader(file, utf8);
+		assertEquals("a�b�", new Gobble(reader).asString());
+	}
+
+	@Test
+	public void empty() throws Exception {
+		File file = write(new byte[0]);
+
+		MappedFileReader reader = new MappedFileReader(file, utf8);
+		assertEquals(-1, reader.read());
+		assertEquals(-1, reader.read(new char[10], 0, 10));
+		reader.close();
+	}
+
+	@Test
+	public void named_pipe() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("line ").append(i).append(" é中😀\r\n");
+		}
+		String data = sb.toString();
+		File file = pipe(data.getBytes(utf8));
+
+		MappedFileReader reader = new MappedFileReader(file, utf8);
+		assertEquals(data, new Gobble(reader).asString());
+	}
+
+	private File write(byte[] data) throws Exception {
+		File file = folder.newFile();
+		OutputStream out = new FileOutputStream(file);
+		out.write(data);
+		out.close();
+		return file;
+	}
+
+	/**
+	 * Creates a named pipe and starts a thread that writes the given data to
+	 * it. The test is skipped if named pipes are not supported.
+	 */
+	private File pipe(final byte[] data) throws Exception {
+		final File file = new File(folder.getRoot(), "pipe");
+		int exitCode;
+		try {
+			exitCode = new ProcessBuilder("mkfifo", file.getAbsolutePath()).start().waitFor();
+		} catch (IOException e) {
+			exitCode = -1;
+		}
+		assumeTrue(exitCode == 0);
+
+		Thread writer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					OutputStream out = new FileOutputStream(file);
+					out.write(data);
+					out.close();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		writer.setDaemon(true);
+		writer.start();
+		return file;
+	}
+}
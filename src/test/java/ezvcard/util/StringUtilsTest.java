@@ -1,6 +1,7 @@
 package ezvcard.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -76,4 +77,24 @@ public class StringUtilsTest {
 
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	public void caseInsensitiveKey() {
+		String input = "one-two";
+		assertSame(input, StringUtils.caseInsensitiveKey(input));
+
+		assertEquals("one-two", StringUtils.caseInsensitiveKey("One-TWO"));
+		assertEquals(StringUtils.caseInsensitiveKey("\u00C9T\u00C9"), StringUtils.caseInsensitiveKey("\u00E9t\u00E9"));
+
+		//dotless i is equal to "I" according to equalsIgnoreCase()
+		assertEquals(StringUtils.caseInsensitiveKey("i"), StringUtils.caseInsensitiveKey("\u0131"));
+	}
+
+	@Test
+	public void hashCodeIgnoreCase() {
+		assertEquals(StringUtils.hashCodeIgnoreCase("one-two"), StringUtils.hashCodeIgnoreCase("One-TWO"));
+		assertEquals(StringUtils.hashCodeIgnoreCase("\u00C9T\u00C9"), StringUtils.hashCodeIgnoreCase("\u00E9t\u00E9"));
+		assertEquals(StringUtils.caseInsensitiveKey("One-TWO").hashCode(), StringUtils.hashCodeIgnoreCase("One-TWO"));
+		assertEquals(0, StringUtils.hashCodeIgnoreCase(""));
+	}
 }
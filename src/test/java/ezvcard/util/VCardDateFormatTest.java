@@ -73,6 +73,27 @@ public class VCardDateFormatTest {
 		assertEquals("2006-01-02T07:20:30-0200", VCardDateFormat.HCARD_DATE_TIME.format(datetime, timezone));
 	}
 
+	@Test
+	public void format_string_builder() {
+		Date date = date("2006-01-02 10:20:30");
+
+		StringBuilder sb = new StringBuilder("REV:");
+		VCardDateFormat.UTC_DATE_TIME_BASIC.format(date, null, sb);
+		assertEquals("REV:20060102T092030Z", sb.toString());
+	}
+
+	@Test
+	public void format_julian_calendar() {
+		TimeZone utc = TimeZone.getTimeZone("UTC");
+		Calendar c = Calendar.getInstance(utc);
+		c.clear();
+		c.set(1500, Calendar.MARCH, 1, 12, 0, 0);
+		Date date = c.getTime();
+
+		assertEquals("15000301", VCardDateFormat.DATE_BASIC.format(date, utc));
+		assertEquals("1500-03-01T12:00:00Z", VCardDateFormat.UTC_DATE_TIME_EXTENDED.format(date));
+	}
+
 	@Test
 	public void format_different_locales() {
 		Date date = date("2020-10-28 12:00:00");
@@ -258,6 +279,25 @@ public class VCardDateFormatTest {
 		}
 	}
 
+	@Test
+	public void parse_out_of_range_fields() throws Exception {
+		//fields that are out of range are rolled over
+		assertEquals(date("2012-08-01 08:01:30"), VCardDateFormat.parse("2012-07-32T07:01:30Z"));
+		assertEquals(date("2013-01-01 08:01:30"), VCardDateFormat.parse("2012-13-01T07:01:30Z"));
+		assertEquals(date("2012-07-02 01:01:30"), VCardDateFormat.parse("2012-07-01T24:01:30Z"));
+		assertEquals(date("2012-03-01 08:01:30"), VCardDateFormat.parse("2012-02-30T07:01:30Z"));
+	}
+
+	@Test
+	public void parseAsCalendar_timezone_is_not_shared() throws Exception {
+		Calendar c1 = VCardDateFormat.parseAsCalendar("20120701T070130-0500");
+		c1.getTimeZone().setRawOffset(0);
+
+		Calendar c2 = VCardDateFormat.parseAsCalendar("20120701T070130-0500");
+		assertEquals("GMT-05:00", c2.getTimeZone().getID());
+		assertEquals(-TimeUnit.HOURS.toMillis(5), c2.getTimeZone().getRawOffset());
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void parse_invalid() {
 		VCardDateFormat.parse("invalid");
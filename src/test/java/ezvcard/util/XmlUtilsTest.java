@@ -2,6 +2,7 @@ package ezvcard.util;
 
 import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -152,6 +153,32 @@ public class XmlUtilsTest {
 		assertXMLEqual(expected, actual);
 	}
 
+	@Test
+	public void toDocument_reused_after_invalid_xml() throws Exception {
+		try {
+			XmlUtils.toDocument("not-xml");
+		} catch (SAXException e) {
+			//expected
+		}
+
+		Document document = XmlUtils.toDocument(xml);
+		assertEquals("root", document.getDocumentElement().getLocalName());
+	}
+
+	@Test(expected = SAXException.class)
+	public void toDocument_doctype() throws Exception {
+		XmlUtils.toDocument("<!DOCTYPE root [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><root>&e;</root>");
+	}
+
+	@Test
+	public void toString_output_properties_not_retained() throws Exception {
+		Document document = XmlUtils.toDocument(xml);
+		Map<String, String> outputProperties = new HashMap<String, String>();
+		outputProperties.put(OutputKeys.OMIT_XML_DECLARATION, "yes");
+		assertFalse(XmlUtils.toString(document, outputProperties).startsWith("<?xml"));
+		assertTrue(XmlUtils.toString(document).startsWith("<?xml"));
+	}
+
 	@Test
 	public void toElementList() throws Exception {
 		Document document = XmlUtils.toDocument(xml);